@@ -0,0 +1,135 @@
+/**
+ * Benchmarks of the album class
+ * Measures the track operations, the total duration and the artist, genre and release date formatting of an album
+ * @author Ricard Santiago Raigada García
+ * @version 1.0
+ * @date 30/04/2023
+ */
+
+package edu.uoc.pac3;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.time.LocalDate;
+import java.time.Month;
+import java.util.concurrent.TimeUnit;
+
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Thread)
+public class AlbumBenchmark {
+
+    /**
+     * Number of tracks already in the album. It is always lower than the capacity of the album,
+     * so addTrack has a free slot for the probe track.
+     */
+    @Param({"1", "10", "29"})
+    private int trackCount;
+
+    @State(Scope.Thread)
+    public static class ArtistState {
+        /**
+         * Raw artist name given to setArtist, from a single clean word to a long padded mixed-case name.
+         */
+        @Param({"Nirvana", "   the bEAtLES    TRIBUTE   band  "})
+        private String artistName;
+    }
+
+    private final StringBuilder buffer = new StringBuilder(64);
+    private Album album;
+    private Track first;
+    private Track last;
+    private Track probe;
+
+    /**
+     * Creates an album with trackCount tracks and a probe track which is not in the album.
+     *
+     * @throws Exception if the album or the tracks cannot be created
+     */
+    @Setup
+    public void setUp() throws Exception {
+        album = new Album("Nevermind", "Nirvana", "ROCK&ROLL", LocalDate.of(1991, Month.SEPTEMBER, 24), false, 14.99);
+        for (int i = 0; i < trackCount; i++) {
+            Track track = new Track("Song " + i, 180 + i, "Composer " + i);
+            album.addTrack(track);
+            if (i == 0) {
+                first = track;
+            }
+            last = track;
+        }
+        probe = new Track("Probe", 200, "Nobody");
+    }
+
+    @Benchmark
+    public Album addTrack() throws Exception {
+        album.addTrack(probe);
+        album.removeTrack(probe);
+        return album;
+    }
+
+    @Benchmark
+    public boolean isInTheAlbumHit() {
+        return album.isInTheAlbum(last);
+    }
+
+    @Benchmark
+    public boolean isInTheAlbumMiss() {
+        return album.isInTheAlbum(probe);
+    }
+
+    @Benchmark
+    public Album swapTracks() throws Exception {
+        album.swapTracks(first, last);
+        return album;
+    }
+
+    @Benchmark
+    public String getTotalDuration() {
+        return album.getTotalDuration();
+    }
+
+    @Benchmark
+    public StringBuilder appendTotalDuration() {
+        buffer.setLength(0);
+        album.appendTotalDuration(buffer);
+        return buffer;
+    }
+
+    @Benchmark
+    public String setArtist(ArtistState state) throws Exception {
+        album.setArtist(state.artistName);
+        return album.getArtist();
+    }
+
+    @Benchmark
+    public String setGenre() throws Exception {
+        album.setGenre(" rock&Roll   ");
+        return album.getGenre();
+    }
+
+    @Benchmark
+    public String getFormattedReleaseDate() {
+        return album.getFormattedReleaseDate();
+    }
+
+    @Benchmark
+    public StringBuilder appendFormattedReleaseDate() {
+        buffer.setLength(0);
+        album.appendFormattedReleaseDate(buffer);
+        return buffer;
+    }
+
+}
@@ -0,0 +1,71 @@
+/**
+ * Benchmarks of the albumCover class
+ * Measures the artist formatting and the aspect ratio of an album cover
+ * @author Ricard Santiago Raigada García
+ * @version 1.0
+ * @date 30/04/2023
+ */
+
+package edu.uoc.pac3;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.concurrent.TimeUnit;
+
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Thread)
+public class AlbumCoverBenchmark {
+
+    @State(Scope.Thread)
+    public static class ArtistState {
+        /**
+         * Raw artist name given to setArtist, from a single clean word to a long padded mixed-case name.
+         */
+        @Param({"Warhol", "   iAIN    macmillan  and   friends "})
+        private String artistName;
+    }
+
+    /**
+     * Width of the cover. The height is fixed, so the sizes give different greatest common divisors.
+     */
+    @Param({"480", "560", "1080"})
+    private int width;
+
+    private AlbumCover albumCover;
+
+    /**
+     * Creates the album cover with the given width.
+     *
+     * @throws Exception if the album cover cannot be created
+     */
+    @Setup
+    public void setUp() throws Exception {
+        albumCover = new AlbumCover("Abbey Road", "Iain Macmillan", width, 480);
+    }
+
+    @Benchmark
+    public String setArtist(ArtistState state) throws Exception {
+        albumCover.setArtist(state.artistName);
+        return albumCover.getArtist();
+    }
+
+    @Benchmark
+    public String getAspectRatio() {
+        return albumCover.getAspectRatio();
+    }
+
+}
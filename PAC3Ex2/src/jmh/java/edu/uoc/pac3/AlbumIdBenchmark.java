@@ -0,0 +1,46 @@
+/**
+ * Benchmarks of the album ID generators
+ * Compares random UUIDs, which share one SecureRandom, with time-ordered UUIDs from several threads
+ * @author Ricard Santiago Raigada García
+ * @version 1.0
+ * @date 30/04/2023
+ */
+
+package edu.uoc.pac3;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Threads;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.UUID;
+import java.util.concurrent.TimeUnit;
+
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@Threads(4)
+@State(Scope.Benchmark)
+public class AlbumIdBenchmark {
+
+    private final AlbumIdGenerator timeOrdered = new TimeOrderedIdGenerator();
+
+    @Benchmark
+    public UUID random() {
+        return AlbumIdGenerator.RANDOM.nextId();
+    }
+
+    @Benchmark
+    public UUID timeOrdered() {
+        return timeOrdered.nextId();
+    }
+
+}
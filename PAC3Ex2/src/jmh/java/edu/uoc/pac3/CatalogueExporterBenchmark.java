@@ -0,0 +1,111 @@
+/**
+ * Benchmarks of the catalogueExporter class
+ * Compares the streaming JSON and CSV exporters with building the same JSON from the getters with a StringBuilder,
+ * writing a catalogue of 1000 albums of 12 tracks to a channel which discards the bytes
+ * @author Ricard Santiago Raigada García
+ * @version 1.0
+ * @date 30/04/2023
+ */
+
+package edu.uoc.pac3;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.WritableByteChannel;
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Benchmark)
+public class CatalogueExporterBenchmark {
+
+    private final List<Album> albums = new ArrayList<>();
+    private final CatalogueExporter json = new CatalogueExporter(CatalogueExporter.Format.JSON);
+    private final CatalogueExporter csv = new CatalogueExporter(CatalogueExporter.Format.CSV);
+    private final WritableByteChannel sink = new WritableByteChannel() {
+        @Override
+        public int write(ByteBuffer src) {
+            int length = src.remaining();
+            src.position(src.limit());
+            return length;
+        }
+
+        @Override
+        public boolean isOpen() {
+            return true;
+        }
+
+        @Override
+        public void close() {
+        }
+    };
+
+    @Setup(Level.Trial)
+    public void setUp() throws Exception {
+        for (int i = 0; i < 1000; i++) {
+            Album album = new Album("Album " + i, "artist number", "POP", LocalDate.of(1970 + i % 50, 1 + i % 12, 1),
+                    false, 14.99);
+            album.setAlbumCover("Cover " + i, "cover artist", 600, 600);
+            for (int j = 0; j < 12; j++) {
+                album.addTrack(new Track("Track " + j, 120 + j, "Composer " + (i % 40)));
+            }
+            albums.add(album);
+        }
+    }
+
+    @Benchmark
+    public long exportJson() throws IOException {
+        return json.export(albums, sink);
+    }
+
+    @Benchmark
+    public long exportCsv() throws IOException {
+        return csv.export(albums, sink);
+    }
+
+    @Benchmark
+    public long concatenateJson() throws IOException {
+        StringBuilder sb = new StringBuilder("[\n");
+        for (Album album : albums) {
+            AlbumCover cover = album.getAlbumCover();
+            sb.append("{\"id\":\"").append(album.getId().toString()).append("\",\"title\":\"").append(album.getTitle())
+                    .append("\",\"artist\":\"").append(album.getArtist()).append("\",\"genre\":\"")
+                    .append(album.getGenre()).append("\",\"releaseDate\":\"").append(album.getReleaseDate().toString())
+                    .append("\",\"availableOnline\":").append(album.isAvailableOnline()).append(",\"price\":")
+                    .append(album.getPrice()).append(",\"totalDurationSeconds\":")
+                    .append(album.getTotalDurationSeconds()).append(",\"cover\":{\"name\":\"").append(cover.getName())
+                    .append("\",\"artist\":\"").append(cover.getArtist()).append("\",\"width\":")
+                    .append(cover.getWidth()).append(",\"height\":").append(cover.getHeight()).append("},\"tracks\":[");
+            for (Track track : album.getTracks()) {
+                if (track != null) {
+                    sb.append("{\"name\":\"").append(track.getName()).append("\",\"duration\":")
+                            .append(track.getDuration()).append(",\"composer\":\"").append(track.getComposer())
+                            .append("\"},");
+                }
+            }
+            sb.append("]},\n");
+        }
+        sb.append("]\n");
+        return sink.write(ByteBuffer.wrap(sb.toString().getBytes(StandardCharsets.UTF_8)));
+    }
+
+}
@@ -0,0 +1,161 @@
+/**
+ * Benchmarks of the concurrentAlbum class
+ * Measures readers and writers of the same album with the lock-free snapshot reads of ConcurrentAlbum against a
+ * single global lock. Each variant runs in three groups, with 1, 3 and 7 readers for one writer.
+ * @author Ricard Santiago Raigada García
+ * @version 1.0
+ * @date 30/04/2023
+ */
+
+package edu.uoc.pac3;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Group;
+import org.openjdk.jmh.annotations.GroupThreads;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.concurrent.TimeUnit;
+
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Group)
+public class ConcurrentAlbumBenchmark {
+
+    private ConcurrentAlbum concurrentAlbum;
+    private Album lockedAlbum;
+    private Track probe;
+
+    /**
+     * Creates two albums with 20 tracks, one wrapped in a ConcurrentAlbum and one guarded by its own monitor.
+     *
+     * @throws Exception if an album or a track cannot be created
+     */
+    @Setup
+    public void setUp() throws Exception {
+        concurrentAlbum = new ConcurrentAlbum(new Album("Concurrent", "Nirvana", "ROCK&ROLL"));
+        lockedAlbum = new Album("Locked", "Nirvana", "ROCK&ROLL");
+        for (int i = 0; i < 20; i++) {
+            concurrentAlbum.addTrack(new Track("Track " + i, 200 + i, "Kurt Cobain"));
+            lockedAlbum.addTrack(new Track("Track " + i, 200 + i, "Kurt Cobain"));
+        }
+        probe = new Track("Probe", 180, "Dave Grohl");
+    }
+
+    @Benchmark
+    @Group("snapshot1to1")
+    @GroupThreads(1)
+    public long snapshot1to1Read() {
+        return snapshotRead();
+    }
+
+    @Benchmark
+    @Group("snapshot1to1")
+    @GroupThreads(1)
+    public void snapshot1to1Write() throws Exception {
+        snapshotWrite();
+    }
+
+    @Benchmark
+    @Group("globalLock1to1")
+    @GroupThreads(1)
+    public long globalLock1to1Read() {
+        return globalLockRead();
+    }
+
+    @Benchmark
+    @Group("globalLock1to1")
+    @GroupThreads(1)
+    public void globalLock1to1Write() throws Exception {
+        globalLockWrite();
+    }
+
+    @Benchmark
+    @Group("snapshot3to1")
+    @GroupThreads(3)
+    public long snapshot3to1Read() {
+        return snapshotRead();
+    }
+
+    @Benchmark
+    @Group("snapshot3to1")
+    @GroupThreads(1)
+    public void snapshot3to1Write() throws Exception {
+        snapshotWrite();
+    }
+
+    @Benchmark
+    @Group("globalLock3to1")
+    @GroupThreads(3)
+    public long globalLock3to1Read() {
+        return globalLockRead();
+    }
+
+    @Benchmark
+    @Group("globalLock3to1")
+    @GroupThreads(1)
+    public void globalLock3to1Write() throws Exception {
+        globalLockWrite();
+    }
+
+    @Benchmark
+    @Group("snapshot7to1")
+    @GroupThreads(7)
+    public long snapshot7to1Read() {
+        return snapshotRead();
+    }
+
+    @Benchmark
+    @Group("snapshot7to1")
+    @GroupThreads(1)
+    public void snapshot7to1Write() throws Exception {
+        snapshotWrite();
+    }
+
+    @Benchmark
+    @Group("globalLock7to1")
+    @GroupThreads(7)
+    public long globalLock7to1Read() {
+        return globalLockRead();
+    }
+
+    @Benchmark
+    @Group("globalLock7to1")
+    @GroupThreads(1)
+    public void globalLock7to1Write() throws Exception {
+        globalLockWrite();
+    }
+
+    private long snapshotRead() {
+        return concurrentAlbum.getTotalDurationSeconds() + concurrentAlbum.getTracks().length;
+    }
+
+    private void snapshotWrite() throws Exception {
+        concurrentAlbum.addTrack(probe);
+        concurrentAlbum.removeTrack(probe);
+    }
+
+    private long globalLockRead() {
+        synchronized (lockedAlbum) {
+            return lockedAlbum.getTotalDurationSeconds() + lockedAlbum.getTracks().length;
+        }
+    }
+
+    private void globalLockWrite() throws Exception {
+        synchronized (lockedAlbum) {
+            lockedAlbum.addTrack(probe);
+            lockedAlbum.removeTrack(probe);
+        }
+    }
+
+}
@@ -0,0 +1,95 @@
+/**
+ * Benchmarks of the trackTable class
+ * Compares the columnar scans of a track table with the same aggregations over Album objects
+ * @author Ricard Santiago Raigada García
+ * @version 1.0
+ * @date 30/04/2023
+ */
+
+package edu.uoc.pac3;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Thread)
+public class TrackTableBenchmark {
+
+    private static final String[] GENRES = {"POP", "ROCK&ROLL", "JAZZ", "DISCO"};
+
+    /**
+     * Number of albums of the catalogue, each one with 20 tracks.
+     */
+    @Param({"100", "10000"})
+    private int albumCount;
+
+    private List<Album> albums;
+    private TrackTable table;
+
+    /**
+     * Creates the catalogue and exports it to a track table.
+     *
+     * @throws Exception if an album or a track cannot be created
+     */
+    @Setup
+    public void setUp() throws Exception {
+        albums = new ArrayList<>(albumCount);
+        table = new TrackTable();
+        for (int i = 0; i < albumCount; i++) {
+            Album album = new Album("Album " + i, "Artist " + i, GENRES[i % GENRES.length]);
+            for (int j = 0; j < 20; j++) {
+                album.addTrack(new Track("Track " + j, 120 + (i * 7 + j * 13) % 300, "Composer " + (j % 5)));
+            }
+            albums.add(album);
+            table.addAlbum(album);
+        }
+    }
+
+    @Benchmark
+    public long totalDurationByGenreObjects() {
+        long total = 0;
+        for (Album album : albums) {
+            if (album.getMusicGenre() == MusicGenre.JAZZ) {
+                for (Track track : album.getTracks()) {
+                    if (track != null) {
+                        total += track.getDuration();
+                    }
+                }
+            }
+        }
+        return total;
+    }
+
+    @Benchmark
+    public long totalDurationByGenreTable() {
+        return table.getTotalDurationByGenre(MusicGenre.JAZZ);
+    }
+
+    @Benchmark
+    public long totalDurationTable() {
+        return table.getTotalDuration();
+    }
+
+    @Benchmark
+    public int[] durationHistogramTable() {
+        return table.getDurationHistogram(30, 16);
+    }
+
+}
@@ -6,6 +6,8 @@
  */
 package edu.uoc.pac3;
 
+import java.io.IOException;
+import java.io.UncheckedIOException;
 import java.time.Duration;
 import java.time.LocalDate;
 import java.util.UUID;
@@ -16,26 +18,27 @@ public class Album {
 
     private UUID id;
     private String title;
-    private String artist;
-    private String genre;
-    private LocalDate releaseDate = null;
+    private int artist = Symbols.NO_SYMBOL;
+    private MusicGenre genre;
+    private ReleaseDate releaseDate = null;
     private boolean availableOnline = false;
-    private double price = 14.99;
+    private long price = 14990;
     public static final String ERR_GENRE = "[ERROR] The genre is not a valid value";
     public static final String ERR_MIN_PRICE = "[ERROR] The album price must be greater than MIN_PRICE";
     public static final String ERR_MAX_PRICE = "[ERROR] The album price must be less than MAX_PRICE (or 80% of MAX_PRICE if the album is available online)";
 
 //    private String name;
-    private Track[] tracks;
+    private TrackList tracks;
     private static final int MAX_TRACKS = 30;
     public static final String ERR_TRACK_EXISTS = "[ERROR] The track already exists in this album";
     public static final String ERR_TRACK_NOT_EXISTS = "[ERROR] Some of the tracks does not exist in this album";
     public static final String ERR_WRONG_INDEX = "[ERROR] Wrong index";
     private AlbumCover albumCover;
+    private volatile AlbumSearchIndex[] searchIndexes = null;
 
     /**
      * This constructor creates a new instance of the Album class with the specified title, artist, and genre.
-     * It also generates a new UUID for the album.
+     * It also generates a new UUID for the album with the generator of AlbumIds.
      *
      * @param title the title of the album
      * @param artist the name of the artist
@@ -43,11 +46,11 @@ public class Album {
      * @throws Exception if the artist or genre parameters are invalid.
      */
     public Album(String title, String artist, String genre) throws Exception {
-        this.id = UUID.randomUUID();
+        this.id = AlbumIds.next();
         this.title = title;
         setArtist(artist);
         setGenre(genre);
-        this.tracks = new Track[MAX_TRACKS];
+        this.tracks = new TrackList(this, MAX_TRACKS);
     }
 
     /**
@@ -96,13 +99,14 @@ public class Album {
     }
 
     /**
-     * Returns an array of all tracks on the album.
+     * Returns an array of all tracks on the album, with one position per slot (null if the slot is empty).
+     * The array is a copy, so changing it does not change the album.
      *
      * @return an array of Track objects
      */
 
     public Track[] getTracks() {
-        return tracks;
+        return tracks.toArray();
     }
 
     /**
@@ -114,29 +118,65 @@ public class Album {
      */
 
     public Track getTrack(int index) throws Exception {
-        if (index < 0 || index >= MAX_TRACKS) {
-            throw new Exception(ERR_WRONG_INDEX);
+        ValidationError error = validateTrackIndex(index);
+        if (error != null) {
+            throw error.getException();
         }
-        return tracks[index];
+        return tracks.get(index);
     }
 
     /**
-     * Checks if a given track exists on the album.
+     * Returns the track at the specified index on the album, without checking the index.
+     *
+     * @param index a valid index of a track
+     * @return the Track object at the specified index, or null if the slot is empty
+     */
+    Track trackAt(int index) {
+        return tracks.get(index);
+    }
+
+    /**
+     * Checks if an index is a valid track index of the album, without throwing.
+     *
+     * @param index the index of a track
+     * @return null if the index is valid, or ValidationError.WRONG_INDEX otherwise
+     */
+    public ValidationError validateTrackIndex(int index) {
+        return (index < 0 || index >= tracks.capacity()) ? ValidationError.WRONG_INDEX : null;
+    }
+
+    /**
+     * Returns the maximum number of tracks of the album, which is also the length of the array returned by
+     * getTracks. By default it is 30.
+     *
+     * @return the maximum number of tracks
+     */
+    public int getMaxTracks() {
+        return tracks.capacity();
+    }
+
+    /**
+     * Sets the maximum number of tracks of the album, e.g. to hold a box set. The storage of the tracks
+     * grows on demand up to this limit.
+     *
+     * @param maxTracks the new maximum number of tracks
+     * @throws Exception if the maximum is not positive or is lower than the last used index plus one
+     */
+    public void setMaxTracks(int maxTracks) throws Exception {
+        if (!tracks.setCapacity(maxTracks)) {
+            throw ValidationError.WRONG_INDEX.getException();
+        }
+    }
+
+    /**
+     * Checks if a given track, or a track equal to it, exists on the album.
      *
      * @param track the Track object to check for
      * @return true if the track exists on the album, false otherwise
      */
 
     public boolean isInTheAlbum(Track track) {
-        if (track == null || tracks == null) {
-            return false;
-        }
-        for (Track value : tracks) {
-            if (track.equals(value)) {
-                return true;
-            }
-        }
-        return false;
+        return tracks.contains(track);
     }
 
     /**
@@ -147,15 +187,7 @@ public class Album {
      */
 
     private int findTrackIndex(Track track) {
-        if (track == null) {
-            return -1;
-        }
-        for (int i = 0; i < MAX_TRACKS; i++) {
-            if (tracks[i] != null && tracks[i].equals(track)) {
-                return i;
-            }
-        }
-        return -1;
+        return tracks.indexOf(track);
     }
 
     /**
@@ -167,62 +199,68 @@ public class Album {
      */
 
     private void setTrack(int index, Track track) throws Exception {
-        if (index < 0 || index >= MAX_TRACKS) {
-            throw new Exception(ERR_WRONG_INDEX);
+        ValidationError error = validateTrackIndex(index);
+        if (error != null) {
+            throw error.getException();
         }
-        tracks[index] = track;
+        tracks.set(index, track);
     }
 
     /**
-     * Adds a track to the album.
+     * Puts a track back at the index it had when the album was saved, e.g. in a catalogue snapshot. The maximum
+     * number of tracks is raised if the album was saved with a larger one.
+     *
+     * @param index the index of the track
+     * @param track the Track object to put at the specified index
+     * @throws Exception if the index is out of bounds or the track already exists on the album
+     */
+    void restoreTrack(int index, Track track) throws Exception {
+        if (isInTheAlbum(track)) {
+            throw ValidationError.TRACK_EXISTS.getException();
+        }
+        if (index >= tracks.capacity()) {
+            setMaxTracks(index + 1);
+        }
+        setTrack(index, track);
+    }
+
+    /**
+     * Adds a track to the first empty slot of the album. Adding null empties the album.
      *
      * @param track the Track object to add to the album
-     * @throws Exception if the track already exists on the album or if the album is full
+     * @throws Exception if the track, or a track equal to it, already exists on the album or if the album is full
      */
 
     public void addTrack(Track track) throws Exception {
         if (track == null) {
-            tracks = new Track[MAX_TRACKS];
+            emptyAlbum();
+            return;
         }
         if (isInTheAlbum(track)) {
-            throw new Exception(ERR_TRACK_EXISTS);
-        }
-        int index = -1;
-        for (int i = 0; i < MAX_TRACKS; i++) {
-            if (tracks[i] == null) {
-                index = i;
-                break;
-            }
+            throw ValidationError.TRACK_EXISTS.getException();
         }
+        int index = tracks.firstFreeSlot();
         if (index == -1) {
-            throw new Exception(ERR_WRONG_INDEX);
+            throw ValidationError.WRONG_INDEX.getException();
         }
         setTrack(index, track);
     }
 
     /**
-     * Removes a track from the album.
+     * Removes a track, or the track equal to it, from the album. Its slot is left empty.
      *
      * @param track the track to be removed
      */
 
     public void removeTrack(Track track) {
-        if (track == null) {
-            return;
-        }
-        int index = findTrackIndex(track);
-        if (index >= 0 && index < MAX_TRACKS) {
-            tracks[index] = null;
-        }
+        tracks.remove(track);
     }
 
     /**
      * Removes all tracks from the album.
      */
     public void emptyAlbum() {
-        for (int i = 0; i < MAX_TRACKS; i++) {
-            tracks[i] = null;
-        }
+        tracks.clear();
     }
 
     /**
@@ -240,27 +278,47 @@ public class Album {
         int index1 = findTrackIndex(track1);
         int index2 = findTrackIndex(track2);
         if (index1 == -1 || index2 == -1) {
-            throw new Exception(ERR_TRACK_NOT_EXISTS);
+            throw ValidationError.TRACK_NOT_EXISTS.getException();
         }
-        tracks[index1] = track2;
-        tracks[index2] = track1;
+        tracks.swap(index1, index2);
     }
 
     /**
-     * Calculates the total duration of all tracks on the album and returns it as a formatted string.
+     * Returns the total duration of all tracks on the album as a formatted string. The total is kept up to date
+     * as tracks are added, removed or changed, and the string is only rebuilt after a change.
      * @return the total duration of all tracks on the album as a formatted string (HH:mm:ss)
      */
     public String getTotalDuration() {
-        int totalSeconds = 0;
-        for (int i = 0; i < MAX_TRACKS; i++) {
-            if (tracks[i] != null) {
-                totalSeconds += tracks[i].getDuration();
-            }
+        return tracks.getFormattedTotalDuration();
+    }
+
+    /**
+     * Appends the total duration of all tracks on the album, formatted as HH:mm:ss, without creating any string.
+     * @param out the buffer to append to, e.g. a StringBuilder, a CharBuffer or a Writer
+     * @throws IOException if the buffer cannot be written
+     */
+    public void appendTotalDuration(Appendable out) throws IOException {
+        TextFormat.appendDuration(out, tracks.getTotalDuration());
+    }
+
+    /**
+     * Appends the total duration of all tracks on the album, formatted as HH:mm:ss, without creating any string.
+     * @param sb the StringBuilder to append to
+     */
+    public void appendTotalDuration(StringBuilder sb) {
+        try {
+            appendTotalDuration((Appendable) sb);
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
         }
-        int hours = totalSeconds / 3600;
-        int minutes = (totalSeconds % 3600) / 60;
-        int seconds = totalSeconds % 60;
-        return String.format("%02d:%02d:%02d", hours, minutes, seconds);
+    }
+
+    /**
+     * Returns the total duration of all tracks on the album.
+     * @return the total duration of all tracks on the album in seconds
+     */
+    public long getTotalDurationSeconds() {
+        return tracks.getTotalDuration();
     }
 
 
@@ -274,12 +332,13 @@ public class Album {
         return id;
     }
     /**
-     * Sets the ID of the album. If the provided UUID is null, a new random UUID is generated.
+     * Sets the ID of the album. If the provided UUID is null, a new one is generated with the generator of AlbumIds.
+     * It is only used to restore albums from a catalogue snapshot.
      *
      * @param id the new unique identifier of the album.
      */
-    private void setId(UUID id) {
-        this.id = (id == null) ? UUID.randomUUID() : id;
+    void setId(UUID id) {
+        this.id = (id == null) ? AlbumIds.next() : id;
     }
     /**
      * Returns the title of the album.
@@ -296,39 +355,36 @@ public class Album {
      */
     public void setTitle(String title) {
         this.title = title;
+        AlbumSearchIndex.changed(this);
     }
 
-    private String formatArtistName(String name) {
-        String[] nameParts = name.trim().split("\\s+");
-        StringBuilder formattedName = new StringBuilder();
-        for (int i = 0; i < nameParts.length; i++) {
-            String part = nameParts[i];
-            formattedName.append(Character.toUpperCase(part.charAt(0)));
-            if (part.length() > 1) {
-                formattedName.append(part.substring(1).toLowerCase());
-            }
-            if (i < nameParts.length - 1) {
-                formattedName.append("-");
-            }
-        }
-        return formattedName.toString();
-    }
     /**
-     * Formats and sets the name of the artist of the album.
+     * Formats and sets the name of the artist of the album. Every word is capitalized and the words are joined
+     * with hyphens, e.g. "the beatles" becomes "The-Beatles".
      *
      * @param artist the new name of the artist of the album.
      * @throws Exception if the provided artist name is null, empty, or contains invalid characters.
      */
     public void setArtist(String artist) throws Exception {
-        if (artist == null || artist.trim().isEmpty()) {
-            throw new Exception("[ERROR] The artist cannot be null or empty");
+        ValidationError error = validateArtist(artist);
+        if (error != null) {
+            throw error.getException();
         }
-        String formattedArtist = formatArtistName(artist);
-        if (formattedArtist.matches("[A-Z][a-z]+(-[A-Z][a-z]+)*")) {
-            this.artist = formattedArtist;
-        } else {
-            throw new Exception("[ERROR] The artist contains invalid characters");
+        this.artist = Symbols.intern(ArtistNames.formatAlbumArtist(artist));
+        AlbumSearchIndex.changed(this);
+    }
+
+    /**
+     * Checks if a name is a valid artist of an album, without throwing.
+     *
+     * @param artist the name of the artist
+     * @return null if the name is valid, or the ValidationError that setArtist would throw
+     */
+    public static ValidationError validateArtist(String artist) {
+        if (ArtistNames.isBlank(artist)) {
+            return ValidationError.EMPTY_ARTIST;
         }
+        return (ArtistNames.formatAlbumArtist(artist) == null) ? ValidationError.INVALID_ARTIST : null;
     }
     /**
      * Returns the name of the artist of the album.
@@ -336,7 +392,7 @@ public class Album {
      * @return the name of the artist of the album.
      */
     public String getArtist() {
-        return artist;
+        return Symbols.resolve(artist);
     }
     /**
      * Returns the genre of the album.
@@ -344,6 +400,15 @@ public class Album {
      * @return the genre of the album.
      */
     public String getGenre() {
+        return genre.getLabel();
+    }
+
+    /**
+     * Returns the genre of the album as a MusicGenre, which can be compared by reference.
+     *
+     * @return the genre of the album.
+     */
+    public MusicGenre getMusicGenre() {
         return genre;
     }
     /**
@@ -355,12 +420,79 @@ public class Album {
         return availableOnline;
     }
     /**
-     * Returns the price of the album.
+     * Returns the price of the album. It is stored in thousandths, so it is always rounded to three decimals.
      *
      * @return the price of the album.
      */
     public double getPrice() {
-        return Math.round(price * 1000) / 1000.0;
+        return price / 1000.0;
+    }
+
+    /**
+     * Returns the price of the album in thousandths of the currency unit, e.g. 14990 for 14.99.
+     *
+     * @return the price of the album in thousandths.
+     */
+    public long getPriceMills() {
+        return price;
+    }
+
+    /**
+     * Converts a price to thousandths of the currency unit, rounding to the nearest one.
+     *
+     * @param price the price.
+     * @return the price in thousandths.
+     */
+    static long toMills(double price) {
+        return Math.round(price * 1000);
+    }
+
+    /**
+     * Returns the minimum price of an album in thousandths.
+     *
+     * @return the minimum price in thousandths.
+     */
+    static long getMinPriceMills() {
+        return toMills(MIN_PRICE);
+    }
+
+    /**
+     * Returns the maximum price of an album in thousandths, which is 80% of the maximum price if it is available online.
+     *
+     * @param availableOnline true if the album is available online.
+     * @return the maximum price in thousandths.
+     */
+    static long getMaxPriceMills(boolean availableOnline) {
+        return availableOnline ? toMills(MAX_PRICE * 0.8) : toMills(MAX_PRICE);
+    }
+
+    /**
+     * Checks if a price in thousandths is valid for an album, without throwing.
+     *
+     * @param priceMills the price in thousandths.
+     * @param availableOnline true if the album is available online.
+     * @return null if the price is valid, or the ValidationError that setPrice would throw.
+     */
+    static ValidationError validatePriceMills(long priceMills, boolean availableOnline) {
+        if (priceMills < getMinPriceMills()) {
+            return ValidationError.MIN_PRICE;
+        }
+        if (priceMills > getMaxPriceMills(availableOnline)) {
+            return ValidationError.MAX_PRICE;
+        }
+        return null;
+    }
+
+    /**
+     * Sets the availability and the price in thousandths at once, without validating them. It is used by
+     * PriceBatch, which has already clamped the prices to the limits.
+     *
+     * @param availableOnline true if the album is available online, false otherwise.
+     * @param priceMills the new price of the album in thousandths.
+     */
+    void setPricing(boolean availableOnline, long priceMills) {
+        this.availableOnline = availableOnline;
+        this.price = priceMills;
     }
 
     /**
@@ -370,16 +502,31 @@ public class Album {
      * @throws Exception if the price is less than the minimum price or exceeds the maximum price.
      */
     public void setPrice(double price) throws Exception {
+        ValidationError error = validatePrice(price, availableOnline);
+        if (error != null) {
+            throw error.getException();
+        }
+        this.price = toMills(price);
+    }
+
+    /**
+     * Checks if a value is a valid price of an album, without throwing.
+     *
+     * @param price the price of the album.
+     * @param availableOnline true if the album is available online, so its price cannot exceed 80% of the maximum price.
+     * @return null if the price is valid, or the ValidationError that setPrice would throw
+     */
+    public static ValidationError validatePrice(double price, boolean availableOnline) {
         if (price < MIN_PRICE) {
-            throw new Exception(ERR_MIN_PRICE);
+            return ValidationError.MIN_PRICE;
         }
         if (availableOnline && price > MAX_PRICE * 0.8) {
-            throw new Exception(ERR_MAX_PRICE);
+            return ValidationError.MAX_PRICE;
         }
         if (!availableOnline && price > MAX_PRICE) {
-            throw new Exception(ERR_MAX_PRICE);
+            return ValidationError.MAX_PRICE;
         }
-        this.price = price;
+        return null;
     }
     /**
      * Sets whether the album is available online or not. If the album is available online, the price cannot exceed 80% of the maximum price.
@@ -388,9 +535,7 @@ public class Album {
      */
     public void setAvailableOnline(boolean availableOnline) {
         this.availableOnline = availableOnline;
-        if (availableOnline && price > MAX_PRICE * 0.8) {
-            price = MAX_PRICE * 0.8;
-        }
+        price = Math.min(price, getMaxPriceMills(availableOnline));
     }
     /**
      * Sets the genre of the album.
@@ -399,13 +544,30 @@ public class Album {
      * @throws Exception if the provided genre is not valid.
      */
     public void setGenre(String genre) throws Exception {
-        String normalizedGenre = genre.trim().toUpperCase();
-        if (!normalizedGenre.equals("ROCK&ROLL") && !normalizedGenre.equals("JAZZ") &&
-                !normalizedGenre.equals("POP") && !normalizedGenre.equals("DISCO") &&
-                !normalizedGenre.equals("CLASSICAL")) {
-            throw new Exception(ERR_GENRE);
+        setGenre(MusicGenre.parse(genre));
+    }
+
+    /**
+     * Sets the genre of the album.
+     *
+     * @param genre the new genre of the album.
+     * @throws Exception if the genre is null.
+     */
+    public void setGenre(MusicGenre genre) throws Exception {
+        if (genre == null) {
+            throw ValidationError.GENRE.getException();
         }
-        this.genre = normalizedGenre;
+        this.genre = genre;
+    }
+
+    /**
+     * Checks if a value is a valid genre of an album, without throwing.
+     *
+     * @param genre the genre of the album.
+     * @return null if the genre is valid, or ValidationError.GENRE otherwise
+     */
+    public static ValidationError validateGenre(String genre) {
+        return (MusicGenre.parse(genre) == null) ? ValidationError.GENRE : null;
     }
 
     /**
@@ -433,12 +595,20 @@ public class Album {
         return albumCover;
     }
     /**
-     * Sets the release date of the album.
+     * Sets the release date of the album. Its formatted text is kept if the date does not change, and the
+     * release-date indexes which contain the album are updated if it does. The holder of the date is only
+     * created when the album gets a date or is added to a release-date index.
      *
      * @param releaseDate the new release date of the album.
      */
     public void setReleaseDate(LocalDate releaseDate) {
-        this.releaseDate = releaseDate;
+        if (this.releaseDate == null) {
+            if (releaseDate == null) {
+                return;
+            }
+            getReleaseDateHolder();
+        }
+        this.releaseDate.setDate(releaseDate);
     }
     /**
      * Returns the release date of the album.
@@ -446,45 +616,89 @@ public class Album {
      * @return the release date of the album.
      */
     public LocalDate getReleaseDate() {
+        ReleaseDate holder = releaseDate;
+        return holder == null ? null : holder.getDate();
+    }
+    /**
+     * Returns the object which holds the release date of the album, used by the release-date indexes. It is
+     * created on the first call.
+     *
+     * @return the release date holder of the album.
+     */
+    synchronized ReleaseDate getReleaseDateHolder() {
+        if (releaseDate == null) {
+            releaseDate = new ReleaseDate(this);
+        }
+        return releaseDate;
+    }
+
+    /**
+     * Returns the search indexes which contain the album. Only changed by AlbumSearchIndex under the monitor of
+     * the album.
+     *
+     * @return the indexes, or null if the album is in none.
+     */
+    AlbumSearchIndex[] getSearchIndexes() {
+        return searchIndexes;
+    }
+
+    /**
+     * Sets the search indexes which contain the album.
+     *
+     * @param searchIndexes the indexes, or null if the album is in none.
+     */
+    void setSearchIndexes(AlbumSearchIndex[] searchIndexes) {
+        this.searchIndexes = searchIndexes;
+    }
+
+    /**
+     * Returns the object which holds the release date of the album without creating it.
+     *
+     * @return the release date holder of the album, or null if the album never had one.
+     */
+    ReleaseDate findReleaseDateHolder() {
         return releaseDate;
     }
     /**
-     * Returns a formatted string with the release date of the album.
+     * Returns a formatted string with the release date of the album, relative to the current date of
+     * ReleaseClock. The string is reused until the current year changes or the release date is set again.
      *
      * @return a formatted string with the release date of the album.
      */
     public String getFormattedReleaseDate() {
-        if (releaseDate == null) {
+        ReleaseDate holder = releaseDate;
+        if (holder == null || holder.getDate() == null) {
             return null;
         }
-        LocalDate now = LocalDate.now();
-        LocalDate release = releaseDate;
-        String yearString = "";
-        if (release.getYear() == now.getYear()) {
-            yearString = "(this year)";
-        } else if (release.getYear() == now.getYear() - 1) {
-            yearString = "(last year)";
-        } else if (release.getYear() == now.getYear() + 1) {
-            yearString = "(next year)";
-        } else if (release.isAfter(now)) {
-            int years = release.getYear() - now.getYear();
-            if (years == 1) {
-                yearString = "(in 1 year)";
-            } else {
-                yearString = "(in " + years + " years)";
-            }
-        } else {
-            int years = now.getYear() - release.getYear();
-            if (years == 1) {
-                yearString = "(1 year ago)";
-            } else {
-                yearString = "(" + years + " years ago)";
-            }
+        return holder.format(ReleaseClock.today());
+    }
+
+    /**
+     * Appends the formatted release date of the album (see getFormattedReleaseDate), reusing its memoised string.
+     * Nothing is appended if the album has no release date.
+     *
+     * @param out the buffer to append to, e.g. a StringBuilder, a CharBuffer or a Writer
+     * @throws IOException if the buffer cannot be written
+     */
+    public void appendFormattedReleaseDate(Appendable out) throws IOException {
+        ReleaseDate holder = releaseDate;
+        if (holder != null && holder.getDate() != null) {
+            out.append(holder.format(ReleaseClock.today()));
+        }
+    }
+
+    /**
+     * Appends the formatted release date of the album (see getFormattedReleaseDate), reusing its memoised string.
+     * Nothing is appended if the album has no release date.
+     *
+     * @param sb the StringBuilder to append to
+     */
+    public void appendFormattedReleaseDate(StringBuilder sb) {
+        try {
+            appendFormattedReleaseDate((Appendable) sb);
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
         }
-        String monthString = release.getMonth().toString().toLowerCase();
-        monthString = monthString.substring(0, 1).toUpperCase() + monthString.substring(1);
-        int dayOfMonth = release.getDayOfMonth();
-        return String.format("Released on %s %d, %d %s", monthString, dayOfMonth, release.getYear(), yearString);
     }
 
 }
\ No newline at end of file
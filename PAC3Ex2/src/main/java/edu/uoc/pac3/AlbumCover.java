@@ -11,9 +11,11 @@ package edu.uoc.pac3;
 public class AlbumCover {
 
     private String name;
-    private String artist;
+    private int artist = Symbols.NO_SYMBOL;
     private int width = 560;
     private int height = 480;
+    private AspectRatio ratio = null;
+    private volatile CoverIndex[] coverIndexes = null;
     public static final String ERR_UNDEFINED_NAME = "[ERROR] The name cannot be an empty value";
     public static final String ERR_UNKNOWN_ARTIST = "[ERROR] The artist cannot be an empty value";
     public static final String ERR_MIN_RESOLUTION = "[ERROR] Width and height must be positive numbers";
@@ -54,41 +56,55 @@ public class AlbumCover {
      * @throws Exception if the name is null or empty
      */
     public void setName(String name) throws Exception {
-        if (name == null || name.trim().isEmpty()) {
-            throw new Exception(ERR_UNDEFINED_NAME);
+        ValidationError error = validateName(name);
+        if (error != null) {
+            throw error.getException();
         }
         this.name = name;
     }
 
+    /**
+     *
+     * This method checks if a value is a valid name of an album cover, without throwing
+     * @param name the name of the album cover
+     * @return null if the name is valid, or ValidationError.UNDEFINED_NAME if it is null or empty
+     */
+    public static ValidationError validateName(String name) {
+        return ArtistNames.isBlank(name) ? ValidationError.UNDEFINED_NAME : null;
+    }
+
     /**
      *
      * This method returns the name of the artist who created the album cover
      * @return the name of the artist who created the album cover
      */
     public String getArtist() {
-        return artist;
+        return Symbols.resolve(artist);
     }
 
     /**
      *
-     * This method sets the name of the artist who created the album cover
+     * This method sets the name of the artist who created the album cover. Every word is capitalized and
+     * the words are separated by a single space
      * @param artist the name of the artist who created the album cover
      * @throws Exception if the artist is null or empty
      */
     public void setArtist(String artist) throws Exception {
-        if (artist == null || artist.trim().isEmpty()) {
-            throw new Exception(ERR_UNKNOWN_ARTIST);
+        ValidationError error = validateArtist(artist);
+        if (error != null) {
+            throw error.getException();
         }
-        String[] words = artist.trim().split("\\s+");
-        StringBuilder sb = new StringBuilder();
-        for (int i = 0; i < words.length; i++) {
-            String word = words[i];
-            if (i > 0) {
-                sb.append(" ");
-            }
-            sb.append(word.substring(0, 1).toUpperCase()).append(word.substring(1).toLowerCase());
-        }
-        this.artist = sb.toString();
+        this.artist = Symbols.intern(ArtistNames.formatCoverArtist(artist));
+    }
+
+    /**
+     *
+     * This method checks if a value is a valid artist of an album cover, without throwing
+     * @param artist the name of the artist who created the album cover
+     * @return null if the artist is valid, or ValidationError.UNKNOWN_ARTIST if it is null or empty
+     */
+    public static ValidationError validateArtist(String artist) {
+        return ArtistNames.isBlank(artist) ? ValidationError.UNKNOWN_ARTIST : null;
     }
 
     /**
@@ -110,13 +126,11 @@ public class AlbumCover {
      */
 
     public void setWidth(int width) throws Exception {
-        if (width <= 0) {
-            throw new Exception(ERR_MIN_RESOLUTION);
+        ValidationError error = validateResolution(width, height);
+        if (error != null) {
+            throw error.getException();
         }
-        if (width * height > MAX_RESOLUTION) {
-            throw new Exception(ERR_MAX_RESOLUTION);
-        }
-        this.width = width;
+        resize(width, this.height);
     }
 
     /**
@@ -137,12 +151,52 @@ public class AlbumCover {
      */
 
     public void setHeight(int height) throws Exception {
-        if (height <= 0) {
-            throw new Exception(ERR_MIN_RESOLUTION);
-        } else if (width * height > MAX_RESOLUTION) {
-            throw new Exception(ERR_MAX_RESOLUTION);
+        ValidationError error = validateResolution(width, height);
+        if (error != null) {
+            throw error.getException();
         }
+        resize(this.width, height);
+    }
+
+    /**
+     *
+     * Sets the dimensions of the album cover image together with its aspect ratio, and moves the cover in the
+     * indexes which contain it. It runs under the monitor of the cover, like CoverIndex.add and remove, so an
+     * index never misses a change made while the cover is being added or removed
+     * @param width the new width of the image
+     * @param height the new height of the image
+     */
+    private synchronized void resize(int width, int height) {
+        int oldWidth = this.width;
+        int oldHeight = this.height;
+        this.width = width;
         this.height = height;
+        this.ratio = AspectRatio.of(width, height);
+        CoverIndex[] owners = coverIndexes;
+        if (owners != null) {
+            for (CoverIndex owner : owners) {
+                owner.update(this, oldWidth, oldHeight);
+            }
+        }
+    }
+
+    /**
+     *
+     * Checks if a width and a height are a valid resolution of an album cover image, without throwing
+     * @param width the width of the image
+     * @param height the height of the image
+     * @return null if the resolution is valid, ValidationError.MIN_RESOLUTION if the width or the height is
+     * less than or equal to 0, or ValidationError.MAX_RESOLUTION if width * height exceeds the maximum resolution
+     */
+
+    public static ValidationError validateResolution(int width, int height) {
+        if (width <= 0 || height <= 0) {
+            return ValidationError.MIN_RESOLUTION;
+        }
+        if ((long) width * height > MAX_RESOLUTION) {
+            return ValidationError.MAX_RESOLUTION;
+        }
+        return null;
     }
 
     /**
@@ -152,24 +206,36 @@ public class AlbumCover {
      */
 
     public String getAspectRatio() {
-        int gcd = gcd(width, height);
-        int ratioWidth = width / gcd;
-        int ratioHeight = height / gcd;
-        return ratioWidth + ":" + ratioHeight;
+        return getRatio().toString();
     }
 
     /**
      *
-     * Calculates the greatest common divisor of two integers using the Euclidean algorithm
-     * @param a the first integer
-     * @param b the second integer
-     * @return the greatest common divisor of a and b
+     * Returns the reduced aspect ratio of the album cover image. Covers with the same ratio share the same object,
+     * which is looked up when the width or the height changes
+     * @return the canonical aspect ratio of the image
      */
-    private int gcd(int a, int b) {
-        if (b == 0) {
-            return a;
-        }
-        return gcd(b, a % b);
+
+    public AspectRatio getRatio() {
+        return ratio;
+    }
+
+    /**
+     *
+     * Returns the indexes which contain the album cover. Only changed by CoverIndex under the monitor of the cover
+     * @return the indexes, or null if the cover is in none
+     */
+    CoverIndex[] getCoverIndexes() {
+        return coverIndexes;
+    }
+
+    /**
+     *
+     * Sets the indexes which contain the album cover
+     * @param coverIndexes the indexes, or null if the cover is in none
+     */
+    void setCoverIndexes(CoverIndex[] coverIndexes) {
+        this.coverIndexes = coverIndexes;
     }
 
 }
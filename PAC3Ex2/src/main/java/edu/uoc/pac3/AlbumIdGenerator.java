@@ -0,0 +1,28 @@
+/**
+ * Implementation of the albumIdGenerator interface
+ * This interface generates the IDs of new albums. The generator used by Album is chosen with AlbumIds.
+ * @author Ricard Santiago Raigada García
+ * @version 1.0
+ * @date 30/04/2023
+ */
+
+package edu.uoc.pac3;
+
+import java.util.UUID;
+
+@FunctionalInterface
+public interface AlbumIdGenerator {
+
+    /**
+     * Generator of random (version 4) UUIDs, which was the only one before generators could be chosen.
+     */
+    AlbumIdGenerator RANDOM = UUID::randomUUID;
+
+    /**
+     * Returns a new ID. It may be called from several threads at the same time.
+     *
+     * @return a new UUID
+     */
+    UUID nextId();
+
+}
@@ -0,0 +1,59 @@
+/**
+ * Implementation of the albumIds class
+ * This class holds the generator of the IDs of new albums. By default it is a TimeOrderedIdGenerator, so IDs
+ * are created without contention between threads and sort by creation time; it can be replaced, e.g. by
+ * AlbumIdGenerator.RANDOM or by a deterministic generator in tests.
+ * @author Ricard Santiago Raigada García
+ * @version 1.0
+ * @date 30/04/2023
+ */
+
+package edu.uoc.pac3;
+
+import java.util.Objects;
+import java.util.UUID;
+
+public final class AlbumIds {
+
+    private static final AlbumIdGenerator DEFAULT_GENERATOR = new TimeOrderedIdGenerator();
+
+    private static volatile AlbumIdGenerator generator = DEFAULT_GENERATOR;
+
+    private AlbumIds() {
+    }
+
+    /**
+     * Returns the generator of the IDs of new albums.
+     *
+     * @return the generator
+     */
+    public static AlbumIdGenerator getGenerator() {
+        return generator;
+    }
+
+    /**
+     * Replaces the generator of the IDs of new albums.
+     *
+     * @param generator the new generator
+     */
+    public static void setGenerator(AlbumIdGenerator generator) {
+        AlbumIds.generator = Objects.requireNonNull(generator);
+    }
+
+    /**
+     * Restores the default time-ordered generator.
+     */
+    public static void resetGenerator() {
+        generator = DEFAULT_GENERATOR;
+    }
+
+    /**
+     * Returns a new ID from the current generator.
+     *
+     * @return a new UUID
+     */
+    static UUID next() {
+        return generator.nextId();
+    }
+
+}
@@ -0,0 +1,100 @@
+/**
+ * Implementation of the albumMetadata class
+ * This class holds what a MetadataService returns for an album: its cover, if any, and its tracks in order.
+ * @author Ricard Santiago Raigada García
+ * @version 1.0
+ * @date 30/04/2023
+ */
+
+package edu.uoc.pac3;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+
+public final class AlbumMetadata {
+
+    private final String coverName;
+    private final String coverArtist;
+    private final int coverWidth;
+    private final int coverHeight;
+    private final List<Track> tracks;
+
+    /**
+     *
+     * This constructor creates the metadata of an album
+     * @param coverName the name of the cover, or null if the album has no cover
+     * @param coverArtist the artist who created the cover
+     * @param coverWidth the width of the cover image
+     * @param coverHeight the height of the cover image
+     * @param tracks the tracks of the album, in order
+     */
+    public AlbumMetadata(String coverName, String coverArtist, int coverWidth, int coverHeight, List<Track> tracks) {
+        this.coverName = coverName;
+        this.coverArtist = coverArtist;
+        this.coverWidth = coverWidth;
+        this.coverHeight = coverHeight;
+        this.tracks = Collections.unmodifiableList(new ArrayList<>(tracks));
+    }
+
+    /**
+     *
+     * This method sets the cover of the album and adds the tracks after the ones it already has
+     * @param album the album to enrich
+     * @throws Exception if the cover is not valid, a track is already in the album or the album is full
+     */
+    void applyTo(Album album) throws Exception {
+        if (coverName != null) {
+            album.setAlbumCover(coverName, coverArtist, coverWidth, coverHeight);
+        }
+        for (Track track : tracks) {
+            album.addTrack(track);
+        }
+    }
+
+    /**
+     *
+     * This method returns the name of the cover
+     * @return the name of the cover, or null if the album has no cover
+     */
+    public String getCoverName() {
+        return coverName;
+    }
+
+    /**
+     *
+     * This method returns the artist who created the cover
+     * @return the artist of the cover
+     */
+    public String getCoverArtist() {
+        return coverArtist;
+    }
+
+    /**
+     *
+     * This method returns the width of the cover image
+     * @return the width in pixels
+     */
+    public int getCoverWidth() {
+        return coverWidth;
+    }
+
+    /**
+     *
+     * This method returns the height of the cover image
+     * @return the height in pixels
+     */
+    public int getCoverHeight() {
+        return coverHeight;
+    }
+
+    /**
+     *
+     * This method returns the tracks of the album
+     * @return an unmodifiable list with the tracks, in order
+     */
+    public List<Track> getTracks() {
+        return tracks;
+    }
+
+}
@@ -0,0 +1,539 @@
+/**
+ * Implementation of the albumSearchIndex class
+ * This class is an inverted index over the titles and artists of albums and the names and composers of their
+ * tracks. The text is split into words of letters and digits, which are lower-cased and mapped to term ids, and
+ * every term keeps the sorted array of the albums (documents) where it appears, so a query intersects a few int
+ * arrays instead of scanning every album. Phrase queries check the candidates against the words of each field in
+ * order. setTitle, setArtist, the track changes of an indexed album and setName or setComposer on one of its
+ * tracks only mark the album as changed in the indexes it belongs to, which takes no lock; the next query indexes
+ * the changed albums again, once each however many changes they had. Queries can run concurrently with each other;
+ * adding, removing and indexing changed albums are exclusive. The ids of removed albums and of the words which no
+ * longer appear in any album are reused, so the index does not grow with the number of albums it has ever held.
+ * @author Ricard Santiago Raigada García
+ * @version 1.0
+ * @date 30/04/2023
+ */
+
+package edu.uoc.pac3;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+
+public class AlbumSearchIndex {
+
+    private static final int INITIAL_CAPACITY = 64;
+    // Separates the fields in the words of a document, so a phrase cannot span two fields
+    private static final int FIELD_END = -1;
+    private static final int[] NO_DOCUMENTS = new int[0];
+
+    private final ReentrantReadWriteLock lock = new ReentrantReadWriteLock();
+    private final Map<String, Integer> termIds = new HashMap<>();
+    private String[] terms = new String[INITIAL_CAPACITY];
+    private int[][] postings = new int[INITIAL_CAPACITY][];
+    private int[] postingSizes = new int[INITIAL_CAPACITY];
+    private int termCount = 0;
+    private int[] freeTerms = new int[INITIAL_CAPACITY];
+    private int freeTermCount = 0;
+
+    private final Map<Album, Integer> documentIds = new HashMap<>();
+    private Album[] albums = new Album[INITIAL_CAPACITY];
+    private int[][] words = new int[INITIAL_CAPACITY][];
+    private long[] sequences = new long[INITIAL_CAPACITY];
+    private long nextSequence = 0;
+    private int documentCount = 0;
+    private int[] freeDocuments = new int[INITIAL_CAPACITY];
+    private int freeDocumentCount = 0;
+    private boolean reusedDocuments = false;
+
+    // Albums changed since they were last tokenised, indexed again by the next query
+    private final Set<Album> changedAlbums = ConcurrentHashMap.newKeySet();
+
+    // Reused while tokenising, always under the write lock
+    private int[] buffer = new int[INITIAL_CAPACITY];
+    private int bufferLength = 0;
+
+    /**
+     * Adds an album to the index.
+     *
+     * @param album the album to add
+     * @return true if the album has been added, false if it was already in the index
+     */
+    public boolean add(Album album) {
+        synchronized (album) {
+            lock.writeLock().lock();
+            try {
+                if (documentIds.containsKey(album)) {
+                    return false;
+                }
+                AlbumSearchIndex[] owners = album.getSearchIndexes();
+                if (owners == null) {
+                    owners = new AlbumSearchIndex[]{this};
+                } else {
+                    owners = Arrays.copyOf(owners, owners.length + 1);
+                    owners[owners.length - 1] = this;
+                }
+                album.setSearchIndexes(owners);
+                int document = newDocument();
+                albums[document] = album;
+                sequences[document] = nextSequence++;
+                documentIds.put(album, document);
+                post(document, album);
+                return true;
+            } finally {
+                lock.writeLock().unlock();
+            }
+        }
+    }
+
+    /**
+     * Removes an album from the index.
+     *
+     * @param album the album to remove
+     * @return true if the album has been removed, false if it was not in the index
+     */
+    public boolean remove(Album album) {
+        synchronized (album) {
+            lock.writeLock().lock();
+            try {
+                Integer document = documentIds.remove(album);
+                if (document == null) {
+                    return false;
+                }
+                AlbumSearchIndex[] owners = album.getSearchIndexes();
+                int index = Arrays.asList(owners).indexOf(this);
+                if (owners.length == 1) {
+                    album.setSearchIndexes(null);
+                } else {
+                    AlbumSearchIndex[] remaining = new AlbumSearchIndex[owners.length - 1];
+                    System.arraycopy(owners, 0, remaining, 0, index);
+                    System.arraycopy(owners, index + 1, remaining, index, remaining.length - index);
+                    album.setSearchIndexes(remaining);
+                }
+                changedAlbums.remove(album);
+                unpost(document);
+                albums[document] = null;
+                if (freeDocumentCount == freeDocuments.length) {
+                    freeDocuments = Arrays.copyOf(freeDocuments, freeDocumentCount * 2);
+                }
+                freeDocuments[freeDocumentCount++] = document;
+                return true;
+            } finally {
+                lock.writeLock().unlock();
+            }
+        }
+    }
+
+    /**
+     * Checks if an album is in the index.
+     *
+     * @param album the album to look for
+     * @return true if the album is in the index, false otherwise
+     */
+    public boolean contains(Album album) {
+        lock.readLock().lock();
+        try {
+            return documentIds.containsKey(album);
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    /**
+     * Returns the number of albums in the index.
+     *
+     * @return the number of albums
+     */
+    public int size() {
+        lock.readLock().lock();
+        try {
+            return documentIds.size();
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    /**
+     * Returns the number of distinct words in the index, once the changed albums have been indexed again.
+     *
+     * @return the number of terms in the dictionary
+     */
+    int termCount() {
+        lockForQuery();
+        try {
+            return termIds.size();
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    /**
+     * Returns the number of document ids handed out so far, i.e. the size of the arrays of documents in use.
+     *
+     * @return the highest document id plus one
+     */
+    int documentSlots() {
+        lock.readLock().lock();
+        try {
+            return documentCount;
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    /**
+     * Returns the albums which contain all the words of a query in any of their fields, e.g. "beatles something"
+     * finds the albums of The-Beatles with a track called Something. Case and punctuation are ignored.
+     *
+     * @param query the words to look for
+     * @return a new list with the albums, in the order they were added, empty if there is none or the query
+     * has no words
+     */
+    public List<Album> search(String query) {
+        lockForQuery();
+        try {
+            int[] queryTerms = findTerms(query);
+            return toAlbums(intersect(queryTerms), queryTerms, false);
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    /**
+     * Returns the albums which contain the words of a phrase one after the other in the same field, e.g. the title,
+     * the artist, or the name or composer of a track. Case and punctuation are ignored.
+     *
+     * @param phrase the words to look for, in order
+     * @return a new list with the albums, in the order they were added, empty if there is none or the phrase
+     * has no words
+     */
+    public List<Album> searchPhrase(String phrase) {
+        lockForQuery();
+        try {
+            int[] queryTerms = findTerms(phrase);
+            return toAlbums(intersect(queryTerms), queryTerms, true);
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    /**
+     * Marks an album whose text has changed in all the indexes it belongs to. It takes no lock, and an album which
+     * is already marked in an index is not marked again. Called by Album and TrackList after the change.
+     *
+     * @param album the changed album, or null for a list of tracks which does not belong to an album
+     */
+    static void changed(Album album) {
+        if (album == null) {
+            return;
+        }
+        AlbumSearchIndex[] owners = album.getSearchIndexes();
+        if (owners == null) {
+            return;
+        }
+        for (AlbumSearchIndex owner : owners) {
+            owner.changedAlbums.add(album);
+        }
+    }
+
+    /**
+     * Takes the read lock for a query, first indexing again the albums which have changed since the last query.
+     */
+    private void lockForQuery() {
+        if (!changedAlbums.isEmpty()) {
+            lock.writeLock().lock();
+            try {
+                Iterator<Album> pending = changedAlbums.iterator();
+                while (pending.hasNext()) {
+                    Album album = pending.next();
+                    // Removed before tokenising, so a change made meanwhile marks the album again
+                    pending.remove();
+                    Integer document = documentIds.get(album);
+                    if (document != null) {
+                        unpost(document);
+                        post(document, album);
+                    }
+                }
+                // Downgrades to the read lock, so no writer gets in before the query
+                lock.readLock().lock();
+            } finally {
+                lock.writeLock().unlock();
+            }
+        } else {
+            lock.readLock().lock();
+        }
+    }
+
+    /**
+     * Returns the id for a new document, reusing the id of a removed one if there is any.
+     *
+     * @return the id of the document
+     */
+    private int newDocument() {
+        if (freeDocumentCount > 0) {
+            reusedDocuments = true;
+            return freeDocuments[--freeDocumentCount];
+        }
+        if (documentCount == albums.length) {
+            albums = Arrays.copyOf(albums, documentCount * 2);
+            words = Arrays.copyOf(words, documentCount * 2);
+            sequences = Arrays.copyOf(sequences, documentCount * 2);
+        }
+        return documentCount++;
+    }
+
+    /**
+     * Tokenises the fields of an album and adds the document to the postings of its terms.
+     *
+     * @param document the id of the document
+     * @param album the album
+     */
+    private void post(int document, Album album) {
+        bufferLength = 0;
+        tokenize(album.getTitle());
+        tokenize(album.getArtist());
+        for (int i = 0; i < album.getMaxTracks(); i++) {
+            Track track = album.trackAt(i);
+            if (track != null) {
+                tokenize(track.getName());
+                tokenize(track.getComposer());
+            }
+        }
+        int[] documentWords = Arrays.copyOf(buffer, bufferLength);
+        words[document] = documentWords;
+        for (int term : distinctTerms(documentWords)) {
+            int size = postingSizes[term];
+            int[] posting = postings[term];
+            int position = -Arrays.binarySearch(posting, 0, size, document) - 1;
+            if (size == posting.length) {
+                posting = Arrays.copyOf(posting, Math.max(4, size * 2));
+                postings[term] = posting;
+            }
+            System.arraycopy(posting, position, posting, position + 1, size - position);
+            posting[position] = document;
+            postingSizes[term] = size + 1;
+        }
+    }
+
+    /**
+     * Removes a document from the postings of its terms. A term which is left without documents is removed from
+     * the dictionary and its id is reused.
+     *
+     * @param document the id of the document
+     */
+    private void unpost(int document) {
+        for (int term : distinctTerms(words[document])) {
+            int size = postingSizes[term];
+            int[] posting = postings[term];
+            int position = Arrays.binarySearch(posting, 0, size, document);
+            System.arraycopy(posting, position + 1, posting, position, size - position - 1);
+            postingSizes[term] = size - 1;
+            if (size == 1) {
+                termIds.remove(terms[term]);
+                terms[term] = null;
+                postings[term] = NO_DOCUMENTS;
+                if (freeTermCount == freeTerms.length) {
+                    freeTerms = Arrays.copyOf(freeTerms, freeTermCount * 2);
+                }
+                freeTerms[freeTermCount++] = term;
+            }
+        }
+        words[document] = null;
+    }
+
+    /**
+     * Appends the term ids of the words of a field to the buffer, followed by FIELD_END, adding the new terms to
+     * the dictionary.
+     *
+     * @param text the text of the field, or null
+     */
+    private void tokenize(String text) {
+        if (text == null) {
+            return;
+        }
+        for (String word : splitWords(text)) {
+            append(termId(word));
+        }
+        append(FIELD_END);
+    }
+
+    private int termId(String word) {
+        Integer id = termIds.get(word);
+        if (id == null) {
+            if (freeTermCount > 0) {
+                id = freeTerms[--freeTermCount];
+            } else {
+                id = termCount++;
+                if (id == postings.length) {
+                    terms = Arrays.copyOf(terms, id * 2);
+                    postings = Arrays.copyOf(postings, id * 2);
+                    postingSizes = Arrays.copyOf(postingSizes, id * 2);
+                }
+                postings[id] = NO_DOCUMENTS;
+            }
+            terms[id] = word;
+            termIds.put(word, id);
+        }
+        return id;
+    }
+
+    /**
+     * Looks up the words of a query without adding them to the dictionary.
+     *
+     * @param query the query
+     * @return the term ids of the words in order, null if a word is not in the index, or an empty array if the
+     * query has no words
+     */
+    private int[] findTerms(String query) {
+        List<String> queryWords = splitWords(query);
+        int[] queryTerms = new int[queryWords.size()];
+        for (int i = 0; i < queryTerms.length; i++) {
+            Integer id = termIds.get(queryWords.get(i));
+            if (id == null) {
+                return null;
+            }
+            queryTerms[i] = id;
+        }
+        return queryTerms;
+    }
+
+    /**
+     * Splits a text into lower-case words of letters and digits. Any other character separates words.
+     *
+     * @param text the text
+     * @return a new list with the words, in order
+     */
+    static List<String> splitWords(String text) {
+        List<String> result = new ArrayList<>();
+        StringBuilder word = new StringBuilder();
+        int i = 0;
+        while (i < text.length()) {
+            int c = text.codePointAt(i);
+            i += Character.charCount(c);
+            if (Character.isLetterOrDigit(c)) {
+                word.appendCodePoint(Character.toLowerCase(c));
+            } else if (word.length() > 0) {
+                result.add(word.toString());
+                word.setLength(0);
+            }
+        }
+        if (word.length() > 0) {
+            result.add(word.toString());
+        }
+        return result;
+    }
+
+    /**
+     * Intersects the postings of some terms, starting with the shortest one.
+     *
+     * @param terms the term ids, or null
+     * @return the sorted ids of the documents which contain all the terms
+     */
+    private int[] intersect(int[] terms) {
+        if (terms == null || terms.length == 0) {
+            return NO_DOCUMENTS;
+        }
+        int[] distinct = distinctTerms(terms);
+        Integer[] bySize = new Integer[distinct.length];
+        for (int i = 0; i < distinct.length; i++) {
+            bySize[i] = distinct[i];
+        }
+        Arrays.sort(bySize, (a, b) -> Integer.compare(postingSizes[a], postingSizes[b]));
+        int[] result = Arrays.copyOf(postings[bySize[0]], postingSizes[bySize[0]]);
+        int size = result.length;
+        for (int i = 1; i < bySize.length && size > 0; i++) {
+            int[] posting = postings[bySize[i]];
+            int postingSize = postingSizes[bySize[i]];
+            int kept = 0;
+            int from = 0;
+            for (int j = 0; j < size && from < postingSize; j++) {
+                int position = Arrays.binarySearch(posting, from, postingSize, result[j]);
+                if (position >= 0) {
+                    result[kept++] = result[j];
+                    from = position + 1;
+                } else {
+                    from = -position - 1;
+                }
+            }
+            size = kept;
+        }
+        return Arrays.copyOf(result, size);
+    }
+
+    /**
+     * Returns the albums of some documents in the order they were added, which is the order of their ids unless
+     * the id of a removed album has been reused.
+     *
+     * @param documents the sorted ids of the documents
+     * @param queryTerms the term ids of the query
+     * @param phrase true to only keep the documents where the terms appear one after the other in a field
+     * @return a new list with the albums
+     */
+    private List<Album> toAlbums(int[] documents, int[] queryTerms, boolean phrase) {
+        List<Album> result = new ArrayList<>(documents.length);
+        if (!reusedDocuments) {
+            for (int document : documents) {
+                if (!phrase || containsPhrase(words[document], queryTerms)) {
+                    result.add(albums[document]);
+                }
+            }
+            return result;
+        }
+        List<Integer> found = new ArrayList<>(documents.length);
+        for (int document : documents) {
+            if (!phrase || containsPhrase(words[document], queryTerms)) {
+                found.add(document);
+            }
+        }
+        found.sort((a, b) -> Long.compare(sequences[a], sequences[b]));
+        for (int document : found) {
+            result.add(albums[document]);
+        }
+        return result;
+    }
+
+    private static boolean containsPhrase(int[] documentWords, int[] terms) {
+        for (int start = 0; start + terms.length <= documentWords.length; start++) {
+            int matched = 0;
+            while (matched < terms.length && documentWords[start + matched] == terms[matched]) {
+                matched++;
+            }
+            if (matched == terms.length) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    /**
+     * Returns the distinct term ids of a sequence, without FIELD_END.
+     *
+     * @param terms the term ids
+     * @return a new sorted array with each term id once
+     */
+    private static int[] distinctTerms(int[] terms) {
+        int[] sorted = terms.clone();
+        Arrays.sort(sorted);
+        int length = 0;
+        for (int term : sorted) {
+            if (term != FIELD_END && (length == 0 || sorted[length - 1] != term)) {
+                sorted[length++] = term;
+            }
+        }
+        return Arrays.copyOf(sorted, length);
+    }
+
+    private void append(int value) {
+        if (bufferLength == buffer.length) {
+            buffer = Arrays.copyOf(buffer, bufferLength * 2);
+        }
+        buffer[bufferLength++] = value;
+    }
+
+}
@@ -0,0 +1,256 @@
+/**
+ * Implementation of the artistNames class
+ * This class validates and formats the artist names of albums and album covers in a single pass over their
+ * characters, and remembers the names it has already formatted, since the same artists appear in many albums.
+ * It also normalises the whitespace of composer names, so the same composer is interned only once.
+ * @author Ricard Santiago Raigada García
+ * @version 1.0
+ * @date 30/04/2023
+ */
+
+package edu.uoc.pac3;
+
+import java.util.concurrent.ConcurrentHashMap;
+
+final class ArtistNames {
+
+    private static final int MAX_CACHED_NAMES = 16384;
+    private static final String INVALID = "";
+    private static final ConcurrentHashMap<String, String> ALBUM_ARTISTS = new ConcurrentHashMap<>();
+    private static final ConcurrentHashMap<String, String> COVER_ARTISTS = new ConcurrentHashMap<>();
+
+    private ArtistNames() {
+    }
+
+    /**
+     * Checks if a name is null or only contains whitespace, as String.trim().isEmpty() does, without creating
+     * a trimmed copy.
+     *
+     * @param name the name to check
+     * @return true if the name is null or blank, false otherwise
+     */
+    static boolean isBlank(String name) {
+        if (name == null) {
+            return true;
+        }
+        for (int i = 0; i < name.length(); i++) {
+            if (name.charAt(i) > ' ') {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    /**
+     * Formats the artist name of an album: every word is capitalized and the words are joined with hyphens,
+     * e.g. "  the  BEATLES " becomes "The-Beatles". Every word must have at least two letters and only letters
+     * from A to Z.
+     *
+     * @param name the raw name of the artist, which must not be blank
+     * @return the formatted name, or null if the name contains invalid characters
+     */
+    static String formatAlbumArtist(String name) {
+        String formatted = ALBUM_ARTISTS.get(name);
+        if (formatted == null) {
+            formatted = format(name, '-', true);
+            if (formatted == null) {
+                formatted = formatWithUnicodeRules(name, '-', true);
+            }
+            cache(ALBUM_ARTISTS, name, formatted);
+        }
+        return (formatted == INVALID) ? null : formatted;
+    }
+
+    /**
+     * Formats the artist name of an album cover: every word is capitalized and the words are joined with
+     * single spaces, e.g. "  iain   MACMILLAN " becomes "Iain Macmillan".
+     *
+     * @param name the raw name of the artist, which must not be blank
+     * @return the formatted name
+     */
+    static String formatCoverArtist(String name) {
+        String formatted = COVER_ARTISTS.get(name);
+        if (formatted == null) {
+            formatted = format(name, ' ', false);
+            if (formatted == null) {
+                formatted = formatWithUnicodeRules(name, ' ', false);
+            }
+            cache(COVER_ARTISTS, name, formatted);
+        }
+        return formatted;
+    }
+
+    /**
+     * Normalises the name of a composer: leading and trailing whitespace is removed and the whitespace between
+     * words becomes a single space, e.g. "  Kurt \t Cobain " becomes "Kurt Cobain". The case is kept. A name which
+     * is already normalised is returned as it is, without a copy.
+     *
+     * @param name the raw name of the composer, or null
+     * @return the normalised name, or null if the name is null
+     */
+    static String formatComposer(String name) {
+        if (name == null) {
+            return null;
+        }
+        int length = name.length();
+        boolean normalised = length == 0 || (name.charAt(0) > ' ' && name.charAt(length - 1) > ' ');
+        for (int i = 1; normalised && i < length; i++) {
+            char c = name.charAt(i);
+            normalised = c > ' ' || (c == ' ' && name.charAt(i - 1) > ' ');
+        }
+        if (normalised) {
+            return name;
+        }
+        StringBuilder sb = new StringBuilder(length);
+        boolean space = false;
+        for (int i = 0; i < length; i++) {
+            char c = name.charAt(i);
+            if (c <= ' ') {
+                space = sb.length() > 0;
+            } else {
+                if (space) {
+                    sb.append(' ');
+                    space = false;
+                }
+                sb.append(c);
+            }
+        }
+        return sb.toString();
+    }
+
+    /**
+     * Stores a formatted name. The cache is emptied when it is full, so it ends up holding the names which
+     * are currently being used.
+     *
+     * @param cache the cache of formatted names
+     * @param name the raw name
+     * @param formatted the formatted name, or INVALID
+     */
+    private static void cache(ConcurrentHashMap<String, String> cache, String name, String formatted) {
+        if (cache.size() >= MAX_CACHED_NAMES) {
+            cache.clear();
+        }
+        cache.put(name, formatted);
+    }
+
+    /**
+     * Formats a name made of ASCII characters in a single pass.
+     *
+     * @param name the raw name
+     * @param separator the character which joins the words
+     * @param validate true to only accept words of two or more letters from A to Z
+     * @return the formatted name, INVALID if validate is true and the name is not valid,
+     * or null if the name contains non-ASCII characters
+     */
+    private static String format(String name, char separator, boolean validate) {
+        int start = 0;
+        int end = name.length();
+        while (start < end && name.charAt(start) <= ' ') {
+            start++;
+        }
+        while (end > start && name.charAt(end - 1) <= ' ') {
+            end--;
+        }
+        char[] formatted = new char[end - start];
+        int length = 0;
+        int wordLength = 0;
+        for (int i = start; i < end; i++) {
+            char c = name.charAt(i);
+            if (c >= 0x80) {
+                return null;
+            }
+            if (isSeparator(c)) {
+                if (validate && wordLength == 1) {
+                    return INVALID;
+                }
+                wordLength = 0;
+                continue;
+            }
+            if (wordLength == 0) {
+                if (length > 0) {
+                    formatted[length++] = separator;
+                }
+                c = (c >= 'a' && c <= 'z') ? (char) (c - ('a' - 'A')) : c;
+                if (validate && (c < 'A' || c > 'Z')) {
+                    return INVALID;
+                }
+            } else {
+                c = (c >= 'A' && c <= 'Z') ? (char) (c + ('a' - 'A')) : c;
+                if (validate && (c < 'a' || c > 'z')) {
+                    return INVALID;
+                }
+            }
+            formatted[length++] = c;
+            wordLength++;
+        }
+        if (validate && wordLength == 1) {
+            return INVALID;
+        }
+        return new String(formatted, 0, length);
+    }
+
+    /**
+     * Checks if a character separates words, i.e. if it matches the regular expression \s.
+     *
+     * @param c the character to check
+     * @return true if the character is whitespace, false otherwise
+     */
+    private static boolean isSeparator(char c) {
+        return c == ' ' || c == '\t' || c == '\n' || c == '\u000B' || c == '\f' || c == '\r';
+    }
+
+    /**
+     * Formats a name which contains non-ASCII characters, whose upper and lower case forms may differ in
+     * length, using the case conversions of the default locale.
+     *
+     * @param name the raw name
+     * @param separator the character which joins the words
+     * @param validate true to only accept words of two or more letters from A to Z
+     * @return the formatted name, or INVALID if validate is true and the name is not valid
+     */
+    private static String formatWithUnicodeRules(String name, char separator, boolean validate) {
+        String[] words = name.trim().split("\\s+");
+        StringBuilder sb = new StringBuilder();
+        for (int i = 0; i < words.length; i++) {
+            String word = words[i];
+            if (i > 0) {
+                sb.append(separator);
+            }
+            if (validate) {
+                sb.append(Character.toUpperCase(word.charAt(0)));
+            } else {
+                sb.append(word.substring(0, 1).toUpperCase());
+            }
+            sb.append(word.substring(1).toLowerCase());
+        }
+        String formatted = sb.toString();
+        return (!validate || isValidAlbumArtist(formatted)) ? formatted : INVALID;
+    }
+
+    /**
+     * Checks if a formatted album artist is made of words of an upper case letter followed by one or more
+     * lower case letters, from A to Z, joined with hyphens.
+     *
+     * @param formatted the formatted name
+     * @return true if the name is valid, false otherwise
+     */
+    private static boolean isValidAlbumArtist(String formatted) {
+        int wordLength = 0;
+        for (int i = 0; i < formatted.length(); i++) {
+            char c = formatted.charAt(i);
+            if (c == '-') {
+                if (wordLength < 2) {
+                    return false;
+                }
+                wordLength = 0;
+                continue;
+            }
+            if (wordLength == 0 ? (c < 'A' || c > 'Z') : (c < 'a' || c > 'z')) {
+                return false;
+            }
+            wordLength++;
+        }
+        return wordLength >= 2;
+    }
+
+}
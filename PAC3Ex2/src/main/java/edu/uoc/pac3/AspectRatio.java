@@ -0,0 +1,104 @@
+/**
+ * Implementation of the aspectRatio class
+ * This class represents a reduced aspect ratio such as 16:9. There is only one instance per ratio, so ratios can
+ * be compared by reference and used as keys, and the text "width:height" is built once per ratio. The ratio of
+ * a pair of dimensions is also cached, so covers of the same size share it without computing the gcd again.
+ * @author Ricard Santiago Raigada García
+ * @version 1.0
+ * @date 30/04/2023
+ */
+
+package edu.uoc.pac3;
+
+import java.util.concurrent.ConcurrentHashMap;
+
+public final class AspectRatio {
+
+    private static final int MAX_CACHED_DIMENSIONS = 16384;
+    private static final ConcurrentHashMap<Long, AspectRatio> CANONICAL = new ConcurrentHashMap<>();
+    private static final ConcurrentHashMap<Long, AspectRatio> BY_DIMENSIONS = new ConcurrentHashMap<>();
+
+    private final int width;
+    private final int height;
+    private final String text;
+
+    private AspectRatio(int width, int height) {
+        this.width = width;
+        this.height = height;
+        this.text = width + ":" + height;
+    }
+
+    /**
+     *
+     * This method returns the canonical aspect ratio of an image
+     * @param width the width of the image, greater than 0
+     * @param height the height of the image, greater than 0
+     * @return the reduced aspect ratio, the same instance for all the images with that ratio
+     */
+    public static AspectRatio of(int width, int height) {
+        if (width <= 0 || height <= 0) {
+            throw new IllegalArgumentException(AlbumCover.ERR_MIN_RESOLUTION);
+        }
+        Long dimensions = key(width, height);
+        AspectRatio ratio = BY_DIMENSIONS.get(dimensions);
+        if (ratio == null) {
+            int gcd = gcd(width, height);
+            ratio = CANONICAL.computeIfAbsent(key(width / gcd, height / gcd),
+                    k -> new AspectRatio(width / gcd, height / gcd));
+            if (BY_DIMENSIONS.size() >= MAX_CACHED_DIMENSIONS) {
+                BY_DIMENSIONS.clear();
+            }
+            BY_DIMENSIONS.put(dimensions, ratio);
+        }
+        return ratio;
+    }
+
+    /**
+     *
+     * This method returns the width of the reduced ratio, e.g. 16 for 16:9
+     * @return the width of the ratio
+     */
+    public int getWidth() {
+        return width;
+    }
+
+    /**
+     *
+     * This method returns the height of the reduced ratio, e.g. 9 for 16:9
+     * @return the height of the ratio
+     */
+    public int getHeight() {
+        return height;
+    }
+
+    /**
+     *
+     * This method returns the ratio in the format "width:height"
+     * @return the text of the ratio, built once
+     */
+    @Override
+    public String toString() {
+        return text;
+    }
+
+    private static Long key(int width, int height) {
+        return ((long) width << 32) | height;
+    }
+
+    /**
+     *
+     * Calculates the greatest common divisor of two positive integers using the Euclidean algorithm
+     * @param a the first integer
+     * @param b the second integer
+     * @return the greatest common divisor of a and b
+     */
+    private static int gcd(int a, int b) {
+        while (b != 0) {
+            int r = a % b;
+            a = b;
+            b = r;
+        }
+        return a;
+    }
+
+}
@@ -0,0 +1,467 @@
+/**
+ * Implementation of the catalogueExporter class
+ * This class streams a catalogue of albums, with their covers and tracks, to a file or any other channel as JSON or
+ * CSV. Every field is encoded straight from the album into a reusable direct buffer, digit by digit and character by
+ * character, without creating strings, and the buffer is written to the channel whenever it fills up. The memory
+ * used does not depend on the size of the catalogue, which may be generated lazily by the Iterable.
+ *
+ * JSON is an array with one object per line:
+ *   {"id":..,"title":..,"artist":..,"genre":..,"releaseDate":"yyyy-MM-dd" or null,"availableOnline":..,"price":..,
+ *    "totalDurationSeconds":..,"cover":{"name":..,"artist":..,"width":..,"height":..} or null,
+ *    "tracks":[{"name":..,"duration":..,"composer":..},..]}
+ * CSV uses the rows read by CatalogueLoader, with the id of the album as its key and the artist with its words
+ * separated by spaces, so an exported catalogue can be loaded again. Covers are not part of that format. Text fields
+ * are always quoted, and line breaks inside them are written as spaces because CatalogueLoader rows cannot span lines.
+ * Release dates are written as LocalDate.toString does: years outside 0000 to 9999 have a sign, e.g. -0500-03-01.
+ *
+ * An exporter reuses its buffer, so it must not be used by several threads at the same time.
+ * @author Ricard Santiago Raigada García
+ * @version 1.0
+ * @date 30/04/2023
+ */
+
+package edu.uoc.pac3;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.channels.WritableByteChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.time.LocalDate;
+import java.util.UUID;
+
+public class CatalogueExporter {
+
+    /**
+     * Formats of the exported catalogue.
+     */
+    public enum Format {
+        JSON,
+        CSV
+    }
+
+    private static final int DEFAULT_BUFFER_SIZE = 1024 * 1024;
+    private static final int MIN_BUFFER_SIZE = 64;
+    // The longest encoding of a character or a number: an escaped control character, or the digits of a long
+    private static final int MAX_ENCODED_LENGTH = 20;
+    private static final byte[] HEX = "0123456789abcdef".getBytes(StandardCharsets.US_ASCII);
+    private static final byte[] NULL = bytes("null");
+    private static final byte[] TRUE = bytes("true");
+    private static final byte[] FALSE = bytes("false");
+    private static final byte[] ALBUM_ROW = bytes("album,");
+    private static final byte[] TRACK_ROW = bytes("track,");
+    private static final byte[] ID = bytes("{\"id\":");
+    private static final byte[] TITLE = bytes(",\"title\":");
+    private static final byte[] ARTIST = bytes(",\"artist\":");
+    private static final byte[] GENRE = bytes(",\"genre\":");
+    private static final byte[] RELEASE_DATE = bytes(",\"releaseDate\":");
+    private static final byte[] AVAILABLE_ONLINE = bytes(",\"availableOnline\":");
+    private static final byte[] PRICE = bytes(",\"price\":");
+    private static final byte[] TOTAL_DURATION = bytes(",\"totalDurationSeconds\":");
+    private static final byte[] COVER = bytes(",\"cover\":");
+    private static final byte[] COVER_NAME = bytes("{\"name\":");
+    private static final byte[] WIDTH = bytes(",\"width\":");
+    private static final byte[] HEIGHT = bytes(",\"height\":");
+    private static final byte[] TRACKS = bytes(",\"tracks\":[");
+    private static final byte[] TRACK_NAME = bytes("{\"name\":");
+    private static final byte[] DURATION = bytes(",\"duration\":");
+    private static final byte[] COMPOSER = bytes(",\"composer\":");
+
+    private final Format format;
+    private final ByteBuffer buffer;
+    private final byte[] digits = new byte[MAX_ENCODED_LENGTH];
+    private WritableByteChannel channel;
+    private long written;
+
+    /**
+     * This constructor creates an exporter with a buffer of 1 MB.
+     *
+     * @param format the format of the exported catalogue
+     */
+    public CatalogueExporter(Format format) {
+        this(format, DEFAULT_BUFFER_SIZE);
+    }
+
+    /**
+     * This constructor creates an exporter with the given buffer size.
+     *
+     * @param format the format of the exported catalogue
+     * @param bufferSize the size in bytes of the buffer, and so of most writes to the channel; at least 64
+     */
+    public CatalogueExporter(Format format, int bufferSize) {
+        if (format == null || bufferSize < MIN_BUFFER_SIZE) {
+            throw new IllegalArgumentException("The format cannot be null and the buffer must have at least "
+                    + MIN_BUFFER_SIZE + " bytes");
+        }
+        this.format = format;
+        this.buffer = ByteBuffer.allocateDirect(bufferSize);
+    }
+
+    /**
+     * Exports a catalogue to a file, which is created or replaced.
+     *
+     * @param albums the albums to export, in order
+     * @param file the file to write
+     * @return the number of bytes written
+     * @throws IOException if the file cannot be written
+     */
+    public long export(Iterable<Album> albums, Path file) throws IOException {
+        try (FileChannel fileChannel = FileChannel.open(file, StandardOpenOption.CREATE, StandardOpenOption.WRITE,
+                StandardOpenOption.TRUNCATE_EXISTING)) {
+            return export(albums, fileChannel);
+        }
+    }
+
+    /**
+     * Exports a catalogue to a channel, which is left open.
+     *
+     * @param albums the albums to export, in order
+     * @param channel the channel to write
+     * @return the number of bytes written
+     * @throws IOException if the channel cannot be written
+     */
+    public long export(Iterable<Album> albums, WritableByteChannel channel) throws IOException {
+        this.channel = channel;
+        this.written = 0;
+        buffer.clear();
+        try {
+            if (format == Format.JSON) {
+                writeJson(albums);
+            } else {
+                for (Album album : albums) {
+                    writeCsv(album);
+                }
+            }
+            flush();
+            return written;
+        } finally {
+            this.channel = null;
+            buffer.clear();
+        }
+    }
+
+    private void writeJson(Iterable<Album> albums) throws IOException {
+        put((byte) '[');
+        boolean first = true;
+        for (Album album : albums) {
+            if (!first) {
+                put((byte) ',');
+            }
+            put((byte) '\n');
+            first = false;
+            writeJson(album);
+        }
+        put((byte) '\n');
+        put((byte) ']');
+        put((byte) '\n');
+    }
+
+    private void writeJson(Album album) throws IOException {
+        put(ID);
+        put((byte) '"');
+        putUuid(album.getId());
+        put((byte) '"');
+        put(TITLE);
+        putJsonString(album.getTitle());
+        put(ARTIST);
+        putJsonString(album.getArtist());
+        put(GENRE);
+        putJsonString(album.getGenre());
+        put(RELEASE_DATE);
+        LocalDate releaseDate = album.getReleaseDate();
+        if (releaseDate == null) {
+            put(NULL);
+        } else {
+            put((byte) '"');
+            putDate(releaseDate);
+            put((byte) '"');
+        }
+        put(AVAILABLE_ONLINE);
+        put(album.isAvailableOnline() ? TRUE : FALSE);
+        put(PRICE);
+        putMills(album.getPriceMills());
+        put(TOTAL_DURATION);
+        putNumber(album.getTotalDurationSeconds());
+        put(COVER);
+        AlbumCover cover = album.getAlbumCover();
+        if (cover == null) {
+            put(NULL);
+        } else {
+            put(COVER_NAME);
+            putJsonString(cover.getName());
+            put(ARTIST);
+            putJsonString(cover.getArtist());
+            put(WIDTH);
+            putNumber(cover.getWidth());
+            put(HEIGHT);
+            putNumber(cover.getHeight());
+            put((byte) '}');
+        }
+        put(TRACKS);
+        boolean first = true;
+        for (int i = 0; i < album.getMaxTracks(); i++) {
+            Track track = album.trackAt(i);
+            if (track == null) {
+                continue;
+            }
+            if (!first) {
+                put((byte) ',');
+            }
+            first = false;
+            put(TRACK_NAME);
+            putJsonString(track.getName());
+            put(DURATION);
+            putNumber(track.getDuration());
+            put(COMPOSER);
+            putJsonString(track.getComposer());
+            put((byte) '}');
+        }
+        put((byte) ']');
+        put((byte) '}');
+    }
+
+    private void writeCsv(Album album) throws IOException {
+        UUID id = album.getId();
+        put(ALBUM_ROW);
+        putUuid(id);
+        put((byte) ',');
+        putCsvString(album.getTitle(), false);
+        put((byte) ',');
+        putCsvString(album.getArtist(), true);
+        put((byte) ',');
+        putCsvString(album.getGenre(), false);
+        put((byte) ',');
+        LocalDate releaseDate = album.getReleaseDate();
+        if (releaseDate != null) {
+            putDate(releaseDate);
+        }
+        put((byte) ',');
+        put(album.isAvailableOnline() ? TRUE : FALSE);
+        put((byte) ',');
+        putMills(album.getPriceMills());
+        put((byte) '\n');
+        for (int i = 0; i < album.getMaxTracks(); i++) {
+            Track track = album.trackAt(i);
+            if (track == null) {
+                continue;
+            }
+            put(TRACK_ROW);
+            putUuid(id);
+            put((byte) ',');
+            putCsvString(track.getName(), false);
+            put((byte) ',');
+            putNumber(track.getDuration());
+            put((byte) ',');
+            putCsvString(track.getComposer(), false);
+            put((byte) '\n');
+        }
+    }
+
+    /**
+     * Writes a string as a JSON string literal, or null.
+     *
+     * @param value the string
+     * @throws IOException if the buffer has to be flushed and the channel cannot be written
+     */
+    private void putJsonString(String value) throws IOException {
+        if (value == null) {
+            put(NULL);
+            return;
+        }
+        put((byte) '"');
+        for (int i = 0; i < value.length(); i++) {
+            char c = value.charAt(i);
+            ensure(MAX_ENCODED_LENGTH);
+            if (c == '"' || c == '\\') {
+                buffer.put((byte) '\\').put((byte) c);
+            } else if (c == '\n') {
+                buffer.put((byte) '\\').put((byte) 'n');
+            } else if (c == '\r') {
+                buffer.put((byte) '\\').put((byte) 'r');
+            } else if (c == '\t') {
+                buffer.put((byte) '\\').put((byte) 't');
+            } else if (c < 0x20) {
+                buffer.put((byte) '\\').put((byte) 'u').put((byte) '0').put((byte) '0')
+                        .put(HEX[c >> 4]).put(HEX[c & 0xF]);
+            } else {
+                i = putChar(value, i);
+            }
+        }
+        put((byte) '"');
+    }
+
+    /**
+     * Writes a string as a quoted CSV field, or an empty field if it is null.
+     *
+     * @param value the string
+     * @param spaces true to write hyphens as spaces, as the artists of the albums are loaded
+     * @throws IOException if the buffer has to be flushed and the channel cannot be written
+     */
+    private void putCsvString(String value, boolean spaces) throws IOException {
+        if (value == null) {
+            return;
+        }
+        put((byte) '"');
+        for (int i = 0; i < value.length(); i++) {
+            char c = value.charAt(i);
+            ensure(MAX_ENCODED_LENGTH);
+            if (c == '"') {
+                buffer.put((byte) '"').put((byte) '"');
+            } else if (c == '\n' || c == '\r' || (spaces && c == '-')) {
+                buffer.put((byte) ' ');
+            } else {
+                i = putChar(value, i);
+            }
+        }
+        put((byte) '"');
+    }
+
+    /**
+     * Writes a character as UTF-8. There must be room for four bytes in the buffer.
+     *
+     * @param value the string
+     * @param i the index of the character
+     * @return the index of the last character written, i + 1 for a surrogate pair
+     */
+    private int putChar(String value, int i) {
+        char c = value.charAt(i);
+        if (c < 0x80) {
+            buffer.put((byte) c);
+        } else if (c < 0x800) {
+            buffer.put((byte) (0xC0 | (c >> 6))).put((byte) (0x80 | (c & 0x3F)));
+        } else if (Character.isHighSurrogate(c) && i + 1 < value.length()
+                && Character.isLowSurrogate(value.charAt(i + 1))) {
+            int codePoint = Character.toCodePoint(c, value.charAt(i + 1));
+            buffer.put((byte) (0xF0 | (codePoint >> 18))).put((byte) (0x80 | ((codePoint >> 12) & 0x3F)))
+                    .put((byte) (0x80 | ((codePoint >> 6) & 0x3F))).put((byte) (0x80 | (codePoint & 0x3F)));
+            return i + 1;
+        } else if (Character.isSurrogate(c)) {
+            buffer.put((byte) '?');
+        } else {
+            buffer.put((byte) (0xE0 | (c >> 12))).put((byte) (0x80 | ((c >> 6) & 0x3F)))
+                    .put((byte) (0x80 | (c & 0x3F)));
+        }
+        return i;
+    }
+
+    private void putUuid(UUID id) throws IOException {
+        ensure(36);
+        putHex(id.getMostSignificantBits() >>> 32, 8);
+        buffer.put((byte) '-');
+        putHex(id.getMostSignificantBits() >>> 16, 4);
+        buffer.put((byte) '-');
+        putHex(id.getMostSignificantBits(), 4);
+        buffer.put((byte) '-');
+        putHex(id.getLeastSignificantBits() >>> 48, 4);
+        buffer.put((byte) '-');
+        putHex(id.getLeastSignificantBits(), 12);
+    }
+
+    private void putHex(long value, int length) {
+        for (int shift = (length - 1) * 4; shift >= 0; shift -= 4) {
+            buffer.put(HEX[(int) (value >>> shift) & 0xF]);
+        }
+    }
+
+    /**
+     * Writes a date in the ISO format of LocalDate.toString: a year of at least four digits, with a sign if it is
+     * negative or has more than four digits, then the month and the day, e.g. 0999-03-01 or -0044-03-15.
+     *
+     * @param date the date
+     * @throws IOException if the buffer has to be flushed and the channel cannot be written
+     */
+    private void putDate(LocalDate date) throws IOException {
+        int year = date.getYear();
+        if (year < 0) {
+            put((byte) '-');
+        } else if (year > 9999) {
+            put((byte) '+');
+        }
+        int absoluteYear = Math.abs(year);
+        if (absoluteYear > 9999) {
+            putNumber(absoluteYear);
+        } else {
+            putDigits(absoluteYear, 4);
+        }
+        put((byte) '-');
+        putDigits(date.getMonthValue(), 2);
+        put((byte) '-');
+        putDigits(date.getDayOfMonth(), 2);
+    }
+
+    /**
+     * Writes a price in thousandths as a decimal number without trailing zeros, e.g. 14990 as 14.99 and 15000
+     * as 15.0, as Double.toString would write the price.
+     *
+     * @param mills the price in thousandths
+     * @throws IOException if the buffer has to be flushed and the channel cannot be written
+     */
+    private void putMills(long mills) throws IOException {
+        putNumber(mills / 1000);
+        put((byte) '.');
+        int fraction = (int) (mills % 1000);
+        if (fraction % 100 == 0) {
+            putDigits(fraction / 100, 1);
+        } else if (fraction % 10 == 0) {
+            putDigits(fraction / 10, 2);
+        } else {
+            putDigits(fraction, 3);
+        }
+    }
+
+    private void putDigits(int value, int length) throws IOException {
+        ensure(length);
+        for (int i = length - 1; i >= 0; i--) {
+            digits[i] = (byte) ('0' + value % 10);
+            value /= 10;
+        }
+        buffer.put(digits, 0, length);
+    }
+
+    /**
+     * Writes a number which is not negative, such as a duration or a size.
+     *
+     * @param value the number
+     * @throws IOException if the buffer has to be flushed and the channel cannot be written
+     */
+    private void putNumber(long value) throws IOException {
+        ensure(MAX_ENCODED_LENGTH);
+        int start = digits.length;
+        do {
+            digits[--start] = (byte) ('0' + value % 10);
+            value /= 10;
+        } while (value != 0);
+        buffer.put(digits, start, digits.length - start);
+    }
+
+    private void put(byte b) throws IOException {
+        ensure(1);
+        buffer.put(b);
+    }
+
+    private void put(byte[] bytes) throws IOException {
+        ensure(bytes.length);
+        buffer.put(bytes);
+    }
+
+    private void ensure(int length) throws IOException {
+        if (buffer.remaining() < length) {
+            flush();
+        }
+    }
+
+    private void flush() throws IOException {
+        buffer.flip();
+        while (buffer.hasRemaining()) {
+            written += channel.write(buffer);
+        }
+        buffer.clear();
+    }
+
+    private static byte[] bytes(String text) {
+        return text.getBytes(StandardCharsets.US_ASCII);
+    }
+
+}
@@ -0,0 +1,628 @@
+/**
+ * Implementation of the catalogueLoader class
+ * This class loads albums and their tracks from a CSV catalogue dump. The file is memory-mapped and split into
+ * line-aligned chunks which are parsed in parallel on a fork-join pool. Numbers, dates and flags are parsed straight
+ * from the mapped bytes; only the text fields become strings.
+ *
+ * Each line is either an album or a track of an album which appears anywhere in the file:
+ *   album,key,title,artist,genre,releaseDate,availableOnline,price
+ *   track,albumKey,name,duration,composer
+ * The release date is yyyy-MM-dd or empty, with a sign before years outside 0000 to 9999 as LocalDate.toString
+ * writes them. availableOnline is true or false, and fields may be quoted with
+ * double quotes ("" inside a quoted field is a quote) but cannot span lines. Empty lines and lines starting with # are ignored.
+ * Rows which break a rule of Album or Track are rejected with the error message of that rule.
+ * @author Ricard Santiago Raigada García
+ * @version 1.0
+ * @date 30/04/2023
+ */
+
+package edu.uoc.pac3;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.ByteBuffer;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.time.DateTimeException;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.ForkJoinTask;
+import java.util.concurrent.RecursiveTask;
+
+public class CatalogueLoader {
+
+    public static final String ERR_MALFORMED_ROW = "[ERROR] The row does not have the fields of an album or a track";
+    public static final String ERR_DUPLICATED_ALBUM = "[ERROR] There is another album with the same key";
+    public static final String ERR_UNKNOWN_ALBUM = "[ERROR] The track belongs to an album which is not in the catalogue";
+    private static final int DEFAULT_CHUNK_SIZE = 8 * 1024 * 1024;
+    private static final int ALBUM_FIELDS = 8;
+    private static final int TRACK_FIELDS = 5;
+
+    private final ForkJoinPool pool;
+    private final int chunkSize;
+
+    /**
+     * This constructor creates a loader which uses the common fork-join pool and chunks of 8 MB.
+     */
+    public CatalogueLoader() {
+        this(ForkJoinPool.commonPool(), DEFAULT_CHUNK_SIZE);
+    }
+
+    /**
+     * This constructor creates a loader which uses the given pool and chunk size.
+     *
+     * @param pool the pool where the chunks are parsed
+     * @param chunkSize the approximate size in bytes of each chunk; chunks always end at the end of a line
+     */
+    public CatalogueLoader(ForkJoinPool pool, int chunkSize) {
+        if (pool == null || chunkSize <= 0) {
+            throw new IllegalArgumentException("The pool cannot be null and the chunk size must be positive");
+        }
+        this.pool = pool;
+        this.chunkSize = chunkSize;
+    }
+
+    /**
+     * Loads the albums and tracks of a catalogue file.
+     *
+     * @param file the CSV file to load
+     * @return the albums, in the order of the file, with their tracks attached, and the rejected rows
+     * @throws IOException if the file cannot be read or a chunk of it cannot be mapped
+     */
+    public Result load(Path file) throws IOException {
+        try (FileChannel channel = FileChannel.open(file, StandardOpenOption.READ)) {
+            long[] bounds = findChunkBounds(channel);
+            List<ChunkTask> tasks = new ArrayList<>();
+            for (int i = 0; i + 1 < bounds.length; i++) {
+                tasks.add(new ChunkTask(channel, bounds[i], bounds[i + 1]));
+            }
+            List<Chunk> chunks = new ArrayList<>(tasks.size());
+            try {
+                pool.invoke(new RecursiveTask<Void>() {
+                    @Override
+                    protected Void compute() {
+                        ForkJoinTask.invokeAll(tasks);
+                        return null;
+                    }
+                });
+                for (ChunkTask task : tasks) {
+                    chunks.add(task.join());
+                }
+            } catch (UncheckedIOException e) {
+                // A chunk could not be mapped: rethrow the I/O error that load declares
+                throw e.getCause();
+            }
+            return merge(chunks);
+        }
+    }
+
+    /**
+     * Splits the file into chunks of about chunkSize bytes which end just after a line break.
+     *
+     * @param channel the channel of the file
+     * @return the offsets where the chunks start, followed by the size of the file
+     * @throws IOException if the file cannot be read
+     */
+    private long[] findChunkBounds(FileChannel channel) throws IOException {
+        long size = channel.size();
+        List<Long> bounds = new ArrayList<>();
+        bounds.add(0L);
+        ByteBuffer window = ByteBuffer.allocate(4096);
+        long position = chunkSize;
+        while (position < size) {
+            long lineEnd = -1;
+            while (lineEnd == -1 && position < size) {
+                window.clear();
+                int read = channel.read(window, position);
+                if (read <= 0) {
+                    break;
+                }
+                for (int i = 0; i < read; i++) {
+                    if (window.get(i) == '\n') {
+                        lineEnd = position + i + 1;
+                        break;
+                    }
+                }
+                if (lineEnd == -1) {
+                    position += read;
+                }
+            }
+            if (lineEnd == -1 || lineEnd >= size) {
+                break;
+            }
+            bounds.add(lineEnd);
+            position = lineEnd + chunkSize;
+        }
+        bounds.add(size);
+        long[] result = new long[bounds.size()];
+        for (int i = 0; i < result.length; i++) {
+            result[i] = bounds.get(i);
+        }
+        return result;
+    }
+
+    /**
+     * Joins the results of the chunks: numbers the lines of the whole file, attaches the tracks to their albums
+     * and collects the rejected rows.
+     *
+     * @param chunks the parsed chunks, in the order of the file
+     * @return the result of the load
+     */
+    private Result merge(List<Chunk> chunks) {
+        int albumCount = 0;
+        for (Chunk chunk : chunks) {
+            albumCount += chunk.albums.size();
+        }
+        Map<String, Album> albumsByKey = new HashMap<>(albumCount * 4 / 3 + 1);
+        List<Album> albums = new ArrayList<>(albumCount);
+        List<Reject> rejects = new ArrayList<>();
+        long firstLine = 1;
+        for (Chunk chunk : chunks) {
+            for (Reject reject : chunk.rejects) {
+                rejects.add(new Reject(firstLine + reject.line, reject.message));
+            }
+            for (ParsedAlbum parsed : chunk.albums) {
+                if (albumsByKey.putIfAbsent(parsed.key, parsed.album) == null) {
+                    albums.add(parsed.album);
+                } else {
+                    rejects.add(new Reject(firstLine + parsed.line, ERR_DUPLICATED_ALBUM));
+                }
+            }
+            firstLine += chunk.lines;
+        }
+        firstLine = 1;
+        for (Chunk chunk : chunks) {
+            for (ParsedTrack parsed : chunk.tracks) {
+                Album album = albumsByKey.get(parsed.albumKey);
+                if (album == null) {
+                    rejects.add(new Reject(firstLine + parsed.line, ERR_UNKNOWN_ALBUM));
+                    continue;
+                }
+                try {
+                    album.addTrack(parsed.track);
+                } catch (Exception e) {
+                    rejects.add(new Reject(firstLine + parsed.line, e.getMessage()));
+                }
+            }
+            firstLine += chunk.lines;
+        }
+        rejects.sort((r1, r2) -> Long.compare(r1.line, r2.line));
+        return new Result(albums, rejects);
+    }
+
+    /**
+     * This class is the result of loading a catalogue: the valid albums and the rejected rows.
+     */
+    public static class Result {
+
+        private final List<Album> albums;
+        private final List<Reject> rejects;
+
+        Result(List<Album> albums, List<Reject> rejects) {
+            this.albums = Collections.unmodifiableList(albums);
+            this.rejects = Collections.unmodifiableList(rejects);
+        }
+
+        /**
+         * Returns the albums loaded, in the order of the file, with their tracks attached.
+         *
+         * @return the list of albums
+         */
+        public List<Album> getAlbums() {
+            return albums;
+        }
+
+        /**
+         * Returns the rows which were not loaded, ordered by line.
+         *
+         * @return the list of rejected rows
+         */
+        public List<Reject> getRejects() {
+            return rejects;
+        }
+    }
+
+    /**
+     * This class is a row of the file which was not loaded, with the reason.
+     */
+    public static class Reject {
+
+        private final long line;
+        private final String message;
+
+        Reject(long line, String message) {
+            this.line = line;
+            this.message = message;
+        }
+
+        /**
+         * Returns the line of the row in the file, starting at 1.
+         *
+         * @return the line number
+         */
+        public long getLine() {
+            return line;
+        }
+
+        /**
+         * Returns the reason why the row was rejected, one of the ERR_ messages of Album, Track or CatalogueLoader.
+         *
+         * @return the error message
+         */
+        public String getMessage() {
+            return message;
+        }
+    }
+
+    private static class ParsedAlbum {
+        private final String key;
+        private final Album album;
+        private final long line;
+
+        ParsedAlbum(String key, Album album, long line) {
+            this.key = key;
+            this.album = album;
+            this.line = line;
+        }
+    }
+
+    private static class ParsedTrack {
+        private final String albumKey;
+        private final Track track;
+        private final long line;
+
+        ParsedTrack(String albumKey, Track track, long line) {
+            this.albumKey = albumKey;
+            this.track = track;
+            this.line = line;
+        }
+    }
+
+    /**
+     * The rows of a chunk. Line numbers are relative to the first line of the chunk, which is line 0.
+     */
+    private static class Chunk {
+        private final List<ParsedAlbum> albums = new ArrayList<>();
+        private final List<ParsedTrack> tracks = new ArrayList<>();
+        private final List<Reject> rejects = new ArrayList<>();
+        private long lines = 0;
+    }
+
+    /**
+     * Parses one chunk of the file from its own mapping.
+     */
+    private static class ChunkTask extends RecursiveTask<Chunk> {
+
+        private static final long serialVersionUID = 1L;
+
+        private static final byte[] ALBUM = "album".getBytes(StandardCharsets.US_ASCII);
+        private static final byte[] TRACK = "track".getBytes(StandardCharsets.US_ASCII);
+        private static final byte[] TRUE = "true".getBytes(StandardCharsets.US_ASCII);
+        private static final byte[] FALSE = "false".getBytes(StandardCharsets.US_ASCII);
+        private static final int MAX_FIELDS = ALBUM_FIELDS + 1;
+        private static final double[] POWERS_OF_TEN = {
+                1e0, 1e1, 1e2, 1e3, 1e4, 1e5, 1e6, 1e7, 1e8, 1e9, 1e10, 1e11, 1e12, 1e13, 1e14, 1e15
+        };
+
+        private final FileChannel channel;
+        private final long start;
+        private final long end;
+        private MappedByteBuffer buffer;
+        private final int[] fieldStarts = new int[MAX_FIELDS];
+        private final int[] fieldEnds = new int[MAX_FIELDS];
+        private final boolean[] fieldQuoted = new boolean[MAX_FIELDS];
+        private int fieldCount;
+        private byte[] scratch = new byte[256];
+
+        ChunkTask(FileChannel channel, long start, long end) {
+            this.channel = channel;
+            this.start = start;
+            this.end = end;
+        }
+
+        @Override
+        protected Chunk compute() {
+            Chunk chunk = new Chunk();
+            try {
+                buffer = channel.map(FileChannel.MapMode.READ_ONLY, start, end - start);
+            } catch (IOException e) {
+                throw new UncheckedIOException(e);
+            }
+            int limit = buffer.limit();
+            int lineStart = 0;
+            while (lineStart < limit) {
+                int lineEnd = lineStart;
+                while (lineEnd < limit && buffer.get(lineEnd) != '\n') {
+                    lineEnd++;
+                }
+                int contentEnd = lineEnd;
+                if (contentEnd > lineStart && buffer.get(contentEnd - 1) == '\r') {
+                    contentEnd--;
+                }
+                parseLine(chunk, lineStart, contentEnd);
+                chunk.lines++;
+                lineStart = lineEnd + 1;
+            }
+            return chunk;
+        }
+
+        /**
+         * Parses a line of the chunk and stores the album, the track or the reject it produces.
+         */
+        private void parseLine(Chunk chunk, int from, int to) {
+            if (from == to || buffer.get(from) == '#') {
+                return;
+            }
+            long line = chunk.lines;
+            if (!splitFields(from, to)) {
+                chunk.rejects.add(new Reject(line, ERR_MALFORMED_ROW));
+            } else if (fieldCount == ALBUM_FIELDS && fieldEquals(0, ALBUM)) {
+                parseAlbum(chunk, line);
+            } else if (fieldCount == TRACK_FIELDS && fieldEquals(0, TRACK)) {
+                parseTrack(chunk, line);
+            } else {
+                chunk.rejects.add(new Reject(line, ERR_MALFORMED_ROW));
+            }
+        }
+
+        private void parseAlbum(Chunk chunk, long line) {
+            String artist = string(3);
+            String genre = string(4);
+            int available = parseBoolean(6);
+            double price = parseDecimal(7);
+            LocalDate releaseDate;
+            try {
+                releaseDate = parseDate(5);
+            } catch (DateTimeException e) {
+                chunk.rejects.add(new Reject(line, ERR_MALFORMED_ROW));
+                return;
+            }
+            if (available == -1 || Double.isNaN(price)) {
+                chunk.rejects.add(new Reject(line, ERR_MALFORMED_ROW));
+                return;
+            }
+            ValidationError error = Album.validateArtist(artist);
+            if (error == null) {
+                error = Album.validateGenre(genre);
+            }
+            if (error == null) {
+                error = Album.validatePrice(price, available == 1);
+            }
+            if (error != null) {
+                chunk.rejects.add(new Reject(line, error.getMessage()));
+                return;
+            }
+            try {
+                Album album = new Album(string(2), artist, genre, releaseDate, available == 1, price);
+                chunk.albums.add(new ParsedAlbum(string(1), album, line));
+            } catch (Exception e) {
+                chunk.rejects.add(new Reject(line, e.getMessage()));
+            }
+        }
+
+        private void parseTrack(Chunk chunk, long line) {
+            long duration = parseInteger(3);
+            if (duration == Long.MIN_VALUE || duration > Integer.MAX_VALUE || duration < Integer.MIN_VALUE) {
+                chunk.rejects.add(new Reject(line, ERR_MALFORMED_ROW));
+                return;
+            }
+            ValidationError error = Track.validateDuration((int) duration);
+            if (error != null) {
+                chunk.rejects.add(new Reject(line, error.getMessage()));
+                return;
+            }
+            try {
+                Track track = new Track(string(2), (int) duration, string(4));
+                chunk.tracks.add(new ParsedTrack(string(1), track, line));
+            } catch (Exception e) {
+                chunk.rejects.add(new Reject(line, e.getMessage()));
+            }
+        }
+
+        /**
+         * Finds the fields of a line. Quoted fields may contain commas and doubled quotes.
+         *
+         * @return false if the line has too many fields or an unterminated quote
+         */
+        private boolean splitFields(int from, int to) {
+            fieldCount = 0;
+            int i = from;
+            while (true) {
+                if (fieldCount == MAX_FIELDS) {
+                    return false;
+                }
+                boolean quoted = i < to && buffer.get(i) == '"';
+                int fieldStart = quoted ? i + 1 : i;
+                int fieldEnd;
+                if (quoted) {
+                    i = fieldStart;
+                    while (true) {
+                        if (i >= to) {
+                            return false;
+                        }
+                        if (buffer.get(i) == '"') {
+                            if (i + 1 < to && buffer.get(i + 1) == '"') {
+                                i += 2;
+                                continue;
+                            }
+                            break;
+                        }
+                        i++;
+                    }
+                    fieldEnd = i;
+                    i++;
+                    if (i < to && buffer.get(i) != ',') {
+                        return false;
+                    }
+                } else {
+                    while (i < to && buffer.get(i) != ',') {
+                        i++;
+                    }
+                    fieldEnd = i;
+                }
+                fieldStarts[fieldCount] = fieldStart;
+                fieldEnds[fieldCount] = fieldEnd;
+                fieldQuoted[fieldCount] = quoted;
+                fieldCount++;
+                if (i >= to) {
+                    return true;
+                }
+                i++;
+            }
+        }
+
+        private boolean fieldEquals(int field, byte[] value) {
+            int length = fieldEnds[field] - fieldStarts[field];
+            if (length != value.length) {
+                return false;
+            }
+            for (int i = 0; i < length; i++) {
+                if (buffer.get(fieldStarts[field] + i) != value[i]) {
+                    return false;
+                }
+            }
+            return true;
+        }
+
+        /**
+         * Decodes a text field as UTF-8, replacing the doubled quotes of quoted fields.
+         */
+        private String string(int field) {
+            int length = fieldEnds[field] - fieldStarts[field];
+            if (scratch.length < length) {
+                scratch = new byte[Math.max(length, scratch.length * 2)];
+            }
+            int n = 0;
+            for (int i = fieldStarts[field]; i < fieldEnds[field]; i++) {
+                byte b = buffer.get(i);
+                scratch[n++] = b;
+                if (b == '"' && fieldQuoted[field]) {
+                    i++;
+                }
+            }
+            return new String(scratch, 0, n, StandardCharsets.UTF_8);
+        }
+
+        /**
+         * @return 1 for true, 0 for false or -1 if the field is neither
+         */
+        private int parseBoolean(int field) {
+            if (fieldEquals(field, TRUE)) {
+                return 1;
+            }
+            return fieldEquals(field, FALSE) ? 0 : -1;
+        }
+
+        /**
+         * @return the integer value of the field, or Long.MIN_VALUE if it is not an integer
+         */
+        private long parseInteger(int field) {
+            int i = fieldStarts[field];
+            int to = fieldEnds[field];
+            boolean negative = i < to && buffer.get(i) == '-';
+            if (negative) {
+                i++;
+            }
+            if (i == to || to - i > 18) {
+                return Long.MIN_VALUE;
+            }
+            long value = 0;
+            for (; i < to; i++) {
+                int digit = buffer.get(i) - '0';
+                if (digit < 0 || digit > 9) {
+                    return Long.MIN_VALUE;
+                }
+                value = value * 10 + digit;
+            }
+            return negative ? -value : value;
+        }
+
+        /**
+         * Parses a decimal number such as 14.99. Numbers with up to 15 significant digits are parsed from the
+         * bytes, dividing the exact mantissa by an exact power of ten, which gives the same double as
+         * Double.parseDouble; longer ones are handed to Double.parseDouble.
+         *
+         * @return the value of the field, or NaN if it is not a decimal number
+         */
+        private double parseDecimal(int field) {
+            int i = fieldStarts[field];
+            int to = fieldEnds[field];
+            boolean negative = i < to && buffer.get(i) == '-';
+            if (negative) {
+                i++;
+            }
+            long mantissa = 0;
+            int digits = 0;
+            int decimals = -1;
+            for (; i < to; i++) {
+                byte b = buffer.get(i);
+                if (b == '.' && decimals == -1) {
+                    decimals = 0;
+                    continue;
+                }
+                if (b < '0' || b > '9') {
+                    return Double.NaN;
+                }
+                if (digits == 15) {
+                    try {
+                        return Double.parseDouble(string(field));
+                    } catch (NumberFormatException e) {
+                        return Double.NaN;
+                    }
+                }
+                mantissa = mantissa * 10 + (b - '0');
+                digits++;
+                if (decimals != -1) {
+                    decimals++;
+                }
+            }
+            if (digits == 0) {
+                return Double.NaN;
+            }
+            double value = (decimals > 0) ? mantissa / POWERS_OF_TEN[decimals] : mantissa;
+            return negative ? -value : value;
+        }
+
+        /**
+         * @return the date of a yyyy-MM-dd field, or null if the field is empty. The year may have a sign and more
+         *         than four digits, e.g. -0044-03-15 or +10000-01-01
+         * @throws DateTimeException if the field is not a valid date
+         */
+        private LocalDate parseDate(int field) {
+            int from = fieldStarts[field];
+            if (fieldEnds[field] == from) {
+                return null;
+            }
+            int end = fieldEnds[field];
+            int sign = buffer.get(from);
+            int yearFrom = (sign == '-' || sign == '+') ? from + 1 : from;
+            int yearLength = end - 6 - yearFrom;
+            if (yearLength < 4 || yearLength > 9 || buffer.get(end - 6) != '-' || buffer.get(end - 3) != '-') {
+                throw new DateTimeException(ERR_MALFORMED_ROW);
+            }
+            int year = digits(yearFrom, yearLength);
+            return LocalDate.of(sign == '-' ? -year : year, digits(end - 5, 2), digits(end - 2, 2));
+        }
+
+        private int digits(int from, int count) {
+            int value = 0;
+            for (int i = from; i < from + count; i++) {
+                int digit = buffer.get(i) - '0';
+                if (digit < 0 || digit > 9) {
+                    throw new DateTimeException(ERR_MALFORMED_ROW);
+                }
+                value = value * 10 + digit;
+            }
+            return value;
+        }
+    }
+
+}
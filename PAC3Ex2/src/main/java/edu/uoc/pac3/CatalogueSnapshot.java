@@ -0,0 +1,447 @@
+/**
+ * Implementation of the catalogueSnapshot class
+ * This class saves a catalogue of albums, with their covers and tracks, in a versioned binary file and opens it
+ * again with FileChannel.map, so a restarted service can serve reads from the mapped file and only build the Album
+ * objects which are actually requested.
+ *
+ * The file has four sections (all numbers are big-endian):
+ *   header: magic, version, album count, track count and the offsets of the other sections
+ *   album table: one fixed-width record per album, with the price in thousandths as Album keeps it
+ *   track table: one fixed-width record per track, the tracks of each album stored together
+ *   string heap: every distinct string once, as its UTF-8 length followed by its bytes
+ * @author Ricard Santiago Raigada García
+ * @version 1.0
+ * @date 30/04/2023
+ */
+
+package edu.uoc.pac3;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.time.LocalDate;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.atomic.AtomicReferenceArray;
+
+public class CatalogueSnapshot {
+
+    public static final String ERR_NOT_A_SNAPSHOT = "[ERROR] The file is not a catalogue snapshot";
+    public static final String ERR_UNSUPPORTED_VERSION = "[ERROR] The version of the catalogue snapshot is not supported";
+    public static final String ERR_TOO_LARGE = "[ERROR] A section of the catalogue snapshot is larger than 2 GB";
+
+    private static final int MAGIC = 0x44495343;
+    // Version 2 stores the price as a long in thousandths instead of a double
+    private static final int VERSION = 2;
+    private static final int HEADER_SIZE = 64;
+    private static final int NO_STRING = -1;
+    private static final long NO_DATE = Long.MIN_VALUE;
+    private static final int FLAG_ONLINE = 1;
+
+    private static final int ALBUM_RECORD_SIZE = 80;
+    private static final int ALBUM_ID_MSB = 0;
+    private static final int ALBUM_ID_LSB = 8;
+    private static final int ALBUM_RELEASE_DATE = 16;
+    private static final int ALBUM_PRICE = 24;
+    private static final int ALBUM_TOTAL_DURATION = 32;
+    private static final int ALBUM_TITLE = 40;
+    private static final int ALBUM_ARTIST = 44;
+    private static final int ALBUM_GENRE = 48;
+    private static final int ALBUM_COVER_NAME = 52;
+    private static final int ALBUM_COVER_ARTIST = 56;
+    private static final int ALBUM_COVER_WIDTH = 60;
+    private static final int ALBUM_COVER_HEIGHT = 64;
+    private static final int ALBUM_FIRST_TRACK = 68;
+    private static final int ALBUM_TRACK_COUNT = 72;
+    private static final int ALBUM_FLAGS = 76;
+
+    private static final int TRACK_RECORD_SIZE = 16;
+    private static final int TRACK_SLOT = 0;
+    private static final int TRACK_NAME = 4;
+    private static final int TRACK_COMPOSER = 8;
+    private static final int TRACK_DURATION = 12;
+
+    private final int albumCount;
+    private final int trackCount;
+    private final MappedByteBuffer albumTable;
+    private final MappedByteBuffer trackTable;
+    private final MappedByteBuffer heap;
+    private final AtomicReferenceArray<Album> albums;
+
+    private CatalogueSnapshot(int albumCount, int trackCount, MappedByteBuffer albumTable,
+                              MappedByteBuffer trackTable, MappedByteBuffer heap) {
+        this.albumCount = albumCount;
+        this.trackCount = trackCount;
+        this.albumTable = albumTable;
+        this.trackTable = trackTable;
+        this.heap = heap;
+        this.albums = new AtomicReferenceArray<>(albumCount);
+    }
+
+    /**
+     * Saves a list of albums, with their covers and tracks, in a snapshot file.
+     *
+     * @param file the file to write; it is replaced if it exists
+     * @param albums the albums to save
+     * @throws IOException if the file cannot be written
+     */
+    public static void write(Path file, List<Album> albums) throws IOException {
+        StringHeap strings = new StringHeap();
+        int tracks = 0;
+        for (Album album : albums) {
+            for (Track track : album.getTracks()) {
+                if (track != null) {
+                    tracks++;
+                }
+            }
+        }
+        long albumTableOffset = HEADER_SIZE;
+        long trackTableOffset = albumTableOffset + (long) albums.size() * ALBUM_RECORD_SIZE;
+        long heapOffset = trackTableOffset + (long) tracks * TRACK_RECORD_SIZE;
+
+        try (FileChannel channel = FileChannel.open(file, StandardOpenOption.CREATE, StandardOpenOption.WRITE,
+                StandardOpenOption.TRUNCATE_EXISTING)) {
+            ByteBuffer buffer = ByteBuffer.allocateDirect(64 * 1024);
+            buffer.putInt(MAGIC).putInt(VERSION).putInt(albums.size()).putInt(tracks);
+            buffer.putLong(albumTableOffset).putLong(trackTableOffset).putLong(heapOffset);
+            buffer.position(HEADER_SIZE);
+
+            int firstTrack = 0;
+            for (Album album : albums) {
+                flushIfFull(channel, buffer, ALBUM_RECORD_SIZE);
+                int albumTracks = 0;
+                for (Track track : album.getTracks()) {
+                    if (track != null) {
+                        albumTracks++;
+                    }
+                }
+                AlbumCover cover = album.getAlbumCover();
+                LocalDate releaseDate = album.getReleaseDate();
+                buffer.putLong(album.getId().getMostSignificantBits());
+                buffer.putLong(album.getId().getLeastSignificantBits());
+                buffer.putLong(releaseDate == null ? NO_DATE : releaseDate.toEpochDay());
+                buffer.putLong(album.getPriceMills());
+                buffer.putLong(album.getTotalDurationSeconds());
+                buffer.putInt(strings.add(album.getTitle()));
+                buffer.putInt(strings.add(album.getArtist()));
+                buffer.putInt(strings.add(album.getGenre()));
+                buffer.putInt(cover == null ? NO_STRING : strings.add(cover.getName()));
+                buffer.putInt(cover == null ? NO_STRING : strings.add(cover.getArtist()));
+                buffer.putInt(cover == null ? 0 : cover.getWidth());
+                buffer.putInt(cover == null ? 0 : cover.getHeight());
+                buffer.putInt(firstTrack);
+                buffer.putInt(albumTracks);
+                buffer.putInt(album.isAvailableOnline() ? FLAG_ONLINE : 0);
+                firstTrack += albumTracks;
+            }
+            for (Album album : albums) {
+                Track[] slots = album.getTracks();
+                for (int slot = 0; slot < slots.length; slot++) {
+                    Track track = slots[slot];
+                    if (track != null) {
+                        flushIfFull(channel, buffer, TRACK_RECORD_SIZE);
+                        buffer.putInt(slot);
+                        buffer.putInt(strings.add(track.getName()));
+                        buffer.putInt(strings.add(track.getComposer()));
+                        buffer.putInt(track.getDuration());
+                    }
+                }
+            }
+            flush(channel, buffer);
+            strings.writeTo(channel);
+        }
+    }
+
+    /**
+     * Writes the buffer to the channel if it does not have room for another record.
+     */
+    private static void flushIfFull(FileChannel channel, ByteBuffer buffer, int recordSize) throws IOException {
+        if (buffer.remaining() < recordSize) {
+            flush(channel, buffer);
+        }
+    }
+
+    /**
+     * Writes the content of the buffer to the channel and empties it.
+     */
+    private static void flush(FileChannel channel, ByteBuffer buffer) throws IOException {
+        buffer.flip();
+        while (buffer.hasRemaining()) {
+            channel.write(buffer);
+        }
+        buffer.clear();
+    }
+
+    /**
+     * Opens a snapshot file. Its sections are mapped into memory; no album is built until it is requested.
+     *
+     * @param file the snapshot file
+     * @return the snapshot
+     * @throws IOException if the file cannot be read, is not a snapshot or has an unsupported version
+     */
+    public static CatalogueSnapshot open(Path file) throws IOException {
+        try (FileChannel channel = FileChannel.open(file, StandardOpenOption.READ)) {
+            ByteBuffer header = ByteBuffer.allocate(HEADER_SIZE);
+            while (header.hasRemaining() && channel.read(header) > 0) {
+                // keep reading until the header is complete
+            }
+            header.flip();
+            if (header.remaining() < HEADER_SIZE || header.getInt() != MAGIC) {
+                throw new IOException(ERR_NOT_A_SNAPSHOT);
+            }
+            if (header.getInt() != VERSION) {
+                throw new IOException(ERR_UNSUPPORTED_VERSION);
+            }
+            int albumCount = header.getInt();
+            int trackCount = header.getInt();
+            long albumTableOffset = header.getLong();
+            long trackTableOffset = header.getLong();
+            long heapOffset = header.getLong();
+            return new CatalogueSnapshot(albumCount, trackCount,
+                    map(channel, albumTableOffset, trackTableOffset),
+                    map(channel, trackTableOffset, heapOffset),
+                    map(channel, heapOffset, channel.size()));
+        }
+    }
+
+    private static MappedByteBuffer map(FileChannel channel, long from, long to) throws IOException {
+        if (to - from > Integer.MAX_VALUE) {
+            throw new IOException(ERR_TOO_LARGE);
+        }
+        if (from < HEADER_SIZE || to < from || to > channel.size()) {
+            throw new IOException(ERR_NOT_A_SNAPSHOT);
+        }
+        return channel.map(FileChannel.MapMode.READ_ONLY, from, to - from);
+    }
+
+    /**
+     * Returns the number of albums of the snapshot.
+     *
+     * @return the number of albums
+     */
+    public int size() {
+        return albumCount;
+    }
+
+    /**
+     * Returns the number of tracks of all the albums of the snapshot.
+     *
+     * @return the number of tracks
+     */
+    public int getTrackCount() {
+        return trackCount;
+    }
+
+    /**
+     * Returns an album of the snapshot. It is built the first time it is requested; later calls return
+     * the same object.
+     *
+     * @param index the position of the album in the list which was saved
+     * @return the album, with its cover and tracks
+     * @throws Exception if the saved album is not valid any more
+     */
+    public Album getAlbum(int index) throws Exception {
+        Album album = albums.get(index);
+        if (album == null) {
+            albums.compareAndSet(index, null, readAlbum(index));
+            album = albums.get(index);
+        }
+        return album;
+    }
+
+    private Album readAlbum(int index) throws Exception {
+        int record = recordOffset(index);
+        LocalDate releaseDate = getReleaseDate(index);
+        // A formatted artist such as The-Beatles is only accepted by setArtist with spaces between the words
+        Album album = new Album(getTitle(index), getArtist(index).replace('-', ' '), getGenre(index));
+        album.setReleaseDate(releaseDate);
+        boolean availableOnline = isAvailableOnline(index);
+        long priceMills = getPriceMills(index);
+        ValidationError error = Album.validatePriceMills(priceMills, availableOnline);
+        if (error != null) {
+            throw error.getException();
+        }
+        album.setPricing(availableOnline, priceMills);
+        album.setId(getId(index));
+        int coverName = albumTable.getInt(record + ALBUM_COVER_NAME);
+        if (coverName != NO_STRING) {
+            album.setAlbumCover(readString(coverName), readString(albumTable.getInt(record + ALBUM_COVER_ARTIST)),
+                    albumTable.getInt(record + ALBUM_COVER_WIDTH), albumTable.getInt(record + ALBUM_COVER_HEIGHT));
+        }
+        int firstTrack = albumTable.getInt(record + ALBUM_FIRST_TRACK);
+        int tracks = albumTable.getInt(record + ALBUM_TRACK_COUNT);
+        for (int i = firstTrack; i < firstTrack + tracks; i++) {
+            int track = i * TRACK_RECORD_SIZE;
+            album.restoreTrack(trackTable.getInt(track + TRACK_SLOT),
+                    new Track(readString(trackTable.getInt(track + TRACK_NAME)),
+                            trackTable.getInt(track + TRACK_DURATION),
+                            readString(trackTable.getInt(track + TRACK_COMPOSER))));
+        }
+        return album;
+    }
+
+    /**
+     * Returns the ID of an album, read from the mapped file.
+     *
+     * @param index the position of the album
+     * @return the unique identifier of the album
+     */
+    public UUID getId(int index) {
+        int record = recordOffset(index);
+        return new UUID(albumTable.getLong(record + ALBUM_ID_MSB), albumTable.getLong(record + ALBUM_ID_LSB));
+    }
+
+    /**
+     * Returns the title of an album, read from the mapped file.
+     *
+     * @param index the position of the album
+     * @return the title of the album
+     */
+    public String getTitle(int index) {
+        return readString(albumTable.getInt(recordOffset(index) + ALBUM_TITLE));
+    }
+
+    /**
+     * Returns the formatted artist of an album, read from the mapped file.
+     *
+     * @param index the position of the album
+     * @return the artist of the album
+     */
+    public String getArtist(int index) {
+        return readString(albumTable.getInt(recordOffset(index) + ALBUM_ARTIST));
+    }
+
+    /**
+     * Returns the genre of an album, read from the mapped file.
+     *
+     * @param index the position of the album
+     * @return the genre of the album
+     */
+    public String getGenre(int index) {
+        return readString(albumTable.getInt(recordOffset(index) + ALBUM_GENRE));
+    }
+
+    /**
+     * Returns the release date of an album, read from the mapped file.
+     *
+     * @param index the position of the album
+     * @return the release date of the album, or null if it has none
+     */
+    public LocalDate getReleaseDate(int index) {
+        long epochDay = albumTable.getLong(recordOffset(index) + ALBUM_RELEASE_DATE);
+        return (epochDay == NO_DATE) ? null : LocalDate.ofEpochDay(epochDay);
+    }
+
+    /**
+     * Returns whether an album is available online, read from the mapped file.
+     *
+     * @param index the position of the album
+     * @return true if the album is available online, false otherwise
+     */
+    public boolean isAvailableOnline(int index) {
+        return (albumTable.getInt(recordOffset(index) + ALBUM_FLAGS) & FLAG_ONLINE) != 0;
+    }
+
+    /**
+     * Returns the price of an album, read from the mapped file.
+     *
+     * @param index the position of the album
+     * @return the price of the album
+     */
+    public double getPrice(int index) {
+        return getPriceMills(index) / 1000.0;
+    }
+
+    /**
+     * Returns the price of an album in thousandths of the currency unit, read from the mapped file.
+     *
+     * @param index the position of the album
+     * @return the price of the album in thousandths, e.g. 14990 for 14.99
+     */
+    public long getPriceMills(int index) {
+        return albumTable.getLong(recordOffset(index) + ALBUM_PRICE);
+    }
+
+    /**
+     * Returns the total duration of the tracks of an album, read from the mapped file.
+     *
+     * @param index the position of the album
+     * @return the total duration in seconds
+     */
+    public long getTotalDurationSeconds(int index) {
+        return albumTable.getLong(recordOffset(index) + ALBUM_TOTAL_DURATION);
+    }
+
+    /**
+     * Returns the number of tracks of an album, read from the mapped file.
+     *
+     * @param index the position of the album
+     * @return the number of tracks
+     */
+    public int getTrackCount(int index) {
+        return albumTable.getInt(recordOffset(index) + ALBUM_TRACK_COUNT);
+    }
+
+    private int recordOffset(int index) {
+        if (index < 0 || index >= albumCount) {
+            throw new IndexOutOfBoundsException(Album.ERR_WRONG_INDEX);
+        }
+        return index * ALBUM_RECORD_SIZE;
+    }
+
+    private String readString(int offset) {
+        if (offset == NO_STRING) {
+            return null;
+        }
+        int length = heap.getInt(offset);
+        byte[] bytes = new byte[length];
+        ByteBuffer view = heap.duplicate();
+        view.position(offset + 4);
+        view.get(bytes);
+        return new String(bytes, StandardCharsets.UTF_8);
+    }
+
+    /**
+     * The string heap being written: every distinct string once, with its offset.
+     */
+    private static class StringHeap {
+        private final Map<String, Integer> offsets = new HashMap<>();
+        private final ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+
+        int add(String value) throws IOException {
+            if (value == null) {
+                return NO_STRING;
+            }
+            Integer offset = offsets.get(value);
+            if (offset == null) {
+                offset = bytes.size();
+                byte[] encoded = value.getBytes(StandardCharsets.UTF_8);
+                if ((long) offset + 4 + encoded.length > Integer.MAX_VALUE) {
+                    throw new IOException(ERR_TOO_LARGE);
+                }
+                bytes.write(encoded.length >>> 24);
+                bytes.write(encoded.length >>> 16);
+                bytes.write(encoded.length >>> 8);
+                bytes.write(encoded.length);
+                bytes.write(encoded);
+                offsets.put(value, offset);
+            }
+            return offset;
+        }
+
+        void writeTo(FileChannel channel) throws IOException {
+            ByteBuffer buffer = ByteBuffer.wrap(bytes.toByteArray());
+            while (buffer.hasRemaining()) {
+                channel.write(buffer);
+            }
+        }
+    }
+
+}
@@ -0,0 +1,195 @@
+/**
+ * Implementation of the concurrentAlbum class
+ * This class gives thread-safe access to the tracks of an album. Every change runs under a lock, so checks such
+ * as the duplicate check of addTrack and the change they guard are atomic. After each change, and still under
+ * the lock, an immutable copy of the slots and of the total duration is published through a volatile field.
+ * Readers only read that copy: they take no lock and never look at the album while a writer is changing it.
+ * While an album is wrapped, its tracks must only be changed through the wrapper; changing the name, composer or
+ * duration of one of its tracks from another thread is not covered by the lock.
+ * @author Ricard Santiago Raigada García
+ * @version 1.0
+ * @date 30/04/2023
+ */
+
+package edu.uoc.pac3;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.util.concurrent.locks.ReentrantLock;
+
+public class ConcurrentAlbum {
+
+    private final Album album;
+    private final ReentrantLock lock = new ReentrantLock();
+    private volatile Snapshot snapshot;
+
+    /**
+     * This constructor wraps an album. The album should not be used directly while it is wrapped.
+     *
+     * @param album the album to wrap
+     */
+    public ConcurrentAlbum(Album album) {
+        this.album = album;
+        this.snapshot = new Snapshot(album);
+    }
+
+    /**
+     * Returns the wrapped album, e.g. to read its title or artist. Its tracks must not be changed through it.
+     *
+     * @return the wrapped album
+     */
+    public Album getAlbum() {
+        return album;
+    }
+
+    /**
+     * Adds a track to the first empty slot of the album, atomically with the check that it is not already there.
+     *
+     * @param track the Track object to add to the album
+     * @throws Exception if the track, or a track equal to it, already exists on the album or if the album is full
+     */
+    public void addTrack(Track track) throws Exception {
+        lock.lock();
+        try {
+            album.addTrack(track);
+        } finally {
+            publish();
+        }
+    }
+
+    /**
+     * Removes a track, or the track equal to it, from the album.
+     *
+     * @param track the track to be removed
+     */
+    public void removeTrack(Track track) {
+        lock.lock();
+        try {
+            album.removeTrack(track);
+        } finally {
+            publish();
+        }
+    }
+
+    /**
+     * Swaps the positions of two tracks on the album.
+     *
+     * @param track1 the first track to be swapped
+     * @param track2 the second track to be swapped
+     * @throws Exception if one or both of the tracks do not exist on the album
+     */
+    public void swapTracks(Track track1, Track track2) throws Exception {
+        lock.lock();
+        try {
+            album.swapTracks(track1, track2);
+        } finally {
+            publish();
+        }
+    }
+
+    /**
+     * Removes all tracks from the album.
+     */
+    public void emptyAlbum() {
+        lock.lock();
+        try {
+            album.emptyAlbum();
+        } finally {
+            publish();
+        }
+    }
+
+    /**
+     * Returns a copy of the tracks of the album, with one position per slot (null if the slot is empty).
+     *
+     * @return an array of Track objects
+     */
+    public Track[] getTracks() {
+        return snapshot.tracks.clone();
+    }
+
+    /**
+     * Returns the track at the specified index on the album.
+     *
+     * @param index the index of the track to retrieve
+     * @return the Track object at the specified index, or null if the slot is empty
+     * @throws Exception if the index is out of bounds
+     */
+    public Track getTrack(int index) throws Exception {
+        Track[] tracks = snapshot.tracks;
+        if (index < 0 || index >= tracks.length) {
+            throw ValidationError.WRONG_INDEX.getException();
+        }
+        return tracks[index];
+    }
+
+    /**
+     * Checks if a given track, or a track equal to it, exists on the album.
+     *
+     * @param track the Track object to check for
+     * @return true if the track exists on the album, false otherwise
+     */
+    public boolean isInTheAlbum(Track track) {
+        if (track == null) {
+            return false;
+        }
+        int hash = track.hashCode();
+        for (Track other : snapshot.tracks) {
+            if (other != null && other.hashCode() == hash && other.equals(track)) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    /**
+     * Returns the total duration of all tracks on the album in seconds.
+     *
+     * @return the total duration in seconds
+     */
+    public long getTotalDurationSeconds() {
+        return snapshot.totalDurationSeconds;
+    }
+
+    /**
+     * Returns the total duration of all tracks on the album as a formatted string (HH:mm:ss). The string is
+     * built from a consistent total without touching the memoised string of the album.
+     *
+     * @return the total duration of all tracks on the album as a formatted string (HH:mm:ss)
+     */
+    public String getTotalDuration() {
+        StringBuilder sb = new StringBuilder(8);
+        try {
+            TextFormat.appendDuration(sb, getTotalDurationSeconds());
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+        return sb.toString();
+    }
+
+    /**
+     * Publishes a copy of the current state of the album and releases the lock. It runs even if the change
+     * failed, since a change may fail after having modified the album.
+     */
+    private void publish() {
+        try {
+            snapshot = new Snapshot(album);
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    /**
+     * An immutable copy of the slots of the album and of their total duration, taken under the lock.
+     */
+    private static final class Snapshot {
+        private final Track[] tracks;
+        private final long totalDurationSeconds;
+
+        Snapshot(Album album) {
+            this.tracks = album.getTracks();
+            this.totalDurationSeconds = album.getTotalDurationSeconds();
+        }
+    }
+
+}
\ No newline at end of file
@@ -0,0 +1,214 @@
+/**
+ * Implementation of the coverIndex class
+ * This class indexes album covers by aspect ratio and, within a ratio, by the length of their shortest side in a
+ * concurrent skip list, so queries such as "all the 1:1 covers of at least 600px" only visit the covers they return.
+ * Each cover keeps the indexes which contain it, so setWidth and setHeight on an indexed cover move it to its new
+ * ratio and size, and an index is no longer reachable from a cover once the cover has been removed. Queries can
+ * run concurrently with updates, which are serialised.
+ * @author Ricard Santiago Raigada García
+ * @version 1.0
+ * @date 30/04/2023
+ */
+
+package edu.uoc.pac3;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentSkipListMap;
+
+public class CoverIndex {
+
+    private final ConcurrentHashMap<AspectRatio, ConcurrentSkipListMap<Integer, Set<AlbumCover>>> byRatio =
+            new ConcurrentHashMap<>();
+    private volatile int size = 0;
+
+    /**
+     * Adds an album cover to the index.
+     *
+     * @param cover the album cover to add
+     * @return true if the cover has been added, false if it was already in the index
+     */
+    public boolean add(AlbumCover cover) {
+        synchronized (cover) {
+            synchronized (this) {
+                CoverIndex[] owners = cover.getCoverIndexes();
+                if (indexOf(owners, this) >= 0) {
+                    return false;
+                }
+                if (owners == null) {
+                    owners = new CoverIndex[]{this};
+                } else {
+                    owners = Arrays.copyOf(owners, owners.length + 1);
+                    owners[owners.length - 1] = this;
+                }
+                cover.setCoverIndexes(owners);
+                put(cover, cover.getWidth(), cover.getHeight());
+                size++;
+                return true;
+            }
+        }
+    }
+
+    /**
+     * Removes an album cover from the index.
+     *
+     * @param cover the album cover to remove
+     * @return true if the cover has been removed, false if it was not in the index
+     */
+    public boolean remove(AlbumCover cover) {
+        synchronized (cover) {
+            synchronized (this) {
+                CoverIndex[] owners = cover.getCoverIndexes();
+                int index = indexOf(owners, this);
+                if (index < 0) {
+                    return false;
+                }
+                if (owners.length == 1) {
+                    cover.setCoverIndexes(null);
+                } else {
+                    CoverIndex[] remaining = new CoverIndex[owners.length - 1];
+                    System.arraycopy(owners, 0, remaining, 0, index);
+                    System.arraycopy(owners, index + 1, remaining, index, remaining.length - index);
+                    cover.setCoverIndexes(remaining);
+                }
+                delete(cover, cover.getWidth(), cover.getHeight());
+                size--;
+                return true;
+            }
+        }
+    }
+
+    /**
+     * Checks if an album cover is in the index.
+     *
+     * @param cover the album cover to look for
+     * @return true if the cover is in the index, false otherwise
+     */
+    public boolean contains(AlbumCover cover) {
+        return cover != null && indexOf(cover.getCoverIndexes(), this) >= 0;
+    }
+
+    /**
+     * Returns the number of album covers in the index.
+     *
+     * @return the number of covers
+     */
+    public int size() {
+        return size;
+    }
+
+    /**
+     * Returns the aspect ratios of the covers in the index.
+     *
+     * @return a new list with the ratios, in no particular order
+     */
+    public List<AspectRatio> getRatios() {
+        List<AspectRatio> ratios = new ArrayList<>();
+        for (Map.Entry<AspectRatio, ConcurrentSkipListMap<Integer, Set<AlbumCover>>> entry : byRatio.entrySet()) {
+            if (!entry.getValue().isEmpty()) {
+                ratios.add(entry.getKey());
+            }
+        }
+        return ratios;
+    }
+
+    /**
+     * Returns the covers with an aspect ratio whose shortest side is at least the given size, sorted by that size.
+     *
+     * @param ratio the aspect ratio, e.g. AspectRatio.of(1, 1)
+     * @param minSize the minimum length in pixels of the shortest side
+     * @return a new list with the covers, empty if there is none
+     */
+    public List<AlbumCover> getCovers(AspectRatio ratio, int minSize) {
+        List<AlbumCover> covers = new ArrayList<>();
+        for (Set<AlbumCover> band : tail(ratio, minSize).values()) {
+            covers.addAll(band);
+        }
+        return covers;
+    }
+
+    /**
+     * Counts the covers with an aspect ratio whose shortest side is at least the given size.
+     *
+     * @param ratio the aspect ratio, e.g. AspectRatio.of(16, 9)
+     * @param minSize the minimum length in pixels of the shortest side
+     * @return the number of covers
+     */
+    public int countCovers(AspectRatio ratio, int minSize) {
+        int count = 0;
+        for (Set<AlbumCover> band : tail(ratio, minSize).values()) {
+            count += band.size();
+        }
+        return count;
+    }
+
+    /**
+     * Counts the covers with an aspect ratio, whatever their size.
+     *
+     * @param ratio the aspect ratio
+     * @return the number of covers
+     */
+    public int countCovers(AspectRatio ratio) {
+        return countCovers(ratio, 0);
+    }
+
+    /**
+     * Moves a cover whose width or height has changed. Called by AlbumCover, under the monitor of the cover, after
+     * the new dimensions have been set. A cover which is no longer in the index is left alone.
+     *
+     * @param cover the resized album cover
+     * @param oldWidth the width before the change
+     * @param oldHeight the height before the change
+     */
+    synchronized void update(AlbumCover cover, int oldWidth, int oldHeight) {
+        if (indexOf(cover.getCoverIndexes(), this) < 0) {
+            return;
+        }
+        delete(cover, oldWidth, oldHeight);
+        put(cover, cover.getWidth(), cover.getHeight());
+    }
+
+    private void put(AlbumCover cover, int width, int height) {
+        byRatio.computeIfAbsent(AspectRatio.of(width, height), k -> new ConcurrentSkipListMap<>())
+                .computeIfAbsent(Math.min(width, height), k -> ConcurrentHashMap.newKeySet())
+                .add(cover);
+    }
+
+    private void delete(AlbumCover cover, int width, int height) {
+        ConcurrentSkipListMap<Integer, Set<AlbumCover>> sizes = byRatio.get(AspectRatio.of(width, height));
+        if (sizes == null) {
+            return;
+        }
+        Integer size = Math.min(width, height);
+        Set<AlbumCover> band = sizes.get(size);
+        if (band != null && band.remove(cover) && band.isEmpty()) {
+            sizes.remove(size, band);
+        }
+    }
+
+    private Map<Integer, Set<AlbumCover>> tail(AspectRatio ratio, int minSize) {
+        ConcurrentSkipListMap<Integer, Set<AlbumCover>> sizes = byRatio.get(ratio);
+        if (sizes == null) {
+            return Collections.emptyMap();
+        }
+        return sizes.tailMap(minSize, true);
+    }
+
+    private static int indexOf(CoverIndex[] owners, CoverIndex index) {
+        if (owners == null) {
+            return -1;
+        }
+        for (int i = 0; i < owners.length; i++) {
+            if (owners[i] == index) {
+                return i;
+            }
+        }
+        return -1;
+    }
+
+}
@@ -0,0 +1,128 @@
+/**
+ * Implementation of the coverPixels class
+ * This class holds the pixels of an album cover image as 32-bit ARGB values in a direct ByteBuffer, so the pixel
+ * data of large covers lives outside the Java heap. Its resolution follows the same rules as AlbumCover.
+ * @author Ricard Santiago Raigada García
+ * @version 1.0
+ * @date 30/04/2023
+ */
+
+package edu.uoc.pac3;
+
+import java.nio.ByteBuffer;
+
+public class CoverPixels {
+
+    private static final int BYTES_PER_PIXEL = 4;
+
+    private final int width;
+    private final int height;
+    private final ByteBuffer pixels;
+
+    /**
+     *
+     * This constructor creates an image of the given size with all its pixels transparent black
+     * @param width the width of the image
+     * @param height the height of the image
+     * @throws Exception if the width or the height is less than or equal to 0, or if the resolution exceeds the
+     *                      maximum resolution of an album cover
+     */
+    public CoverPixels(int width, int height) throws Exception {
+        ValidationError error = AlbumCover.validateResolution(width, height);
+        if (error != null) {
+            throw error.getException();
+        }
+        this.width = width;
+        this.height = height;
+        this.pixels = ByteBuffer.allocateDirect(width * height * BYTES_PER_PIXEL);
+    }
+
+    /**
+     *
+     * This method creates an image with the size of an album cover
+     * @param cover the album cover
+     * @return a new image with the width and height of the cover
+     * @throws Exception if the resolution of the cover is not valid
+     */
+    public static CoverPixels forCover(AlbumCover cover) throws Exception {
+        return new CoverPixels(cover.getWidth(), cover.getHeight());
+    }
+
+    /**
+     *
+     * This method returns the width of the image
+     * @return the width in pixels
+     */
+    public int getWidth() {
+        return width;
+    }
+
+    /**
+     *
+     * This method returns the height of the image
+     * @return the height in pixels
+     */
+    public int getHeight() {
+        return height;
+    }
+
+    /**
+     *
+     * This method checks if the image has the same size as an album cover
+     * @param cover the album cover
+     * @return true if the width and the height are the same, false otherwise
+     */
+    public boolean matches(AlbumCover cover) {
+        return cover != null && cover.getWidth() == width && cover.getHeight() == height;
+    }
+
+    /**
+     *
+     * This method returns a pixel of the image
+     * @param x the column of the pixel, from 0 to width - 1
+     * @param y the row of the pixel, from 0 to height - 1
+     * @return the ARGB value of the pixel
+     */
+    public int getPixel(int x, int y) {
+        return pixels.getInt(offset(x, y));
+    }
+
+    /**
+     *
+     * This method sets a pixel of the image. Different pixels can be set from different threads at the same time
+     * @param x the column of the pixel, from 0 to width - 1
+     * @param y the row of the pixel, from 0 to height - 1
+     * @param argb the ARGB value of the pixel
+     */
+    public void setPixel(int x, int y, int argb) {
+        pixels.putInt(offset(x, y), argb);
+    }
+
+    /**
+     *
+     * This method sets all the pixels of the image to the same value
+     * @param argb the ARGB value of the pixels
+     */
+    public void fill(int argb) {
+        for (int i = 0; i < pixels.capacity(); i += BYTES_PER_PIXEL) {
+            pixels.putInt(i, argb);
+        }
+    }
+
+    /**
+     *
+     * This method returns a read-only view of the pixels, row by row, with 4 bytes (A, R, G, B) per pixel
+     * @return a read-only buffer which shares the pixels of the image
+     */
+    public ByteBuffer asReadOnlyBuffer() {
+        return pixels.asReadOnlyBuffer();
+    }
+
+    private int offset(int x, int y) {
+        if (x < 0 || x >= width || y < 0 || y >= height) {
+            throw new IndexOutOfBoundsException("Pixel (" + x + ", " + y + ") is outside a " + width + "x" + height + " image");
+        }
+        return (y * width + x) * BYTES_PER_PIXEL;
+    }
+
+}
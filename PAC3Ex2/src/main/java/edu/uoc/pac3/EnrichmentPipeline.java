@@ -0,0 +1,235 @@
+/**
+ * Implementation of the enrichmentPipeline class
+ * This class enriches loaded albums with the covers and tracks of a MetadataService. Each album is fetched by its
+ * own task, on a virtual thread when the JVM has them (Java 21 or later) and on a pooled platform thread otherwise,
+ * so the albums waiting on the service at the same time are bounded by the in-flight window and not by a pool
+ * size. The results are written back into the albums in batches by the calling thread, so the albums are never
+ * modified concurrently, and no new album is fetched while the window is full of unwritten results.
+ * @author Ricard Santiago Raigada García
+ * @version 1.0
+ * @date 30/04/2023
+ */
+
+package edu.uoc.pac3;
+
+import java.lang.reflect.Method;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.LinkedBlockingQueue;
+
+public class EnrichmentPipeline {
+
+    private static final Method NEW_VIRTUAL_THREAD_EXECUTOR = findVirtualThreadExecutor();
+
+    private final MetadataService service;
+    private final int maxInFlight;
+    private final int batchSize;
+
+    /**
+     *
+     * This constructor creates a pipeline which fetches up to 256 albums at the same time and writes them back
+     * in batches of 32
+     * @param service the metadata service
+     */
+    public EnrichmentPipeline(MetadataService service) {
+        this(service, 256, 32);
+    }
+
+    /**
+     *
+     * This constructor creates a pipeline
+     * @param service the metadata service
+     * @param maxInFlight the maximum number of albums fetched or waiting to be written back at the same time
+     * @param batchSize the maximum number of albums written back in a batch
+     */
+    public EnrichmentPipeline(MetadataService service, int maxInFlight, int batchSize) {
+        if (service == null) {
+            throw new NullPointerException("The metadata service cannot be null");
+        }
+        if (maxInFlight <= 0 || batchSize <= 0) {
+            throw new IllegalArgumentException("The in-flight window and the batch size must be positive");
+        }
+        this.service = service;
+        this.maxInFlight = maxInFlight;
+        this.batchSize = batchSize;
+    }
+
+    /**
+     *
+     * This method checks if the tasks run on virtual threads
+     * @return true if the JVM supports virtual threads, false if the tasks run on platform threads
+     */
+    public static boolean usesVirtualThreads() {
+        return NEW_VIRTUAL_THREAD_EXECUTOR != null;
+    }
+
+    /**
+     *
+     * This method fetches the metadata of the albums and writes it into them. An album whose metadata cannot be
+     * fetched or written is reported as failed and does not stop the others; it may have been partially enriched
+     * if only some of its tracks could be added
+     * @param albums the albums to enrich
+     * @return the outcome of the enrichment
+     * @throws InterruptedException if the calling thread is interrupted, in which case the pending fetches are
+     * cancelled
+     */
+    public Result enrich(List<Album> albums) throws InterruptedException {
+        LinkedBlockingQueue<Fetched> fetched = new LinkedBlockingQueue<>();
+        List<Fetched> batch = new ArrayList<>(batchSize);
+        Result result = new Result();
+        ExecutorService executor = newExecutor();
+        try {
+            int inFlight = 0;
+            for (Album album : albums) {
+                if (inFlight == maxInFlight) {
+                    inFlight -= writeBatch(fetched, batch, result);
+                }
+                executor.execute(() -> fetched.add(fetch(album)));
+                inFlight++;
+            }
+            while (inFlight > 0) {
+                inFlight -= writeBatch(fetched, batch, result);
+            }
+        } finally {
+            executor.shutdownNow();
+        }
+        return result;
+    }
+
+    /**
+     *
+     * This method waits for at least one fetched album and writes back up to a batch of them
+     * @param fetched the queue of fetched albums
+     * @param batch a reusable list for the batch
+     * @param result the outcome to update
+     * @return the number of albums written back
+     * @throws InterruptedException if the calling thread is interrupted while waiting
+     */
+    private int writeBatch(LinkedBlockingQueue<Fetched> fetched, List<Fetched> batch, Result result)
+            throws InterruptedException {
+        batch.add(fetched.take());
+        fetched.drainTo(batch, batchSize - 1);
+        for (Fetched item : batch) {
+            Exception error = item.error;
+            if (error == null) {
+                try {
+                    item.metadata.applyTo(item.album);
+                } catch (Exception e) {
+                    error = e;
+                }
+            }
+            if (error == null) {
+                result.enriched++;
+            } else {
+                result.failures.put(item.album, error);
+            }
+        }
+        int written = batch.size();
+        batch.clear();
+        result.batches++;
+        return written;
+    }
+
+    private Fetched fetch(Album album) {
+        try {
+            AlbumMetadata metadata = service.fetch(album);
+            if (metadata == null) {
+                return new Fetched(album, null, new IllegalStateException("No metadata for album " + album.getId()));
+            }
+            return new Fetched(album, metadata, null);
+        } catch (Exception e) {
+            return new Fetched(album, null, e);
+        } catch (Error e) {
+            // Every task must queue a result, or enrich would wait for it forever
+            return new Fetched(album, null, new IllegalStateException(e));
+        }
+    }
+
+    private static ExecutorService newExecutor() {
+        if (NEW_VIRTUAL_THREAD_EXECUTOR != null) {
+            try {
+                return (ExecutorService) NEW_VIRTUAL_THREAD_EXECUTOR.invoke(null);
+            } catch (ReflectiveOperationException e) {
+                // Fall back to platform threads
+            }
+        }
+        // At most maxInFlight tasks are running, so the cached pool never holds more threads than that
+        return Executors.newCachedThreadPool(runnable -> {
+            Thread thread = new Thread(runnable, "album-enrichment");
+            thread.setDaemon(true);
+            return thread;
+        });
+    }
+
+    private static Method findVirtualThreadExecutor() {
+        try {
+            return Executors.class.getMethod("newVirtualThreadPerTaskExecutor");
+        } catch (NoSuchMethodException e) {
+            return null;
+        }
+    }
+
+    /**
+     * An album with its metadata, or with the error which prevented fetching it.
+     */
+    private static final class Fetched {
+
+        private final Album album;
+        private final AlbumMetadata metadata;
+        private final Exception error;
+
+        private Fetched(Album album, AlbumMetadata metadata, Exception error) {
+            this.album = album;
+            this.metadata = metadata;
+            this.error = error;
+        }
+
+    }
+
+    /**
+     * Outcome of an enrichment.
+     */
+    public static final class Result {
+
+        private int enriched = 0;
+        private int batches = 0;
+        private final Map<Album, Exception> failures = new LinkedHashMap<>();
+
+        private Result() {
+        }
+
+        /**
+         * Returns the number of albums enriched.
+         *
+         * @return the number of albums whose metadata was fetched and written
+         */
+        public int getEnriched() {
+            return enriched;
+        }
+
+        /**
+         * Returns the number of batches written back.
+         *
+         * @return the number of batches
+         */
+        public int getBatches() {
+            return batches;
+        }
+
+        /**
+         * Returns the albums which could not be enriched, in the order their results arrived.
+         *
+         * @return an unmodifiable map from each failed album to its error
+         */
+        public Map<Album, Exception> getFailures() {
+            return Collections.unmodifiableMap(failures);
+        }
+
+    }
+
+}
@@ -0,0 +1,25 @@
+/**
+ * Implementation of the metadataService interface
+ * This interface fetches the cover and the track list of an album from a metadata service, usually over the
+ * network. EnrichmentPipeline calls it from many threads at the same time.
+ * @author Ricard Santiago Raigada García
+ * @version 1.0
+ * @date 30/04/2023
+ */
+
+package edu.uoc.pac3;
+
+@FunctionalInterface
+public interface MetadataService {
+
+    /**
+     * Fetches the metadata of an album. It may block while waiting for the service and be called from several
+     * threads at the same time, so it must not modify the album.
+     *
+     * @param album the album to look up
+     * @return the metadata of the album
+     * @throws Exception if the service fails or does not know the album
+     */
+    AlbumMetadata fetch(Album album) throws Exception;
+
+}
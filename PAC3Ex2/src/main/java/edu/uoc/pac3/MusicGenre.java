@@ -0,0 +1,123 @@
+/**
+ * Implementation of the musicGenre enum
+ * This enum lists the genres an album of the catalogue can have. The constants, descriptions, codes and tempos
+ * are the ones of the MusicGenre enum of the next exercise; the label is the text used by the Album String API.
+ * @author Ricard Santiago Raigada García
+ * @version 1.0
+ * @date 30/04/2023
+ */
+
+package edu.uoc.pac3;
+
+public enum MusicGenre {
+    CLASSICAL("Classical Music", 'C', 60, "CLASSICAL"),
+    DISCO("Disco", 'D', 130, "DISCO"),
+    JAZZ("Jazz", 'J', 100, "JAZZ"),
+    POP("Pop Music", 'P', 110, "POP"),
+    ROCK_N_ROLL("Rock & Roll", 'R', 150, "ROCK&ROLL");
+
+    private final String description;
+    private final char code;
+    private final int tempo;
+    private final String label;
+
+    /**
+     * Constructor of MusicGenre enum.
+     *
+     * @param description brief description of the genre
+     * @param code character code of the genre
+     * @param tempo average tempo in bits per minute that characterizes the genre
+     * @param label upper case text of the genre used by the albums
+     */
+    MusicGenre(String description, char code, int tempo, String label) {
+        this.description = description;
+        this.code = code;
+        this.tempo = tempo;
+        this.label = label;
+    }
+
+    /**
+     * Returns the description of the genre.
+     *
+     * @return brief description of the genre
+     */
+    public String getDescription() {
+        return description;
+    }
+
+    /**
+     * Returns the code of the genre.
+     *
+     * @return character code of the genre
+     */
+    public char getCode() {
+        return code;
+    }
+
+    /**
+     * Returns the tempo of the genre.
+     *
+     * @return average tempo in bits per minute that characterizes the genre
+     */
+    public int getTempo() {
+        return tempo;
+    }
+
+    /**
+     * Returns the text of the genre used by the albums, e.g. "ROCK&ROLL".
+     *
+     * @return the upper case label of the genre
+     */
+    public String getLabel() {
+        return label;
+    }
+
+    /**
+     * Parses the label of a genre ignoring the case and the leading and trailing whitespace, without creating
+     * any string. The candidate is chosen by the trimmed length and first letter, so at most one label is compared.
+     *
+     * @param text the text to parse, e.g. " rock&Roll "
+     * @return the MusicGenre with that label, or null if the text does not match any genre
+     */
+    public static MusicGenre parse(String text) {
+        if (text == null) {
+            return null;
+        }
+        int start = 0;
+        int end = text.length();
+        while (start < end && text.charAt(start) <= ' ') {
+            start++;
+        }
+        while (end > start && text.charAt(end - 1) <= ' ') {
+            end--;
+        }
+        MusicGenre candidate;
+        switch (end - start) {
+            case 3:
+                candidate = POP;
+                break;
+            case 4:
+                candidate = JAZZ;
+                break;
+            case 5:
+                candidate = DISCO;
+                break;
+            case 9:
+                switch (text.charAt(start) | 0x20) {
+                    case 'c':
+                        candidate = CLASSICAL;
+                        break;
+                    case 'r':
+                        candidate = ROCK_N_ROLL;
+                        break;
+                    default:
+                        return null;
+                }
+                break;
+            default:
+                return null;
+        }
+        return text.regionMatches(true, start, candidate.label, 0, end - start) ? candidate : null;
+    }
+
+}
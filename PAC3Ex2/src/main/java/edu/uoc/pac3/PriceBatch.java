@@ -0,0 +1,122 @@
+/**
+ * Implementation of the priceBatch class
+ * This class changes the prices or the availability online of many albums at once. The prices are copied to
+ * primitive arrays of thousandths, changed and clamped to the limits of each album in one loop, and written back,
+ * so a batch never throws for a single album: prices out of the limits are clamped and counted instead.
+ * @author Ricard Santiago Raigada García
+ * @version 1.0
+ * @date 30/04/2023
+ */
+
+package edu.uoc.pac3;
+
+import java.util.List;
+
+public final class PriceBatch {
+
+    private PriceBatch() {
+    }
+
+    /**
+     * Changes the prices of the albums by a percentage, e.g. 10 for a 10% rise or -25 for a 25% discount.
+     * The percentage is applied in hundredths of a percent and the new prices are rounded to the nearest thousandth.
+     *
+     * @param albums the albums to reprice
+     * @param percentage the change of the price in percent
+     * @return the number of albums whose price changed and how many of them were clamped to a limit
+     */
+    public static Result reprice(List<Album> albums, double percentage) {
+        int size = albums.size();
+        long[] prices = new long[size];
+        boolean[] online = new boolean[size];
+        gather(albums, prices, online);
+        long factor = 10000 + Math.round(percentage * 100);
+        for (int i = 0; i < size; i++) {
+            prices[i] = Math.floorDiv(prices[i] * factor + 5000, 10000);
+        }
+        return clampAndScatter(albums, prices, online);
+    }
+
+    /**
+     * Makes the albums available or unavailable online. Albums made available online whose price exceeds 80% of
+     * the maximum price are lowered to that limit, as setAvailableOnline does.
+     *
+     * @param albums the albums to change
+     * @param availableOnline true to make them available online, false otherwise
+     * @return the number of albums whose price changed and how many of them were clamped to a limit
+     */
+    public static Result setAvailableOnline(List<Album> albums, boolean availableOnline) {
+        int size = albums.size();
+        long[] prices = new long[size];
+        boolean[] online = new boolean[size];
+        gather(albums, prices, online);
+        for (int i = 0; i < size; i++) {
+            online[i] = availableOnline;
+        }
+        return clampAndScatter(albums, prices, online);
+    }
+
+    private static void gather(List<Album> albums, long[] prices, boolean[] online) {
+        for (int i = 0; i < prices.length; i++) {
+            Album album = albums.get(i);
+            prices[i] = album.getPriceMills();
+            online[i] = album.isAvailableOnline();
+        }
+    }
+
+    private static Result clampAndScatter(List<Album> albums, long[] prices, boolean[] online) {
+        long min = Album.getMinPriceMills();
+        long maxOnline = Album.getMaxPriceMills(true);
+        long maxOffline = Album.getMaxPriceMills(false);
+        int clamped = 0;
+        for (int i = 0; i < prices.length; i++) {
+            long max = online[i] ? maxOnline : maxOffline;
+            long price = Math.max(min, Math.min(max, prices[i]));
+            if (price != prices[i]) {
+                clamped++;
+                prices[i] = price;
+            }
+        }
+        int changed = 0;
+        for (int i = 0; i < prices.length; i++) {
+            Album album = albums.get(i);
+            if (album.getPriceMills() != prices[i]) {
+                changed++;
+            }
+            album.setPricing(online[i], prices[i]);
+        }
+        return new Result(changed, clamped);
+    }
+
+    /**
+     * The outcome of a batch: how many prices changed and how many were clamped to a limit.
+     */
+    public static class Result {
+        private final int changed;
+        private final int clamped;
+
+        Result(int changed, int clamped) {
+            this.changed = changed;
+            this.clamped = clamped;
+        }
+
+        /**
+         * Returns the number of albums whose price changed.
+         *
+         * @return the number of changed prices
+         */
+        public int getChanged() {
+            return changed;
+        }
+
+        /**
+         * Returns the number of albums whose new price was out of its limits and was clamped.
+         *
+         * @return the number of clamped prices
+         */
+        public int getClamped() {
+            return clamped;
+        }
+    }
+
+}
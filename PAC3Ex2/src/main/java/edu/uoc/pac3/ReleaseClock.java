@@ -0,0 +1,89 @@
+/**
+ * Implementation of the releaseClock class
+ * This class gives the current date used to format the release dates of the albums. The clock can be replaced,
+ * e.g. by a fixed clock in tests. The current date is kept together with the interval of milliseconds of that day,
+ * so asking for it only reads the millis of the clock and compares them with the interval; the date is only
+ * computed again when the clock leaves the day, forwards or backwards.
+ * @author Ricard Santiago Raigada García
+ * @version 1.0
+ * @date 30/04/2023
+ */
+
+package edu.uoc.pac3;
+
+import java.time.Clock;
+import java.time.Instant;
+import java.time.LocalDate;
+import java.time.ZoneId;
+import java.util.Objects;
+
+public final class ReleaseClock {
+
+    private static volatile Clock clock = Clock.systemDefaultZone();
+    private static volatile Day today = null;
+
+    private ReleaseClock() {
+    }
+
+    /**
+     * Returns the clock used to know the current date.
+     *
+     * @return the clock, by default the system clock in the default time zone
+     */
+    public static Clock getClock() {
+        return clock;
+    }
+
+    /**
+     * Replaces the clock used to know the current date.
+     *
+     * @param clock the new clock
+     */
+    public static void setClock(Clock clock) {
+        ReleaseClock.clock = Objects.requireNonNull(clock);
+    }
+
+    /**
+     * Restores the system clock in the default time zone.
+     */
+    public static void resetClock() {
+        setClock(Clock.systemDefaultZone());
+    }
+
+    /**
+     * Returns the current date of the clock. The date of the last call is reused while the millis of the clock
+     * are within that day; it is only computed again when the clock is replaced or leaves the day.
+     *
+     * @return the current date
+     */
+    public static LocalDate today() {
+        Clock current = clock;
+        long millis = current.millis();
+        Day day = today;
+        if (day == null || day.clock != current || millis < day.start || millis >= day.end) {
+            day = new Day(current, millis);
+            today = day;
+        }
+        return day.date;
+    }
+
+    /**
+     * A date together with the clock it was read from and the interval of milliseconds of that clock during
+     * which it is the current date.
+     */
+    private static final class Day {
+        private final Clock clock;
+        private final LocalDate date;
+        private final long start;
+        private final long end;
+
+        Day(Clock clock, long millis) {
+            ZoneId zone = clock.getZone();
+            this.clock = clock;
+            this.date = Instant.ofEpochMilli(millis).atZone(zone).toLocalDate();
+            this.start = date.atStartOfDay(zone).toInstant().toEpochMilli();
+            this.end = date.plusDays(1).atStartOfDay(zone).toInstant().toEpochMilli();
+        }
+    }
+
+}
@@ -0,0 +1,157 @@
+/**
+ * Implementation of the releaseDate class
+ * This class holds the release date of an album together with its last formatted text. The relative part of
+ * the text only depends on the current year, so the text is kept until the year of the current date changes.
+ * It also tells the release-date indexes which contain the album when the date changes.
+ * @author Ricard Santiago Raigada García
+ * @version 1.0
+ * @date 30/04/2023
+ */
+
+package edu.uoc.pac3;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.time.LocalDate;
+
+final class ReleaseDate {
+
+    private final Album album;
+    private LocalDate date = null;
+    private volatile Formatted formatted = null;
+    private ReleaseDateIndex[] owners = null;
+
+    /**
+     * This constructor creates an empty release date for an album.
+     *
+     * @param album the album whose release date is held
+     */
+    ReleaseDate(Album album) {
+        this.album = album;
+    }
+
+    /**
+     * Returns the release date.
+     *
+     * @return the release date, or null if the album has none
+     */
+    LocalDate getDate() {
+        return date;
+    }
+
+    /**
+     * Changes the release date. The formatted text is dropped and the indexes are updated only if the date
+     * is different.
+     *
+     * @param date the new release date, or null
+     */
+    void setDate(LocalDate date) {
+        if (date == null ? this.date == null : date.equals(this.date)) {
+            return;
+        }
+        LocalDate oldDate = this.date;
+        this.date = date;
+        formatted = null;
+        if (owners != null) {
+            for (ReleaseDateIndex owner : owners) {
+                owner.update(album, oldDate, date);
+            }
+        }
+    }
+
+    /**
+     * Returns the release date formatted relative to a date, reusing the last text if the year is the same.
+     *
+     * @param today the current date
+     * @return the formatted release date, e.g. "Released on March 25, 2001 (22 years ago)", or null if there is
+     *         no release date
+     */
+    String format(LocalDate today) {
+        if (date == null) {
+            return null;
+        }
+        Formatted current = formatted;
+        if (current == null || current.year != today.getYear()) {
+            StringBuilder sb = new StringBuilder(48);
+            try {
+                TextFormat.appendReleaseDate(sb, date, today);
+            } catch (IOException e) {
+                throw new UncheckedIOException(e);
+            }
+            current = new Formatted(today.getYear(), sb.toString());
+            formatted = current;
+        }
+        return current.text;
+    }
+
+    /**
+     * Registers an index which contains the album.
+     *
+     * @param owner the index
+     */
+    void addOwner(ReleaseDateIndex owner) {
+        if (owners == null) {
+            owners = new ReleaseDateIndex[]{owner};
+            return;
+        }
+        ReleaseDateIndex[] newOwners = new ReleaseDateIndex[owners.length + 1];
+        System.arraycopy(owners, 0, newOwners, 0, owners.length);
+        newOwners[owners.length] = owner;
+        owners = newOwners;
+    }
+
+    /**
+     * Unregisters an index which no longer contains the album.
+     *
+     * @param owner the index
+     */
+    void removeOwner(ReleaseDateIndex owner) {
+        if (owners == null) {
+            return;
+        }
+        for (int i = 0; i < owners.length; i++) {
+            if (owners[i] == owner) {
+                if (owners.length == 1) {
+                    owners = null;
+                } else {
+                    ReleaseDateIndex[] newOwners = new ReleaseDateIndex[owners.length - 1];
+                    System.arraycopy(owners, 0, newOwners, 0, i);
+                    System.arraycopy(owners, i + 1, newOwners, i, owners.length - i - 1);
+                    owners = newOwners;
+                }
+                return;
+            }
+        }
+    }
+
+    /**
+     * Checks if an index contains the album.
+     *
+     * @param owner the index
+     * @return true if the index is registered, false otherwise
+     */
+    boolean hasOwner(ReleaseDateIndex owner) {
+        if (owners != null) {
+            for (ReleaseDateIndex other : owners) {
+                if (other == owner) {
+                    return true;
+                }
+            }
+        }
+        return false;
+    }
+
+    /**
+     * A formatted text together with the current year it was formatted for.
+     */
+    private static final class Formatted {
+        private final int year;
+        private final String text;
+
+        Formatted(int year, String text) {
+            this.year = year;
+            this.text = text;
+        }
+    }
+
+}
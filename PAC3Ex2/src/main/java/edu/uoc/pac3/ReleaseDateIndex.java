@@ -0,0 +1,215 @@
+/**
+ * Implementation of the releaseDateIndex class
+ * This class indexes albums by the epoch day of their release date in a concurrent skip list, so date ranges,
+ * upcoming releases and per-year or per-month counts are answered from the sorted keys instead of scanning every
+ * album. Albums without a release date are kept aside and indexed as soon as they get one; setReleaseDate on an
+ * indexed album moves it to its new day. Queries can run concurrently with updates, which are serialised.
+ * @author Ricard Santiago Raigada García
+ * @version 1.0
+ * @date 30/04/2023
+ */
+
+package edu.uoc.pac3;
+
+import java.time.LocalDate;
+import java.time.YearMonth;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.NavigableMap;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentSkipListMap;
+
+public class ReleaseDateIndex {
+
+    private final ConcurrentSkipListMap<Long, Set<Album>> byDay = new ConcurrentSkipListMap<>();
+    private final Set<Album> undated = ConcurrentHashMap.newKeySet();
+    private volatile int size = 0;
+
+    /**
+     * Adds an album to the index.
+     *
+     * @param album the album to add
+     * @return true if the album has been added, false if it was already in the index
+     */
+    public synchronized boolean add(Album album) {
+        ReleaseDate holder = album.getReleaseDateHolder();
+        if (holder.hasOwner(this)) {
+            return false;
+        }
+        holder.addOwner(this);
+        put(album, holder.getDate());
+        size++;
+        return true;
+    }
+
+    /**
+     * Removes an album from the index.
+     *
+     * @param album the album to remove
+     * @return true if the album has been removed, false if it was not in the index
+     */
+    public synchronized boolean remove(Album album) {
+        ReleaseDate holder = album.findReleaseDateHolder();
+        if (holder == null || !holder.hasOwner(this)) {
+            return false;
+        }
+        holder.removeOwner(this);
+        delete(album, holder.getDate());
+        size--;
+        return true;
+    }
+
+    /**
+     * Checks if an album is in the index.
+     *
+     * @param album the album to look for
+     * @return true if the album is in the index, false otherwise
+     */
+    public boolean contains(Album album) {
+        if (album == null) {
+            return false;
+        }
+        ReleaseDate holder = album.findReleaseDateHolder();
+        return holder != null && holder.hasOwner(this);
+    }
+
+    /**
+     * Returns the number of albums in the index, with or without a release date.
+     *
+     * @return the number of albums
+     */
+    public int size() {
+        return size;
+    }
+
+    /**
+     * Returns the number of albums in the index without a release date.
+     *
+     * @return the number of albums without a release date
+     */
+    public int countUndated() {
+        return undated.size();
+    }
+
+    /**
+     * Returns the albums released between two dates, both included, sorted by release date.
+     *
+     * @param from the first date
+     * @param to the last date
+     * @return a new list with the albums, empty if there is none
+     */
+    public List<Album> getReleasedBetween(LocalDate from, LocalDate to) {
+        List<Album> albums = new ArrayList<>();
+        for (Set<Album> day : range(from.toEpochDay(), to.toEpochDay()).values()) {
+            albums.addAll(day);
+        }
+        return albums;
+    }
+
+    /**
+     * Counts the albums released between two dates, both included.
+     *
+     * @param from the first date
+     * @param to the last date
+     * @return the number of albums
+     */
+    public int countReleasedBetween(LocalDate from, LocalDate to) {
+        int count = 0;
+        for (Set<Album> day : range(from.toEpochDay(), to.toEpochDay()).values()) {
+            count += day.size();
+        }
+        return count;
+    }
+
+    /**
+     * Returns the albums released after today and within the given number of days, sorted by release date.
+     * Today is the current date of ReleaseClock.
+     *
+     * @param days the number of days to look ahead, e.g. 7 for next week
+     * @return a new list with the albums, empty if there is none
+     */
+    public List<Album> getUpcomingReleases(int days) {
+        LocalDate today = ReleaseClock.today();
+        return getReleasedBetween(today.plusDays(1), today.plusDays(days));
+    }
+
+    /**
+     * Counts the albums released in a year.
+     *
+     * @param year the year
+     * @return the number of albums
+     */
+    public int countByYear(int year) {
+        return countReleasedBetween(LocalDate.of(year, 1, 1), LocalDate.of(year, 12, 31));
+    }
+
+    /**
+     * Counts the albums released in a month.
+     *
+     * @param month the month of a year
+     * @return the number of albums
+     */
+    public int countByMonth(YearMonth month) {
+        return countReleasedBetween(month.atDay(1), month.atEndOfMonth());
+    }
+
+    /**
+     * Counts the albums released a number of years from the current year of ReleaseClock. The offsets 0, -1
+     * and 1 are the buckets that getFormattedReleaseDate shows as "(this year)", "(last year)" and "(next year)".
+     *
+     * @param years the offset from the current year, negative for past years
+     * @return the number of albums
+     */
+    public int countByRelativeYear(int years) {
+        return countByYear(ReleaseClock.today().getYear() + years);
+    }
+
+    /**
+     * Moves an album to its new release day. It is called by the album when its release date changes.
+     *
+     * @param album the album
+     * @param oldDate the previous release date, or null
+     * @param newDate the new release date, or null
+     */
+    synchronized void update(Album album, LocalDate oldDate, LocalDate newDate) {
+        delete(album, oldDate);
+        put(album, newDate);
+    }
+
+    private NavigableMap<Long, Set<Album>> range(long fromDay, long toDay) {
+        if (fromDay > toDay) {
+            return Collections.emptyNavigableMap();
+        }
+        return byDay.subMap(fromDay, true, toDay, true);
+    }
+
+    private void put(Album album, LocalDate date) {
+        if (date == null) {
+            undated.add(album);
+            return;
+        }
+        Set<Album> day = byDay.get(date.toEpochDay());
+        if (day == null) {
+            day = ConcurrentHashMap.newKeySet();
+            byDay.put(date.toEpochDay(), day);
+        }
+        day.add(album);
+    }
+
+    private void delete(Album album, LocalDate date) {
+        if (date == null) {
+            undated.remove(album);
+            return;
+        }
+        Set<Album> day = byDay.get(date.toEpochDay());
+        if (day != null) {
+            day.remove(album);
+            if (day.isEmpty()) {
+                byDay.remove(date.toEpochDay());
+            }
+        }
+    }
+
+}
@@ -0,0 +1,235 @@
+/**
+ * Implementation of the symbols class
+ * This class is the symbol table shared by all the albums, tracks and album covers. It interns artist and composer
+ * names into compact int ids, so every album of an artist stores four bytes instead of its own copy of the name, and
+ * the name is only looked up when a getter asks for it. Ids are handed out in order and are never reused, so they
+ * can be compared instead of the names. Interning is safe from several threads; resolving an id takes no lock.
+ * Callers normalise names before interning them, so spellings which only differ in whitespace share an id.
+ * The table is global and only grows: a name stays in it, with its id, until the JVM exits, even when no album,
+ * track or cover uses it any more. This keeps ids stable and lookups lock-free, and costs one entry per distinct
+ * artist and composer name ever seen (see getReport); it is meant for catalogue names, not for arbitrary text.
+ * @author Ricard Santiago Raigada García
+ * @version 1.0
+ * @date 30/04/2023
+ */
+
+package edu.uoc.pac3;
+
+import java.util.Arrays;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.LongAdder;
+
+public final class Symbols {
+
+    static final int NO_SYMBOL = -1;
+
+    private static final int INITIAL_CAPACITY = 256;
+    private static final ConcurrentHashMap<String, Integer> IDS = new ConcurrentHashMap<>();
+    private static final Object LOCK = new Object();
+    private static volatile String[] names = new String[INITIAL_CAPACITY];
+    private static int size = 0;
+
+    private static final LongAdder REFERENCES = new LongAdder();
+    private static final LongAdder DUPLICATES = new LongAdder();
+    private static final LongAdder DUPLICATE_BYTES = new LongAdder();
+
+    private Symbols() {
+    }
+
+    /**
+     * Returns the id of a name, adding the name to the table the first time it is seen. The name is kept until
+     * the JVM exits.
+     *
+     * @param name the name, already normalised by the caller, or null
+     * @return the id of the name, or NO_SYMBOL if the name is null
+     */
+    static int intern(String name) {
+        if (name == null) {
+            return NO_SYMBOL;
+        }
+        REFERENCES.increment();
+        Integer id = IDS.get(name);
+        if (id == null) {
+            synchronized (LOCK) {
+                id = IDS.get(name);
+                if (id == null) {
+                    id = add(name);
+                    return id;
+                }
+            }
+        }
+        if (names[id] != name) {
+            DUPLICATES.increment();
+            DUPLICATE_BYTES.add(estimateSize(name));
+        }
+        return id;
+    }
+
+    /**
+     * Returns the name of an id.
+     *
+     * @param id an id returned by intern
+     * @return the name, or null if the id is NO_SYMBOL
+     */
+    static String resolve(int id) {
+        return (id == NO_SYMBOL) ? null : names[id];
+    }
+
+    /**
+     * Returns the number of distinct names in the table.
+     *
+     * @return the number of names
+     */
+    public static int size() {
+        synchronized (LOCK) {
+            return size;
+        }
+    }
+
+    /**
+     * Returns a report of the memory saved by the table since the program started.
+     *
+     * @return the current figures of the table
+     */
+    public static Report getReport() {
+        long tableBytes = 0;
+        String[] snapshot;
+        int count;
+        synchronized (LOCK) {
+            snapshot = names;
+            count = size;
+        }
+        for (int i = 0; i < count; i++) {
+            tableBytes += estimateSize(snapshot[i]);
+        }
+        // Each entry of IDS holds a node and a boxed id besides the name, and the names array a reference
+        tableBytes += count * (32L + 16L + 4L);
+        return new Report(count, REFERENCES.sum(), DUPLICATES.sum(), DUPLICATE_BYTES.sum(), tableBytes);
+    }
+
+    /**
+     * Appends a name to the table. Must be called holding LOCK.
+     *
+     * @param name the new name
+     * @return the id of the name
+     */
+    private static int add(String name) {
+        String[] current = names;
+        if (size == current.length) {
+            current = Arrays.copyOf(current, size * 2);
+        }
+        current[size] = name;
+        // The volatile write publishes the name before its id can be seen by other threads
+        names = current;
+        Integer id = size++;
+        IDS.put(name, id);
+        return id;
+    }
+
+    /**
+     * Estimates the heap used by a string with compressed references: the String object and its byte array,
+     * one byte per character if all of them are Latin-1 and two otherwise, both rounded up to 8 bytes.
+     *
+     * @param name the string
+     * @return the estimated size in bytes
+     */
+    static long estimateSize(String name) {
+        int bytesPerChar = 1;
+        for (int i = 0; i < name.length(); i++) {
+            if (name.charAt(i) > 0xFF) {
+                bytesPerChar = 2;
+                break;
+            }
+        }
+        return 24 + ((16L + (long) name.length() * bytesPerChar + 7) & ~7L);
+    }
+
+    /**
+     * Figures of the symbol table. References count every name stored in an album, track or cover field since
+     * the program started, even if it has been replaced since then; duplicates are the ones which arrived as a
+     * separate copy of a name already in the table, and which are no longer kept alive by the field.
+     */
+    public static final class Report {
+
+        private final int symbols;
+        private final long references;
+        private final long duplicates;
+        private final long duplicateBytes;
+        private final long tableBytes;
+
+        private Report(int symbols, long references, long duplicates, long duplicateBytes, long tableBytes) {
+            this.symbols = symbols;
+            this.references = references;
+            this.duplicates = duplicates;
+            this.duplicateBytes = duplicateBytes;
+            this.tableBytes = tableBytes;
+        }
+
+        /**
+         * Returns the number of distinct names.
+         *
+         * @return the number of names in the table
+         */
+        public int getSymbols() {
+            return symbols;
+        }
+
+        /**
+         * Returns the number of names stored as ids.
+         *
+         * @return the number of references
+         */
+        public long getReferences() {
+            return references;
+        }
+
+        /**
+         * Returns the number of names which arrived as a copy of a name already in the table.
+         *
+         * @return the number of duplicate strings
+         */
+        public long getDuplicates() {
+            return duplicates;
+        }
+
+        /**
+         * Returns the estimated heap that the duplicate strings would have kept alive.
+         *
+         * @return the size of the duplicates in bytes
+         */
+        public long getDuplicateBytes() {
+            return duplicateBytes;
+        }
+
+        /**
+         * Returns the estimated heap used by the table itself.
+         *
+         * @return the size of the table in bytes
+         */
+        public long getTableBytes() {
+            return tableBytes;
+        }
+
+        /**
+         * Returns the estimated heap saved, i.e. the size of the duplicates minus the size of the table.
+         *
+         * @return the saved bytes, negative if the table costs more than it saves
+         */
+        public long getSavedBytes() {
+            return duplicateBytes - tableBytes;
+        }
+
+        /**
+         * Returns the figures in a single line, e.g. for a log.
+         *
+         * @return the text of the report
+         */
+        @Override
+        public String toString() {
+            return symbols + " symbols, " + references + " references, " + duplicates + " duplicates ("
+                    + duplicateBytes + " bytes), table " + tableBytes + " bytes, saved " + getSavedBytes() + " bytes";
+        }
+
+    }
+
+}
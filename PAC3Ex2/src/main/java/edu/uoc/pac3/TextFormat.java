@@ -0,0 +1,117 @@
+/**
+ * Implementation of the textFormat class
+ * This class writes the durations and release dates of the albums into a caller-supplied buffer, digit by digit,
+ * so rendering them does not create intermediate strings.
+ * @author Ricard Santiago Raigada García
+ * @version 1.0
+ * @date 30/04/2023
+ */
+
+package edu.uoc.pac3;
+
+import java.io.IOException;
+import java.time.LocalDate;
+
+final class TextFormat {
+
+    private static final String[] MONTH_NAMES = {
+            "January", "February", "March", "April", "May", "June",
+            "July", "August", "September", "October", "November", "December"
+    };
+
+    private TextFormat() {
+    }
+
+    /**
+     * Returns the display name of a month.
+     *
+     * @param month the month of the year, from 1 (January) to 12 (December)
+     * @return the name of the month with its first letter in upper case
+     */
+    static String getMonthName(int month) {
+        return MONTH_NAMES[month - 1];
+    }
+
+    /**
+     * Appends a duration formatted as HH:mm:ss.
+     *
+     * @param out the buffer to append to
+     * @param totalSeconds the duration in seconds
+     * @throws IOException if the buffer cannot be written
+     */
+    static void appendDuration(Appendable out, long totalSeconds) throws IOException {
+        appendTwoDigits(out, totalSeconds / 3600);
+        out.append(':');
+        appendTwoDigits(out, (totalSeconds % 3600) / 60);
+        out.append(':');
+        appendTwoDigits(out, totalSeconds % 60);
+    }
+
+    /**
+     * Appends a release date in the format "Released on March 25, 2001 (22 years ago)", relative to today.
+     *
+     * @param out the buffer to append to
+     * @param release the release date
+     * @param now the current date
+     * @throws IOException if the buffer cannot be written
+     */
+    static void appendReleaseDate(Appendable out, LocalDate release, LocalDate now) throws IOException {
+        out.append("Released on ").append(getMonthName(release.getMonthValue())).append(' ');
+        appendNumber(out, release.getDayOfMonth());
+        out.append(", ");
+        appendNumber(out, release.getYear());
+        out.append(' ');
+        int years = release.getYear() - now.getYear();
+        if (years == 0) {
+            out.append("(this year)");
+        } else if (years == -1) {
+            out.append("(last year)");
+        } else if (years == 1) {
+            out.append("(next year)");
+        } else if (release.isAfter(now)) {
+            out.append("(in ");
+            appendNumber(out, years);
+            out.append(" years)");
+        } else {
+            out.append('(');
+            appendNumber(out, -years);
+            out.append(" years ago)");
+        }
+    }
+
+    /**
+     * Appends a number with at least two digits.
+     *
+     * @param out the buffer to append to
+     * @param value the number to append, which must not be negative
+     * @throws IOException if the buffer cannot be written
+     */
+    static void appendTwoDigits(Appendable out, long value) throws IOException {
+        if (value < 10) {
+            out.append('0');
+        }
+        appendNumber(out, value);
+    }
+
+    /**
+     * Appends the decimal digits of a number.
+     *
+     * @param out the buffer to append to
+     * @param value the number to append
+     * @throws IOException if the buffer cannot be written
+     */
+    static void appendNumber(Appendable out, long value) throws IOException {
+        if (value < 0) {
+            out.append('-');
+            value = -value;
+        }
+        long divisor = 1;
+        while (divisor <= value / 10) {
+            divisor *= 10;
+        }
+        for (; divisor > 0; divisor /= 10) {
+            out.append((char) ('0' + (value / divisor) % 10));
+        }
+    }
+
+}
@@ -0,0 +1,171 @@
+/**
+ * Implementation of the thumbnailPipeline class
+ * This class downscales batches of cover images to several thumbnail sizes in parallel. Every thumbnail is split
+ * in bands of rows (tiles) which are averaged from the source pixels by the tasks of a ForkJoinPool, and only a
+ * bounded number of covers is processed at the same time, so the work in flight does not grow with the batch.
+ * @author Ricard Santiago Raigada García
+ * @version 1.0
+ * @date 30/04/2023
+ */
+
+package edu.uoc.pac3;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.Semaphore;
+
+public class ThumbnailPipeline {
+
+    static final int TILE_ROWS = 16;
+
+    private final ForkJoinPool pool;
+    private final int maxCoversInFlight;
+    private final int[] sizes;
+
+    /**
+     *
+     * This constructor creates a pipeline which runs on the common pool and processes up to twice as many covers
+     * at the same time as the pool has threads
+     * @param sizes the maximum width and height of each thumbnail, e.g. 64, 128 and 256
+     */
+    public ThumbnailPipeline(int... sizes) {
+        this(ForkJoinPool.commonPool(), 2 * ForkJoinPool.commonPool().getParallelism(), sizes);
+    }
+
+    /**
+     *
+     * This constructor creates a pipeline which runs on the given pool
+     * @param pool the pool which runs the tiles
+     * @param maxCoversInFlight the maximum number of covers processed at the same time
+     * @param sizes the maximum width and height of each thumbnail
+     */
+    public ThumbnailPipeline(ForkJoinPool pool, int maxCoversInFlight, int... sizes) {
+        if (maxCoversInFlight <= 0 || sizes.length == 0) {
+            throw new IllegalArgumentException("There must be at least one cover in flight and one size");
+        }
+        for (int size : sizes) {
+            if (size <= 0) {
+                throw new IllegalArgumentException("The thumbnail sizes must be positive");
+            }
+        }
+        this.pool = pool;
+        this.maxCoversInFlight = maxCoversInFlight;
+        this.sizes = sizes.clone();
+    }
+
+    /**
+     *
+     * This method creates the thumbnails of a batch of covers. The thumbnails keep the aspect ratio of the cover,
+     * and covers smaller than a size are copied at their own size
+     * @param covers the cover images
+     * @return for each cover, in the same order, its thumbnails in the order of the sizes
+     * @throws InterruptedException if the thread is interrupted while waiting for a cover to finish
+     */
+    public List<CoverPixels[]> createThumbnails(List<CoverPixels> covers) throws InterruptedException {
+        Semaphore inFlight = new Semaphore(maxCoversInFlight);
+        List<CoverPixels[]> thumbnails = new ArrayList<>(covers.size());
+        List<CompletableFuture<Void>> pending = new ArrayList<>(covers.size());
+        for (CoverPixels cover : covers) {
+            inFlight.acquire();
+            CoverPixels[] coverThumbnails = new CoverPixels[sizes.length];
+            List<CompletableFuture<Void>> tiles = new ArrayList<>();
+            for (int i = 0; i < sizes.length; i++) {
+                CoverPixels thumbnail = newThumbnail(cover, sizes[i]);
+                coverThumbnails[i] = thumbnail;
+                for (int row = 0; row < thumbnail.getHeight(); row += TILE_ROWS) {
+                    int fromRow = row;
+                    int toRow = Math.min(row + TILE_ROWS, thumbnail.getHeight());
+                    tiles.add(CompletableFuture.runAsync(() -> scaleRows(cover, thumbnail, fromRow, toRow), pool));
+                }
+            }
+            thumbnails.add(coverThumbnails);
+            pending.add(CompletableFuture.allOf(tiles.toArray(new CompletableFuture<?>[0]))
+                    .whenComplete((result, error) -> inFlight.release()));
+        }
+        try {
+            CompletableFuture.allOf(pending.toArray(new CompletableFuture<?>[0])).join();
+        } catch (CompletionException e) {
+            if (e.getCause() instanceof RuntimeException) {
+                throw (RuntimeException) e.getCause();
+            }
+            throw e;
+        }
+        return thumbnails;
+    }
+
+    /**
+     *
+     * This method downscales a cover to a single size in the calling thread
+     * @param cover the cover image
+     * @param size the maximum width and height of the thumbnail
+     * @return the thumbnail
+     */
+    public static CoverPixels createThumbnail(CoverPixels cover, int size) {
+        CoverPixels thumbnail = newThumbnail(cover, size);
+        scaleRows(cover, thumbnail, 0, thumbnail.getHeight());
+        return thumbnail;
+    }
+
+    private static CoverPixels newThumbnail(CoverPixels cover, int size) {
+        int width = cover.getWidth();
+        int height = cover.getHeight();
+        if (width > size || height > size) {
+            if (width >= height) {
+                height = (int) Math.max(1, ((long) height * size + width / 2) / width);
+                width = size;
+            } else {
+                width = (int) Math.max(1, ((long) width * size + height / 2) / height);
+                height = size;
+            }
+        }
+        try {
+            return new CoverPixels(width, height);
+        } catch (Exception e) {
+            throw new IllegalStateException(e);
+        }
+    }
+
+    /**
+     *
+     * This method fills some rows of a thumbnail with the average of the source pixels each one covers
+     * @param source the cover image
+     * @param target the thumbnail
+     * @param fromRow the first row of the thumbnail, included
+     * @param toRow the last row of the thumbnail, excluded
+     */
+    static void scaleRows(CoverPixels source, CoverPixels target, int fromRow, int toRow) {
+        int sw = source.getWidth();
+        int sh = source.getHeight();
+        int tw = target.getWidth();
+        int th = target.getHeight();
+        for (int ty = fromRow; ty < toRow; ty++) {
+            int y0 = (int) ((long) ty * sh / th);
+            int y1 = Math.max(y0 + 1, (int) ((long) (ty + 1) * sh / th));
+            for (int tx = 0; tx < tw; tx++) {
+                int x0 = (int) ((long) tx * sw / tw);
+                int x1 = Math.max(x0 + 1, (int) ((long) (tx + 1) * sw / tw));
+                long a = 0;
+                long r = 0;
+                long g = 0;
+                long b = 0;
+                for (int y = y0; y < y1; y++) {
+                    for (int x = x0; x < x1; x++) {
+                        int argb = source.getPixel(x, y);
+                        a += argb >>> 24;
+                        r += (argb >>> 16) & 0xFF;
+                        g += (argb >>> 8) & 0xFF;
+                        b += argb & 0xFF;
+                    }
+                }
+                long count = (long) (y1 - y0) * (x1 - x0);
+                long half = count / 2;
+                target.setPixel(tx, ty, (int) ((a + half) / count) << 24 | (int) ((r + half) / count) << 16
+                        | (int) ((g + half) / count) << 8 | (int) ((b + half) / count));
+            }
+        }
+    }
+
+}
@@ -0,0 +1,77 @@
+/**
+ * Implementation of the timeOrderedIdGenerator class
+ * This class generates version 7 UUIDs: a 48-bit Unix timestamp in milliseconds, 12 bits with the fraction of
+ * the millisecond, and 62 random bits taken from ThreadLocalRandom, so threads never share a random generator.
+ * The IDs of one thread are strictly increasing, and the IDs of different threads sort by creation time down to
+ * a quarter of a microsecond.
+ * @author Ricard Santiago Raigada García
+ * @version 1.0
+ * @date 30/04/2023
+ */
+
+package edu.uoc.pac3;
+
+import java.time.Clock;
+import java.time.Instant;
+import java.util.Objects;
+import java.util.UUID;
+import java.util.concurrent.ThreadLocalRandom;
+
+public class TimeOrderedIdGenerator implements AlbumIdGenerator {
+
+    private static final long VERSION = 0x7000L;
+    private static final long VARIANT = 0x8000000000000000L;
+
+    private final Clock clock;
+    private final ThreadLocal<long[]> lastTimestamp = ThreadLocal.withInitial(() -> new long[1]);
+
+    /**
+     * This constructor creates a generator which reads the system clock.
+     */
+    public TimeOrderedIdGenerator() {
+        this(Clock.systemUTC());
+    }
+
+    /**
+     * This constructor creates a generator which reads the given clock.
+     *
+     * @param clock the clock which gives the creation time of the IDs
+     */
+    public TimeOrderedIdGenerator(Clock clock) {
+        this.clock = Objects.requireNonNull(clock);
+    }
+
+    /**
+     * Returns a new version 7 UUID.
+     *
+     * @return a new UUID which sorts after the previous ones of the same thread
+     */
+    @Override
+    public UUID nextId() {
+        Instant now = clock.instant();
+        long fraction = (now.getNano() % 1_000_000) * 4096L / 1_000_000;
+        long timestamp = (now.toEpochMilli() << 12) | fraction;
+        long[] last = lastTimestamp.get();
+        if (timestamp <= last[0]) {
+            timestamp = last[0] + 1;
+        }
+        last[0] = timestamp;
+        long mostSigBits = ((timestamp >>> 12) << 16) | VERSION | (timestamp & 0xFFF);
+        long leastSigBits = VARIANT | (ThreadLocalRandom.current().nextLong() >>> 2);
+        return new UUID(mostSigBits, leastSigBits);
+    }
+
+    /**
+     * Returns the creation time of a version 7 UUID in milliseconds since the Unix epoch.
+     *
+     * @param id a version 7 UUID
+     * @return the timestamp of the UUID
+     */
+    public static long getTimestamp(UUID id) {
+        if (id.version() != 7) {
+            throw new IllegalArgumentException("Not a version 7 UUID: " + id);
+        }
+        return id.getMostSignificantBits() >>> 16;
+    }
+
+}
@@ -7,12 +7,16 @@
  */
 package edu.uoc.pac3;
 
+import java.util.Objects;
+
 public class Track {
 
     private String name;
-    private String composer;
+    private int composer = Symbols.NO_SYMBOL;
     private int duration;
     public static final String ERR_MIN_DURATION = "[ERROR] Duration must be greater than 0";
+    private TrackList[] owners;
+    private int hash;
 
 
     /**
@@ -46,7 +50,10 @@ public class Track {
      */
 
     public void setName(String name) {
+        int[] slots = unindex();
         this.name = name;
+        updateHash();
+        reindex(slots);
     }
 
     /**
@@ -56,17 +63,21 @@ public class Track {
      */
 
     public String getComposer() {
-        return composer;
+        return Symbols.resolve(composer);
     }
 
     /**
 
-     This method sets the name of the composer of the track to the specified value.
+     This method sets the name of the composer of the track to the specified value. Leading, trailing and repeated
+     whitespace is removed, so " Kurt  Cobain" and "Kurt Cobain" are the same composer.
      @param composer the new name of the composer of the track
      */
 
     public void setComposer(String composer) {
-        this.composer = composer;
+        int[] slots = unindex();
+        this.composer = Symbols.intern(ArtistNames.formatComposer(composer));
+        updateHash();
+        reindex(slots);
     }
 
     /**
@@ -81,16 +92,152 @@ public class Track {
 
     /**
 
-     This method sets the duration of the track to the specified value.
+     This method sets the duration of the track to the specified value. The albums which contain the track
+     update their total duration.
      @param duration the new duration of the track in seconds
      @throws Exception if the duration is less than or equal to 0
      */
 
     public void setDuration(int duration) throws Exception {
-        if (duration <= 0) {
-            throw new Exception(ERR_MIN_DURATION);
+        ValidationError error = validateDuration(duration);
+        if (error != null) {
+            throw error.getException();
         }
+        int[] slots = unindex();
+        int oldDuration = this.duration;
         this.duration = duration;
+        updateHash();
+        reindex(slots);
+        if (owners != null) {
+            for (TrackList owner : owners) {
+                owner.updateDuration(oldDuration, duration);
+            }
+        }
+    }
+
+    /**
+
+     This method checks if a value is a valid duration of a track, without throwing.
+     @param duration the duration of the track in seconds
+     @return null if the duration is valid, or ValidationError.MIN_DURATION if it is less than or equal to 0
+     */
+
+    public static ValidationError validateDuration(int duration) {
+        return (duration <= 0) ? ValidationError.MIN_DURATION : null;
+    }
+
+    /**
+
+     Two tracks are equal when they have the same name, composer and duration.
+     @param o the object to compare with
+     @return true if o is a track with the same name, composer and duration
+     */
+
+    @Override
+    public boolean equals(Object o) {
+        if (this == o) {
+            return true;
+        }
+        if (!(o instanceof Track)) {
+            return false;
+        }
+        Track other = (Track) o;
+        return duration == other.duration && Objects.equals(name, other.name) && composer == other.composer;
+    }
+
+    /**
+
+     This method returns the hash code of the track, which is computed when its name, composer or duration changes.
+     @return the hash code of the track
+     */
+
+    @Override
+    public int hashCode() {
+        return hash;
+    }
+
+    /**
+
+     This method computes the hash code of the track from the hash code of the name, the symbol id of the composer
+     and the duration.
+     */
+
+    private void updateHash() {
+        hash = 31 * (31 * Objects.hashCode(name) + composer) + duration;
+    }
+
+    /**
+
+     This method registers a list of tracks which stores this track.
+     @param owner the list which stores the track
+     */
+
+    void addOwner(TrackList owner) {
+        if (owners == null) {
+            owners = new TrackList[]{owner};
+            return;
+        }
+        TrackList[] newOwners = new TrackList[owners.length + 1];
+        System.arraycopy(owners, 0, newOwners, 0, owners.length);
+        newOwners[owners.length] = owner;
+        owners = newOwners;
+    }
+
+    /**
+
+     This method unregisters a list of tracks which no longer stores this track.
+     @param owner the list which stored the track
+     */
+
+    void removeOwner(TrackList owner) {
+        if (owners == null) {
+            return;
+        }
+        for (int i = 0; i < owners.length; i++) {
+            if (owners[i] == owner) {
+                if (owners.length == 1) {
+                    owners = null;
+                } else {
+                    TrackList[] newOwners = new TrackList[owners.length - 1];
+                    System.arraycopy(owners, 0, newOwners, 0, i);
+                    System.arraycopy(owners, i + 1, newOwners, i, owners.length - i - 1);
+                    owners = newOwners;
+                }
+                return;
+            }
+        }
+    }
+
+    /**
+
+     This method removes the track from the index of its lists before its name, composer or duration changes.
+     @return the slot of the track in each list, or null if the track is not in any list
+     */
+
+    private int[] unindex() {
+        if (owners == null) {
+            return null;
+        }
+        int[] slots = new int[owners.length];
+        for (int i = 0; i < owners.length; i++) {
+            slots[i] = owners[i].unindex(this);
+        }
+        return slots;
+    }
+
+    /**
+
+     This method adds the track back to the index of its lists after its name, composer or duration has changed.
+     @param slots the slots returned by unindex
+     */
+
+    private void reindex(int[] slots) {
+        if (slots == null) {
+            return;
+        }
+        for (int i = 0; i < owners.length; i++) {
+            owners[i].reindex(this, slots[i]);
+        }
     }
 
 }
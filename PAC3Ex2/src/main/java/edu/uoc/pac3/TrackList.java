@@ -0,0 +1,394 @@
+/**
+ * Implementation of the trackList class
+ * This class stores the tracks of an album in numbered slots and keeps an index from each track to its slot,
+ * so membership, removal and swaps do not need to walk the slots. It also keeps the total duration of its tracks
+ * up to date as they are added, removed or changed. The slots and the index are only allocated when the first track
+ * is stored, and the slots grow on demand up to the capacity, so an album without tracks costs almost nothing.
+ * @author Ricard Santiago Raigada García
+ * @version 1.0
+ * @date 30/04/2023
+ */
+
+package edu.uoc.pac3;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.Map;
+
+class TrackList {
+
+    private static final Track[] NO_SLOTS = new Track[0];
+    private static final int MIN_ALLOCATION = 4;
+
+    private final Album album;
+    private Track[] slots = NO_SLOTS;
+    private Map<Track, Integer> index = null;
+    private int capacity;
+    private int firstFree = 0;
+    // Number of stored tracks which are not in the index because an equal track of another slot is
+    private int shadowed = 0;
+    private long totalDuration = 0;
+    private String formattedTotalDuration = null;
+
+    /**
+     * This constructor creates an empty list of tracks with the given number of slots. No storage is allocated
+     * until a track is stored.
+     *
+     * @param capacity the number of slots of the list
+     */
+    TrackList(int capacity) {
+        this(null, capacity);
+    }
+
+    /**
+     * This constructor creates an empty list which holds the tracks of an album, so the search indexes of the album
+     * are updated when its tracks change.
+     *
+     * @param album the album which owns the list
+     * @param capacity the number of slots of the list
+     */
+    TrackList(Album album, int capacity) {
+        this.album = album;
+        this.capacity = capacity;
+    }
+
+    /**
+     * Returns the number of slots of the list.
+     *
+     * @return the number of slots
+     */
+    int capacity() {
+        return capacity;
+    }
+
+    /**
+     * Changes the number of slots of the list. It cannot be lower than the last used slot plus one.
+     *
+     * @param capacity the new number of slots
+     * @return true if the capacity has been changed, false if it is not positive or would drop a track
+     */
+    boolean setCapacity(int capacity) {
+        if (capacity <= 0 || capacity < lastUsedSlot() + 1) {
+            return false;
+        }
+        if (slots.length > capacity) {
+            slots = Arrays.copyOf(slots, capacity);
+        }
+        this.capacity = capacity;
+        return true;
+    }
+
+    /**
+     * Returns the last slot which holds a track.
+     *
+     * @return the last used slot, or -1 if the list is empty
+     */
+    private int lastUsedSlot() {
+        for (int i = slots.length - 1; i >= 0; i--) {
+            if (slots[i] != null) {
+                return i;
+            }
+        }
+        return -1;
+    }
+
+    /**
+     * Returns the number of slots which are currently allocated.
+     *
+     * @return the length of the backing array
+     */
+    int allocated() {
+        return slots.length;
+    }
+
+    /**
+     * Makes sure that the backing array has room for the given slot, doubling its length up to the capacity.
+     *
+     * @param slot the slot which is going to be written
+     */
+    private void ensureAllocated(int slot) {
+        if (slot >= slots.length) {
+            int length = Math.max(slot + 1, Math.max(MIN_ALLOCATION, slots.length * 2));
+            slots = Arrays.copyOf(slots, Math.min(length, capacity));
+        }
+        if (index == null) {
+            index = new HashMap<>();
+        }
+    }
+
+    /**
+     * Returns the track stored in the given slot.
+     *
+     * @param slot the slot of the track
+     * @return the track in the slot, or null if the slot is empty
+     */
+    Track get(int slot) {
+        if (slot >= capacity) {
+            throw new ArrayIndexOutOfBoundsException(slot);
+        }
+        return (slot < slots.length) ? slots[slot] : null;
+    }
+
+    /**
+     * Returns a copy of the slots of the list, with null in the empty ones.
+     *
+     * @return an array with one position per slot
+     */
+    Track[] toArray() {
+        return Arrays.copyOf(slots, capacity);
+    }
+
+    /**
+     * Finds the slot of a track, or of a track equal to it.
+     *
+     * @param track the track to look for
+     * @return the slot of the track, or -1 if it is not in the list
+     */
+    int indexOf(Track track) {
+        if (track == null || index == null) {
+            return -1;
+        }
+        Integer slot = index.get(track);
+        return (slot == null) ? -1 : slot;
+    }
+
+    /**
+     * Checks if a track, or a track equal to it, is in the list.
+     *
+     * @param track the track to look for
+     * @return true if the track is in the list, false otherwise
+     */
+    boolean contains(Track track) {
+        return track != null && index != null && index.containsKey(track);
+    }
+
+    /**
+     * Returns the first empty slot of the list.
+     *
+     * @return the first empty slot, or -1 if the list is full
+     */
+    int firstFreeSlot() {
+        while (firstFree < slots.length && slots[firstFree] != null) {
+            firstFree++;
+        }
+        return (firstFree < capacity) ? firstFree : -1;
+    }
+
+    /**
+     * Stores a track in the given slot, replacing the track that was there.
+     *
+     * @param slot the slot where the track is stored
+     * @param track the track to store, or null to empty the slot
+     */
+    void set(int slot, Track track) {
+        if (slot >= capacity) {
+            throw new ArrayIndexOutOfBoundsException(slot);
+        }
+        if (slot >= slots.length && track == null) {
+            return;
+        }
+        ensureAllocated(slot);
+        Track previous = slots[slot];
+        if (previous != null) {
+            forget(previous, slot);
+            previous.removeOwner(this);
+            updateDuration(previous.getDuration(), 0);
+        }
+        slots[slot] = track;
+        if (track != null) {
+            remember(track, slot);
+            track.addOwner(this);
+            updateDuration(0, track.getDuration());
+        } else if (slot < firstFree) {
+            firstFree = slot;
+        }
+        if (previous != track) {
+            AlbumSearchIndex.changed(album);
+        }
+    }
+
+    /**
+     * Removes a track, or the track equal to it, from the list. Its slot is left empty.
+     *
+     * @param track the track to remove
+     * @return true if the track was in the list, false otherwise
+     */
+    boolean remove(Track track) {
+        int slot = indexOf(track);
+        if (slot == -1) {
+            return false;
+        }
+        set(slot, null);
+        return true;
+    }
+
+    /**
+     * Swaps the slots of two tracks of the list.
+     *
+     * @param slot1 the slot of the first track
+     * @param slot2 the slot of the second track
+     */
+    void swap(int slot1, int slot2) {
+        ensureAllocated(Math.max(slot1, slot2));
+        Track track1 = slots[slot1];
+        Track track2 = slots[slot2];
+        boolean indexed1 = isIndexedAt(track1, slot1);
+        boolean indexed2 = isIndexedAt(track2, slot2);
+        slots[slot1] = track2;
+        slots[slot2] = track1;
+        if (indexed1) {
+            index.put(track1, slot2);
+        }
+        if (indexed2) {
+            index.put(track2, slot1);
+        }
+    }
+
+    /**
+     * Checks if the index points to the given slot for a track. It does not when the track became equal to
+     * another track of the list after it was added.
+     *
+     * @param track the track to check
+     * @param slot the slot where the track is stored
+     * @return true if the index maps the track to the slot, false otherwise
+     */
+    private boolean isIndexedAt(Track track, int slot) {
+        if (index == null) {
+            return false;
+        }
+        Integer indexed = index.get(track);
+        return indexed != null && indexed == slot;
+    }
+
+    /**
+     * Removes all the tracks of the list and releases its storage.
+     */
+    void clear() {
+        for (Track track : slots) {
+            if (track != null) {
+                track.removeOwner(this);
+            }
+        }
+        slots = NO_SLOTS;
+        index = null;
+        firstFree = 0;
+        shadowed = 0;
+        updateDuration(totalDuration, 0);
+        AlbumSearchIndex.changed(album);
+    }
+
+    /**
+     * Returns the total duration of the tracks of the list.
+     *
+     * @return the total duration in seconds
+     */
+    long getTotalDuration() {
+        return totalDuration;
+    }
+
+    /**
+     * Returns the total duration of the tracks of the list formatted as HH:mm:ss. The string is only built
+     * the first time it is requested after a change of the tracks.
+     *
+     * @return the total duration as a formatted string (HH:mm:ss)
+     */
+    String getFormattedTotalDuration() {
+        if (formattedTotalDuration == null) {
+            StringBuilder sb = new StringBuilder(8);
+            try {
+                TextFormat.appendDuration(sb, totalDuration);
+            } catch (IOException e) {
+                throw new UncheckedIOException(e);
+            }
+            formattedTotalDuration = sb.toString();
+        }
+        return formattedTotalDuration;
+    }
+
+    /**
+     * Updates the total duration when the duration of one of the tracks changes.
+     *
+     * @param oldDuration the previous duration of the track in seconds, or 0 if it has just been added
+     * @param newDuration the new duration of the track in seconds, or 0 if it has just been removed
+     */
+    void updateDuration(long oldDuration, long newDuration) {
+        if (oldDuration != newDuration) {
+            totalDuration += newDuration - oldDuration;
+            formattedTotalDuration = null;
+        }
+    }
+
+    /**
+     * Removes a track from the index before one of the values used by its equality changes.
+     *
+     * @param track a track stored in the list
+     * @return the slot of the track
+     */
+    int unindex(Track track) {
+        Integer slot = (index == null) ? null : index.get(track);
+        if (slot == null || slots[slot] != track) {
+            slot = -1;
+            for (int i = 0; i < slots.length && slot == -1; i++) {
+                if (slots[i] == track) {
+                    slot = i;
+                }
+            }
+        }
+        if (slot != -1) {
+            forget(track, slot);
+        }
+        return slot;
+    }
+
+    /**
+     * Adds a track back to the index after one of the values used by its equality has changed.
+     *
+     * @param track a track stored in the list
+     * @param slot the slot returned by unindex
+     */
+    void reindex(Track track, int slot) {
+        if (slot != -1) {
+            remember(track, slot);
+            AlbumSearchIndex.changed(album);
+        }
+    }
+
+    /**
+     * Adds a stored track to the index. If an equal track of another slot is already indexed, e.g. because a
+     * track was renamed to the name of another one, the track is shadowed until that one leaves the index.
+     *
+     * @param track the stored track
+     * @param slot the slot of the track
+     */
+    private void remember(Track track, int slot) {
+        if (index.putIfAbsent(track, slot) != null) {
+            shadowed++;
+        }
+    }
+
+    /**
+     * Removes a stored track from the index, before it leaves its slot or one of the values used by its equality
+     * changes. If it was indexed and an equal track is shadowed, that track takes its place in the index, so
+     * contains and indexOf keep finding it.
+     *
+     * @param track the stored track
+     * @param slot the slot of the track
+     */
+    private void forget(Track track, int slot) {
+        if (!isIndexedAt(track, slot)) {
+            shadowed--;
+            return;
+        }
+        index.remove(track);
+        for (int i = 0; i < slots.length && shadowed > 0; i++) {
+            if (i != slot && slots[i] != null && slots[i].equals(track)) {
+                index.put(slots[i], i);
+                shadowed--;
+                return;
+            }
+        }
+    }
+
+}
@@ -0,0 +1,327 @@
+/**
+ * Implementation of the trackTable class
+ * This class stores the tracks of many albums column by column in primitive arrays (duration, album, slot,
+ * and dictionary-encoded name and composer), so catalogue-wide analytics scan contiguous ints instead of
+ * following one Track object per row. The tracks of an album are stored in consecutive rows.
+ * @author Ricard Santiago Raigada García
+ * @version 1.0
+ * @date 30/04/2023
+ */
+
+package edu.uoc.pac3;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+public class TrackTable {
+
+    private static final int INITIAL_CAPACITY = 64;
+
+    private int size = 0;
+    private int[] durations = new int[INITIAL_CAPACITY];
+    private int[] albumIds = new int[INITIAL_CAPACITY];
+    private int[] slots = new int[INITIAL_CAPACITY];
+    private int[] nameIds = new int[INITIAL_CAPACITY];
+    private int[] composerIds = new int[INITIAL_CAPACITY];
+
+    private int albumCount = 0;
+    private int[] albumGenres = new int[INITIAL_CAPACITY];
+    private int[] albumFirstRows = new int[INITIAL_CAPACITY];
+    private int[] albumRowCounts = new int[INITIAL_CAPACITY];
+
+    private final Dictionary names = new Dictionary();
+    private final Dictionary composers = new Dictionary();
+
+    /**
+     * Adds the tracks of an album to the table, in the order of their slots.
+     *
+     * @param album the album to export
+     * @return the id of the album in the table, which is the number of albums added before it
+     */
+    public int addAlbum(Album album) {
+        Track[] tracks = album.getTracks();
+        if (albumCount == albumGenres.length) {
+            int capacity = albumCount * 2;
+            albumGenres = Arrays.copyOf(albumGenres, capacity);
+            albumFirstRows = Arrays.copyOf(albumFirstRows, capacity);
+            albumRowCounts = Arrays.copyOf(albumRowCounts, capacity);
+        }
+        int albumId = albumCount++;
+        albumGenres[albumId] = album.getMusicGenre().ordinal();
+        albumFirstRows[albumId] = size;
+        for (int slot = 0; slot < tracks.length; slot++) {
+            Track track = tracks[slot];
+            if (track != null) {
+                if (size == durations.length) {
+                    grow();
+                }
+                durations[size] = track.getDuration();
+                albumIds[size] = albumId;
+                slots[size] = slot;
+                nameIds[size] = names.encode(track.getName());
+                composerIds[size] = composers.encode(track.getComposer());
+                size++;
+            }
+        }
+        albumRowCounts[albumId] = size - albumFirstRows[albumId];
+        return albumId;
+    }
+
+    private void grow() {
+        int capacity = durations.length * 2;
+        durations = Arrays.copyOf(durations, capacity);
+        albumIds = Arrays.copyOf(albumIds, capacity);
+        slots = Arrays.copyOf(slots, capacity);
+        nameIds = Arrays.copyOf(nameIds, capacity);
+        composerIds = Arrays.copyOf(composerIds, capacity);
+    }
+
+    /**
+     * Adds the tracks of an album of the table to an Album object, in the slots they had.
+     *
+     * @param albumId the id of the album in the table
+     * @param album the album which receives the tracks
+     * @throws Exception if a slot is out of bounds or a track already exists on the album
+     */
+    public void copyTracksTo(int albumId, Album album) throws Exception {
+        checkAlbum(albumId);
+        int from = albumFirstRows[albumId];
+        for (int row = from; row < from + albumRowCounts[albumId]; row++) {
+            album.restoreTrack(slots[row], getTrack(row));
+        }
+    }
+
+    /**
+     * Returns the number of tracks of the table.
+     *
+     * @return the number of rows
+     */
+    public int size() {
+        return size;
+    }
+
+    /**
+     * Returns the number of albums added to the table.
+     *
+     * @return the number of albums
+     */
+    public int getAlbumCount() {
+        return albumCount;
+    }
+
+    /**
+     * Builds a Track object from a row of the table.
+     *
+     * @param row the row of the track
+     * @return a new Track with the name, duration and composer of the row
+     * @throws Exception if the stored duration is not valid
+     */
+    public Track getTrack(int row) throws Exception {
+        checkRow(row);
+        return new Track(names.decode(nameIds[row]), durations[row], composers.decode(composerIds[row]));
+    }
+
+    /**
+     * Returns the duration of a track.
+     *
+     * @param row the row of the track
+     * @return the duration in seconds
+     */
+    public int getDuration(int row) {
+        checkRow(row);
+        return durations[row];
+    }
+
+    /**
+     * Returns the album of a track.
+     *
+     * @param row the row of the track
+     * @return the id of the album in the table
+     */
+    public int getAlbumId(int row) {
+        checkRow(row);
+        return albumIds[row];
+    }
+
+    /**
+     * Returns the name of a track.
+     *
+     * @param row the row of the track
+     * @return the name of the track
+     */
+    public String getName(int row) {
+        checkRow(row);
+        return names.decode(nameIds[row]);
+    }
+
+    /**
+     * Returns the composer of a track.
+     *
+     * @param row the row of the track
+     * @return the composer of the track
+     */
+    public String getComposer(int row) {
+        checkRow(row);
+        return composers.decode(composerIds[row]);
+    }
+
+    /**
+     * Returns the total duration of all the tracks of the table.
+     *
+     * @return the total duration in seconds
+     */
+    public long getTotalDuration() {
+        return sum(durations, 0, size);
+    }
+
+    /**
+     * Returns the total duration of the tracks of an album of the table.
+     *
+     * @param albumId the id of the album in the table
+     * @return the total duration in seconds
+     */
+    public long getTotalDuration(int albumId) {
+        checkAlbum(albumId);
+        return sum(durations, albumFirstRows[albumId], albumFirstRows[albumId] + albumRowCounts[albumId]);
+    }
+
+    /**
+     * Returns the total duration of the tracks of each genre. The totals are indexed by the ordinal of the genre.
+     *
+     * @return an array with the total duration in seconds of each MusicGenre
+     */
+    public long[] getTotalDurationByGenre() {
+        long[] totals = new long[MusicGenre.values().length];
+        for (int albumId = 0; albumId < albumCount; albumId++) {
+            int from = albumFirstRows[albumId];
+            totals[albumGenres[albumId]] += sum(durations, from, from + albumRowCounts[albumId]);
+        }
+        return totals;
+    }
+
+    /**
+     * Returns the total duration of the tracks of the albums of a genre.
+     *
+     * @param genre the genre of the albums
+     * @return the total duration in seconds, or 0 if no album of the table has that genre
+     */
+    public long getTotalDurationByGenre(MusicGenre genre) {
+        if (genre == null) {
+            return 0;
+        }
+        int genreId = genre.ordinal();
+        long total = 0;
+        for (int albumId = 0; albumId < albumCount; albumId++) {
+            if (albumGenres[albumId] == genreId) {
+                int from = albumFirstRows[albumId];
+                total += sum(durations, from, from + albumRowCounts[albumId]);
+            }
+        }
+        return total;
+    }
+
+    /**
+     * Returns the total duration of the tracks of the albums of a genre, given as the text used by the albums.
+     *
+     * @param genre the genre of the albums, e.g. "ROCK&ROLL"
+     * @return the total duration in seconds, or 0 if the genre is not valid or no album of the table has it
+     */
+    public long getTotalDurationByGenre(String genre) {
+        return getTotalDurationByGenre(MusicGenre.parse(genre));
+    }
+
+    /**
+     * Counts the tracks by duration in buckets of the same width. Bucket i counts the durations from
+     * i * bucketSeconds to (i + 1) * bucketSeconds - 1 seconds; the last bucket also counts the longer ones.
+     *
+     * @param bucketSeconds the width of each bucket in seconds
+     * @param bucketCount the number of buckets
+     * @return the number of tracks in each bucket
+     */
+    public int[] getDurationHistogram(int bucketSeconds, int bucketCount) {
+        if (bucketSeconds <= 0 || bucketCount <= 0) {
+            throw new IllegalArgumentException("The width and the number of buckets must be positive");
+        }
+        int[] histogram = new int[bucketCount];
+        int last = bucketCount - 1;
+        for (int row = 0; row < size; row++) {
+            histogram[Math.min(durations[row] / bucketSeconds, last)]++;
+        }
+        return histogram;
+    }
+
+    /**
+     * Counts the tracks of a composer, comparing dictionary ids instead of strings. The name is normalised as
+     * Track.setComposer does, so "John  Lennon" finds the tracks of "John Lennon".
+     *
+     * @param composer the name of the composer
+     * @return the number of tracks of the composer
+     */
+    public int countTracksByComposer(String composer) {
+        int composerId = composers.find(ArtistNames.formatComposer(composer));
+        if (composerId == -1) {
+            return 0;
+        }
+        int count = 0;
+        for (int row = 0; row < size; row++) {
+            if (composerIds[row] == composerId) {
+                count++;
+            }
+        }
+        return count;
+    }
+
+    /**
+     * Adds a range of an int array in a simple counted loop, which the JIT compiler can vectorize.
+     */
+    private static long sum(int[] values, int from, int to) {
+        long total = 0;
+        for (int i = from; i < to; i++) {
+            total += values[i];
+        }
+        return total;
+    }
+
+    private void checkRow(int row) {
+        if (row < 0 || row >= size) {
+            throw new IndexOutOfBoundsException(Album.ERR_WRONG_INDEX);
+        }
+    }
+
+    private void checkAlbum(int albumId) {
+        if (albumId < 0 || albumId >= albumCount) {
+            throw new IndexOutOfBoundsException(Album.ERR_WRONG_INDEX);
+        }
+    }
+
+    /**
+     * Assigns consecutive int ids to distinct strings. Null is a valid value.
+     */
+    private static class Dictionary {
+        private final Map<String, Integer> ids = new HashMap<>();
+        private final List<String> values = new ArrayList<>();
+
+        int encode(String value) {
+            Integer id = ids.get(value);
+            if (id == null) {
+                id = values.size();
+                values.add(value);
+                ids.put(value, id);
+            }
+            return id;
+        }
+
+        int find(String value) {
+            Integer id = ids.get(value);
+            return (id == null) ? -1 : id;
+        }
+
+        String decode(int id) {
+            return values.get(id);
+        }
+    }
+
+}
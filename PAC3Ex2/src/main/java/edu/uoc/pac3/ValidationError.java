@@ -0,0 +1,58 @@
+/**
+ * Implementation of the validationError enum
+ * This enum lists the rules that the values of albums, album covers and tracks can break. The validate methods
+ * of those classes return one of them instead of throwing, and the setters throw its cached exception.
+ * @author Ricard Santiago Raigada García
+ * @version 1.0
+ * @date 30/04/2023
+ */
+
+package edu.uoc.pac3;
+
+public enum ValidationError {
+    GENRE(Album.ERR_GENRE),
+    MIN_PRICE(Album.ERR_MIN_PRICE),
+    MAX_PRICE(Album.ERR_MAX_PRICE),
+    EMPTY_ARTIST("[ERROR] The artist cannot be null or empty"),
+    INVALID_ARTIST("[ERROR] The artist contains invalid characters"),
+    TRACK_EXISTS(Album.ERR_TRACK_EXISTS),
+    TRACK_NOT_EXISTS(Album.ERR_TRACK_NOT_EXISTS),
+    WRONG_INDEX(Album.ERR_WRONG_INDEX),
+    UNDEFINED_NAME(AlbumCover.ERR_UNDEFINED_NAME),
+    UNKNOWN_ARTIST(AlbumCover.ERR_UNKNOWN_ARTIST),
+    MIN_RESOLUTION(AlbumCover.ERR_MIN_RESOLUTION),
+    MAX_RESOLUTION(AlbumCover.ERR_MAX_RESOLUTION),
+    MIN_DURATION(Track.ERR_MIN_DURATION);
+
+    private final String message;
+    private final ValidationException exception;
+
+    /**
+     Constructor of ValidationError enum.
+     @param message the error message of the rule
+     */
+
+    ValidationError(String message) {
+        this.message = message;
+        this.exception = new ValidationException(this);
+    }
+
+    /**
+     Get the error message of the rule.
+     @return the error message, one of the ERR_ constants of the classes
+     */
+
+    public String getMessage() {
+        return message;
+    }
+
+    /**
+     Get the exception thrown when the rule is broken. There is a single instance per rule and it has no stack
+     trace, so throwing it costs the same as returning.
+     @return the cached exception of the rule
+     */
+
+    public ValidationException getException() {
+        return exception;
+    }
+}
@@ -0,0 +1,37 @@
+/**
+ * Implementation of the validationException class
+ * This class is the exception thrown when a value of an album, an album cover or a track breaks a rule.
+ * Its instances are created once per rule and have no stack trace.
+ * @author Ricard Santiago Raigada García
+ * @version 1.0
+ * @date 30/04/2023
+ */
+
+package edu.uoc.pac3;
+
+public class ValidationException extends Exception {
+
+    private static final long serialVersionUID = 1L;
+
+    private final ValidationError error;
+
+    /**
+     * This constructor creates the exception of a rule, without stack trace nor suppressed exceptions.
+     *
+     * @param error the rule which is broken
+     */
+    ValidationException(ValidationError error) {
+        super(error.getMessage(), null, false, false);
+        this.error = error;
+    }
+
+    /**
+     * Returns the rule which is broken.
+     *
+     * @return the validation error of the exception
+     */
+    public ValidationError getError() {
+        return error;
+    }
+
+}
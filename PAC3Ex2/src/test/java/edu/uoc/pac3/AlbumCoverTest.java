@@ -165,23 +165,46 @@ public class AlbumCoverTest {
             albumCover.setHeight(348);
             assertEquals("60:29", albumCover.getAspectRatio());
 
+            assertSame(AspectRatio.of(60, 29), albumCover.getRatio());
+            assertEquals(60, albumCover.getRatio().getWidth());
+            assertEquals(29, albumCover.getRatio().getHeight());
+            assertSame(AspectRatio.of(4, 3), AspectRatio.of(1024, 768));
+            assertSame(AspectRatio.of(1024, 768), AspectRatio.of(1024, 768));
+
         } catch (Exception e) {
             fail("testGetAspectRatio failed");
             e.printStackTrace();
         }
     }
 
+    @Test
+    void testValidate() {
+        assertNull(AlbumCover.validateName("Abbey Road"));
+        assertEquals(ValidationError.UNDEFINED_NAME, AlbumCover.validateName(" "));
+        assertNull(AlbumCover.validateArtist("Iain Macmillan"));
+        assertEquals(ValidationError.UNKNOWN_ARTIST, AlbumCover.validateArtist(null));
+        assertNull(AlbumCover.validateResolution(1080, 1080));
+        assertEquals(ValidationError.MIN_RESOLUTION, AlbumCover.validateResolution(0, 1080));
+        assertEquals(ValidationError.MIN_RESOLUTION, AlbumCover.validateResolution(1080, -1));
+        assertEquals(ValidationError.MAX_RESOLUTION, AlbumCover.validateResolution(1081, 1080));
+        assertEquals(AlbumCover.ERR_MAX_RESOLUTION, AlbumCover.validateResolution(1081, 1080).getMessage());
+        assertEquals(ValidationError.MAX_RESOLUTION, AlbumCover.validateResolution(65536, 65536));
+        assertEquals(ValidationError.MAX_RESOLUTION, AlbumCover.validateResolution(Integer.MAX_VALUE, 2));
+    }
+
     @Test
     @Tag("sanity")
     @DisplayName("Sanity - Fields definition")
     void checkFieldsSanity() {
         //check attribute fields
-        assertEquals(9, AlbumCover.class.getDeclaredFields().length);
+        assertEquals(11, AlbumCover.class.getDeclaredFields().length);
         try {
             assertTrue(Modifier.isPrivate(AlbumCover.class.getDeclaredField("name").getModifiers()));
             assertTrue(Modifier.isPrivate(AlbumCover.class.getDeclaredField("artist").getModifiers()));
             assertTrue(Modifier.isPrivate(AlbumCover.class.getDeclaredField("width").getModifiers()));
             assertTrue(Modifier.isPrivate(AlbumCover.class.getDeclaredField("height").getModifiers()));
+            assertTrue(Modifier.isPrivate(AlbumCover.class.getDeclaredField("ratio").getModifiers()));
+            assertTrue(Modifier.isPrivate(AlbumCover.class.getDeclaredField("coverIndexes").getModifiers()));
 
             assertTrue(Modifier.isPrivate(AlbumCover.class.getDeclaredField("MAX_RESOLUTION").getModifiers()));
             assertTrue(Modifier.isStatic(AlbumCover.class.getDeclaredField("MAX_RESOLUTION").getModifiers()));
@@ -0,0 +1,200 @@
+package edu.uoc.pac3;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class AlbumSearchIndexTest {
+
+    AlbumSearchIndex index;
+    Album abbeyRoad;
+    Album letItBe;
+    Album darkSide;
+    Track something;
+    Track money;
+
+    @BeforeEach
+    void initializeIndex() {
+        try {
+            abbeyRoad = new Album("Abbey Road", "the beatles", "ROCK&ROLL");
+            something = new Track("Something", 182, "George Harrison");
+            abbeyRoad.addTrack(new Track("Come Together", 259, "Lennon-McCartney"));
+            abbeyRoad.addTrack(something);
+            letItBe = new Album("Let It Be", "the beatles", "ROCK&ROLL");
+            letItBe.addTrack(new Track("Across the Universe", 228, "Lennon-McCartney"));
+            darkSide = new Album("The Dark Side of the Moon", "pink floyd", "ROCK&ROLL");
+            money = new Track("Money", 382, "Roger Waters");
+            darkSide.addTrack(money);
+
+            index = new AlbumSearchIndex();
+            for (Album album : Arrays.asList(abbeyRoad, letItBe, darkSide)) {
+                assertTrue(index.add(album));
+            }
+        } catch (Exception e) {
+            fail("initializeIndex failed");
+            e.printStackTrace();
+        }
+    }
+
+    @Test
+    void testSearch() {
+        assertEquals(Arrays.asList(abbeyRoad, letItBe), index.search("BEATLES"));
+        assertEquals(Arrays.asList(abbeyRoad, letItBe), index.search("lennon mccartney"));
+        assertEquals(Collections.singletonList(abbeyRoad), index.search("beatles, something!"));
+        assertEquals(Collections.singletonList(darkSide), index.search("moon waters"));
+        assertEquals(Arrays.asList(abbeyRoad, letItBe, darkSide), index.search("the"));
+        assertTrue(index.search("beatles waters").isEmpty());
+        assertTrue(index.search("submarine").isEmpty());
+        assertTrue(index.search(" -- ").isEmpty());
+    }
+
+    @Test
+    void testSearchPhrase() {
+        assertEquals(Collections.singletonList(darkSide), index.searchPhrase("dark side of the moon"));
+        assertEquals(Collections.singletonList(darkSide), index.searchPhrase("Side of The"));
+        assertEquals(Collections.singletonList(letItBe), index.searchPhrase("across the universe"));
+        assertTrue(index.searchPhrase("moon dark").isEmpty());
+        // The title and the artist are different fields
+        assertTrue(index.searchPhrase("road the beatles").isEmpty());
+        assertEquals(Arrays.asList(abbeyRoad, letItBe), index.searchPhrase("the beatles"));
+    }
+
+    @Test
+    void testIncrementalUpdates() {
+        try {
+            abbeyRoad.setTitle("Abbey Road (Remastered)");
+            assertEquals(Collections.singletonList(abbeyRoad), index.search("remastered"));
+
+            darkSide.setArtist("floyd pink");
+            assertTrue(index.searchPhrase("pink floyd").isEmpty());
+            assertEquals(Collections.singletonList(darkSide), index.searchPhrase("floyd pink"));
+
+            something.setName("Here Comes the Sun");
+            assertTrue(index.search("something").isEmpty());
+            assertEquals(Collections.singletonList(abbeyRoad), index.searchPhrase("comes the sun"));
+
+            money.setComposer("Waters Gilmour");
+            assertEquals(Collections.singletonList(darkSide), index.search("gilmour"));
+
+            abbeyRoad.removeTrack(something);
+            assertTrue(index.search("sun").isEmpty());
+
+            letItBe.addTrack(new Track("Get Back", 189, "Lennon-McCartney"));
+            assertEquals(Collections.singletonList(letItBe), index.search("get back"));
+
+            letItBe.emptyAlbum();
+            assertEquals(Collections.singletonList(abbeyRoad), index.search("mccartney"));
+
+            assertTrue(index.remove(darkSide));
+            assertFalse(index.remove(darkSide));
+            darkSide.setTitle("Meddle");
+            assertTrue(index.search("meddle").isEmpty());
+            assertTrue(index.search("moon").isEmpty());
+            assertEquals(2, index.size());
+        } catch (Exception e) {
+            fail("testIncrementalUpdates failed");
+            e.printStackTrace();
+        }
+    }
+
+    @Test
+    void testSeveralIndexes() {
+        try {
+            AlbumSearchIndex other = new AlbumSearchIndex();
+            assertTrue(other.add(abbeyRoad));
+            assertFalse(other.add(abbeyRoad));
+            assertTrue(other.contains(abbeyRoad));
+            assertFalse(other.contains(letItBe));
+
+            abbeyRoad.setTitle("Help");
+            assertEquals(Collections.singletonList(abbeyRoad), index.search("help"));
+            assertEquals(Collections.singletonList(abbeyRoad), other.search("help"));
+
+            // A track shared by two albums updates both
+            letItBe.addTrack(something);
+            something.setName("Octopus's Garden");
+            assertEquals(Arrays.asList(abbeyRoad, letItBe), index.search("octopus garden"));
+            assertEquals(Collections.singletonList(abbeyRoad), other.search("octopus"));
+        } catch (Exception e) {
+            fail("testSeveralIndexes failed");
+            e.printStackTrace();
+        }
+    }
+
+    @Test
+    void testIdsAreReused() {
+        try {
+            int terms = index.termCount();
+            for (int i = 0; i < 100; i++) {
+                Album album = new Album("Single " + i, "the beatles", "POP");
+                album.addTrack(new Track("B-side " + i, 120, "Composer " + i));
+                assertTrue(index.add(album));
+                assertEquals(Collections.singletonList(album), index.search("single " + i));
+                assertTrue(index.remove(album));
+            }
+            assertEquals(4, index.documentSlots());
+            assertEquals(terms, index.termCount());
+            assertTrue(index.search("single").isEmpty());
+
+            // An album which takes the id of a removed one is still returned after the albums added before it
+            assertTrue(index.remove(abbeyRoad));
+            Album help = new Album("Help", "the beatles", "POP");
+            assertTrue(index.add(help));
+            assertEquals(4, index.documentSlots());
+            assertEquals(Arrays.asList(letItBe, help), index.search("beatles"));
+        } catch (Exception e) {
+            fail("testIdsAreReused failed");
+            e.printStackTrace();
+        }
+    }
+
+    @Test
+    void testChangesDuringQueries() throws InterruptedException {
+        AtomicInteger failures = new AtomicInteger();
+        List<Album> built = new ArrayList<>();
+        Thread loader = new Thread(() -> {
+            try {
+                for (int i = 0; i < 200; i++) {
+                    Album album = new Album("Live " + i, "the beatles", "POP");
+                    index.add(album);
+                    for (int j = 0; j < 10; j++) {
+                        album.addTrack(new Track("Song " + j, 100 + j, "Lennon-McCartney"));
+                    }
+                    album.setTitle("Live at the BBC " + i);
+                    built.add(album);
+                }
+            } catch (Exception e) {
+                failures.incrementAndGet();
+            }
+        });
+        Thread reader = new Thread(() -> {
+            for (int i = 0; i < 500; i++) {
+                if (index.search("lennon").size() < 2) {
+                    failures.incrementAndGet();
+                }
+            }
+        });
+        loader.start();
+        reader.start();
+        loader.join();
+        reader.join();
+        assertEquals(0, failures.get());
+        assertEquals(built, index.searchPhrase("live at the bbc"));
+        assertEquals(200, index.search("song 9").size());
+    }
+
+    @Test
+    void testSplitWords() {
+        assertEquals(Arrays.asList("the", "beatles"), AlbumSearchIndex.splitWords("The-Beatles"));
+        assertEquals(Arrays.asList("björk", "x1"), AlbumSearchIndex.splitWords(" BJÖRK, 𝄞x1"));
+        assertTrue(AlbumSearchIndex.splitWords("...").isEmpty());
+    }
+
+}
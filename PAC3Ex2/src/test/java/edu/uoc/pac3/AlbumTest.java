@@ -10,9 +10,17 @@ import org.junit.jupiter.api.Tag;
 import org.junit.jupiter.api.Test;
 
 import java.lang.reflect.Modifier;
+import java.nio.CharBuffer;
+import java.time.Clock;
+import java.time.Duration;
+import java.time.Instant;
 import java.time.LocalDate;
 import java.time.Month;
+import java.time.ZoneId;
+import java.time.ZoneOffset;
 import java.util.UUID;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
 
 import static org.junit.jupiter.api.Assertions.*;
 
@@ -38,9 +46,13 @@ public class AlbumTest {
             assertEquals("ROCK&ROLL", album.getGenre());
             assertNotNull(album.getId());
             assertNull(album.getReleaseDate());
+            assertNull(album.findReleaseDateHolder());
+            assertNull(album.getFormattedReleaseDate());
             assertFalse( album.isAvailableOnline());
             assertEquals(14.99, album.getPrice());
             assertNull(album.getAlbumCover());
+            album.setReleaseDate(null);
+            assertNull(album.findReleaseDateHolder());
         } catch (Exception e) {
             fail("testAlbum1 failed");
             e.printStackTrace();
@@ -167,6 +179,10 @@ public class AlbumTest {
 
             album.setGenre(" rock&Roll   ");
             assertEquals("ROCK&ROLL", album.getGenre());
+            assertSame(MusicGenre.ROCK_N_ROLL, album.getMusicGenre());
+
+            album.setGenre(MusicGenre.JAZZ);
+            assertEquals("JAZZ", album.getGenre());
 
             Exception ex = assertThrows(Exception.class, () -> album.setGenre("CLASSICAL ROCK"));
             assertEquals("[ERROR] The genre is not a valid value", ex.getMessage());
@@ -174,6 +190,10 @@ public class AlbumTest {
             ex = assertThrows(Exception.class, () -> album.setGenre("ALTERNATIVE ROCK"));
             assertEquals("[ERROR] The genre is not a valid value", ex.getMessage());
 
+            ex = assertThrows(Exception.class, () -> album.setGenre((MusicGenre) null));
+            assertEquals("[ERROR] The genre is not a valid value", ex.getMessage());
+            assertSame(MusicGenre.JAZZ, album.getMusicGenre());
+
         } catch (Exception e) {
             fail("testSetGenre failed");
             e.printStackTrace();
@@ -205,6 +225,7 @@ public class AlbumTest {
     @Test
     void testGetFormattedReleaseDate() {
         try {
+            ReleaseClock.setClock(Clock.fixed(Instant.parse("2023-04-30T10:00:00Z"), ZoneOffset.UTC));
             LocalDate date = LocalDate.of(2001, Month.MARCH, 25);
             album.setReleaseDate(date);
             assertEquals("Released on March 25, 2001 (22 years ago)", album.getFormattedReleaseDate());
@@ -248,6 +269,134 @@ public class AlbumTest {
         } catch (Exception e) {
             fail("testGetFormattedReleaseDate failed");
             e.printStackTrace();
+        } finally {
+            ReleaseClock.resetClock();
+        }
+
+    }
+
+    @Test
+    void testFormattedReleaseDateFollowsClock() {
+        try {
+            ReleaseClock.setClock(Clock.fixed(Instant.parse("2023-12-31T23:30:00Z"), ZoneOffset.UTC));
+            assertEquals(LocalDate.of(2023, Month.DECEMBER, 31), ReleaseClock.today());
+            album.setReleaseDate(LocalDate.of(2024, Month.JANUARY, 1));
+            String formatted = album.getFormattedReleaseDate();
+            assertEquals("Released on January 1, 2024 (next year)", formatted);
+            assertSame(formatted, album.getFormattedReleaseDate());
+
+            album.setReleaseDate(LocalDate.of(2024, Month.JANUARY, 1));
+            assertSame(formatted, album.getFormattedReleaseDate());
+
+            ReleaseClock.setClock(Clock.fixed(Instant.parse("2024-01-01T00:30:00Z"), ZoneOffset.UTC));
+            assertEquals("Released on January 1, 2024 (this year)", album.getFormattedReleaseDate());
+
+            ReleaseClock.setClock(Clock.fixed(Instant.parse("2023-12-31T23:30:00Z"), ZoneOffset.ofHours(1)));
+            assertEquals(LocalDate.of(2024, Month.JANUARY, 1), ReleaseClock.today());
+            assertEquals("Released on January 1, 2024 (this year)", album.getFormattedReleaseDate());
+
+            album.setReleaseDate(LocalDate.of(2021, Month.MAY, 2));
+            assertEquals("Released on May 2, 2021 (3 years ago)", album.getFormattedReleaseDate());
+        } catch (Exception e) {
+            fail("testFormattedReleaseDateFollowsClock failed");
+            e.printStackTrace();
+        } finally {
+            ReleaseClock.resetClock();
+        }
+    }
+
+    @Test
+    void testReleaseClockFollowsJumps() {
+        try {
+            // A clock whose time is moved by the test, without setting it again
+            AtomicLong now = new AtomicLong(Instant.parse("2023-04-30T10:00:00Z").toEpochMilli());
+            ReleaseClock.setClock(new Clock() {
+                @Override
+                public ZoneId getZone() {
+                    return ZoneOffset.UTC;
+                }
+
+                @Override
+                public Clock withZone(ZoneId zone) {
+                    throw new UnsupportedOperationException();
+                }
+
+                @Override
+                public Instant instant() {
+                    return Instant.ofEpochMilli(now.get());
+                }
+            });
+            album.setReleaseDate(LocalDate.of(2001, Month.MARCH, 25));
+            LocalDate today = ReleaseClock.today();
+            assertEquals(LocalDate.of(2023, Month.APRIL, 30), today);
+            now.addAndGet(Duration.ofHours(13).toMillis());
+            // Still the same day, so the same date is reused
+            assertSame(today, ReleaseClock.today());
+
+            now.set(Instant.parse("2024-01-01T00:00:00Z").toEpochMilli());
+            assertEquals(LocalDate.of(2024, Month.JANUARY, 1), ReleaseClock.today());
+            assertEquals("Released on March 25, 2001 (23 years ago)", album.getFormattedReleaseDate());
+
+            now.set(Instant.parse("2023-12-31T23:59:59.999Z").toEpochMilli());
+            assertEquals(LocalDate.of(2023, Month.DECEMBER, 31), ReleaseClock.today());
+            assertEquals("Released on March 25, 2001 (22 years ago)", album.getFormattedReleaseDate());
+        } catch (Exception e) {
+            fail("testReleaseClockFollowsJumps failed");
+            e.printStackTrace();
+        } finally {
+            ReleaseClock.resetClock();
+        }
+    }
+
+    @Test
+    void testReleaseClockRollsOver() {
+        try {
+            // A clock which reaches midnight 200 ms from now
+            Instant now = Instant.now();
+            Instant midnight = now.atZone(ZoneOffset.UTC).toLocalDate().plusDays(1)
+                    .atStartOfDay(ZoneOffset.UTC).toInstant();
+            Clock clock = Clock.offset(Clock.systemUTC(), Duration.between(now, midnight).minusMillis(200));
+            ReleaseClock.setClock(clock);
+            LocalDate before = ReleaseClock.today();
+            long deadline = System.nanoTime() + TimeUnit.SECONDS.toNanos(10);
+            while (ReleaseClock.today().equals(before) && System.nanoTime() < deadline) {
+                Thread.sleep(10);
+            }
+            assertEquals(before.plusDays(1), ReleaseClock.today());
+        } catch (Exception e) {
+            fail("testReleaseClockRollsOver failed");
+            e.printStackTrace();
+        } finally {
+            ReleaseClock.resetClock();
+        }
+    }
+
+    @Test
+    void testAppendFormattedReleaseDate() {
+        try {
+            StringBuilder sb = new StringBuilder("> ");
+            album.appendFormattedReleaseDate(sb);
+            assertEquals("> ", sb.toString());
+
+            LocalDate[] dates = {LocalDate.of(2001, Month.MARCH, 25), LocalDate.of(1970, Month.JANUARY, 1),
+                    LocalDate.now(), LocalDate.now().minusYears(1), LocalDate.now().plusYears(1),
+                    LocalDate.now().plusYears(7)};
+            for (LocalDate date : dates) {
+                album.setReleaseDate(date);
+                sb.setLength(0);
+                album.appendFormattedReleaseDate(sb);
+                assertEquals(album.getFormattedReleaseDate(), sb.toString());
+            }
+
+            album.setReleaseDate(LocalDate.of(1970, Month.JANUARY, 1));
+            CharBuffer buffer = CharBuffer.allocate(64);
+            album.appendFormattedReleaseDate(buffer);
+            buffer.flip();
+            assertEquals(album.getFormattedReleaseDate(), buffer.toString());
+            assertTrue(buffer.toString().startsWith("Released on January 1, 1970 ("));
+        } catch (Exception e) {
+            fail("testAppendFormattedReleaseDate failed");
+            e.printStackTrace();
         }
 
     }
@@ -278,10 +427,15 @@ public class AlbumTest {
         try {
             album.setPrice(4.99);
             assertEquals(4.99, album.getPrice());
+            assertEquals(4990, album.getPriceMills());
 
             album.setPrice(29.99);
             assertEquals(29.99, album.getPrice());
 
+            album.setPrice(14.9996);
+            assertEquals(15.0, album.getPrice());
+            assertEquals(15000, album.getPriceMills());
+
             Exception ex = assertThrows(Exception.class, () -> album.setPrice(4.98));
             assertEquals("[ERROR] The album price must be greater than MIN_PRICE", ex.getMessage());
 
@@ -385,12 +539,47 @@ public class AlbumTest {
 
     }
 
+    @Test
+    void testValidate() {
+        assertNull(Album.validatePrice(14.99, false));
+        assertEquals(ValidationError.MIN_PRICE, Album.validatePrice(4.98, false));
+        assertEquals(ValidationError.MAX_PRICE, Album.validatePrice(30.0, false));
+        assertEquals(ValidationError.MAX_PRICE, Album.validatePrice(24, true));
+        assertEquals(Album.ERR_MAX_PRICE, Album.validatePrice(24, true).getMessage());
+
+        assertNull(Album.validateGenre(" rock&Roll   "));
+        assertEquals(ValidationError.GENRE, Album.validateGenre("CLASSICAL ROCK"));
+        assertEquals(ValidationError.GENRE, Album.validateGenre(null));
+
+        assertNull(Album.validateArtist("the beatles"));
+        assertEquals(ValidationError.EMPTY_ARTIST, Album.validateArtist("   "));
+        assertEquals(ValidationError.INVALID_ARTIST, Album.validateArtist("U2"));
+
+        assertNull(album.validateTrackIndex(29));
+        assertEquals(ValidationError.WRONG_INDEX, album.validateTrackIndex(30));
+    }
+
+    @Test
+    void testValidationException() {
+        ValidationException ex1 = assertThrows(ValidationException.class, () -> album.setPrice(1));
+        ValidationException ex2 = assertThrows(ValidationException.class, () -> album.setPrice(2));
+        assertSame(ex1, ex2);
+        assertEquals(ValidationError.MIN_PRICE, ex1.getError());
+        assertEquals(Album.ERR_MIN_PRICE, ex1.getMessage());
+        assertEquals(0, ex1.getStackTrace().length);
+
+        ValidationException ex = assertThrows(ValidationException.class, () -> album.setArtist(null));
+        assertEquals("[ERROR] The artist cannot be null or empty", ex.getMessage());
+        ex = assertThrows(ValidationException.class, () -> album.setArtist("R2 D2"));
+        assertEquals("[ERROR] The artist contains invalid characters", ex.getMessage());
+    }
+
     @Test
     @Tag("sanity")
     @DisplayName("Sanity - Fields definition")
     void checkFieldsSanity() {
         //check attribute fields
-        assertEquals(18, Album.class.getDeclaredFields().length);
+        assertEquals(19, Album.class.getDeclaredFields().length);
         try {
             assertTrue(Modifier.isPrivate(Album.class.getDeclaredField("id").getModifiers()));
             assertTrue(Modifier.isPrivate(Album.class.getDeclaredField("title").getModifiers()));
@@ -401,6 +590,7 @@ public class AlbumTest {
             assertTrue(Modifier.isPrivate(Album.class.getDeclaredField("price").getModifiers()));
             assertTrue(Modifier.isPrivate(Album.class.getDeclaredField("albumCover").getModifiers()));
             assertTrue(Modifier.isPrivate(Album.class.getDeclaredField("tracks").getModifiers()));
+            assertTrue(Modifier.isPrivate(Album.class.getDeclaredField("searchIndexes").getModifiers()));
 
             assertTrue(Modifier.isPrivate(Album.class.getDeclaredField("MIN_PRICE").getModifiers()));
             assertTrue(Modifier.isStatic(Album.class.getDeclaredField("MIN_PRICE").getModifiers()));
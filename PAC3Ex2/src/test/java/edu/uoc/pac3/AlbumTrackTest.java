@@ -12,6 +12,8 @@ import edu.uoc.pac3.Track;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 
+import java.nio.CharBuffer;
+
 import static org.junit.jupiter.api.Assertions.*;
 
 public class AlbumTrackTest {
@@ -69,10 +71,10 @@ public class AlbumTrackTest {
             assertEquals("[ERROR] The track already exists in this album", ex.getMessage());
 
             for (int i = 3; i < album.getTracks().length; ++i) {
-                album.addTrack(new Track("Empty song", 1, "Random Artist"));
+                album.addTrack(new Track("Empty song " + i, 1, "Random Artist"));
             }
 
-            ex = assertThrows(Exception.class, () -> album.addTrack(new Track("Empty song", 1, "Random Artist")));
+            ex = assertThrows(Exception.class, () -> album.addTrack(new Track("Empty song 30", 1, "Random Artist")));
             assertEquals("[ERROR] Wrong index", ex.getMessage());
 
         } catch (Exception e) {
@@ -103,6 +105,85 @@ public class AlbumTrackTest {
         }
     }
 
+    @Test
+    void testEqualTracks() {
+        try {
+            Track copy = new Track("Smells Like Teen Spirit", 256, "Kurt Cobain");
+            assertTrue(album.isInTheAlbum(copy));
+
+            Exception ex = assertThrows(Exception.class, () -> album.addTrack(copy));
+            assertEquals("[ERROR] The track already exists in this album", ex.getMessage());
+
+            album.addTrack(track2);
+            album.swapTracks(copy, track2);
+            assertEquals(track2, album.getTrack(0));
+            assertSame(track1, album.getTrack(1));
+
+            album.removeTrack(copy);
+            assertFalse(album.isInTheAlbum(track1));
+            assertNull(album.getTrack(1));
+        } catch (Exception e) {
+            fail("testEqualTracks failed");
+            e.printStackTrace();
+        }
+    }
+
+    @Test
+    void testChangeTrackInAlbum() {
+        try {
+            album.addTrack(track2);
+            track1.setName("In Bloom");
+            track2.setDuration(219);
+
+            assertTrue(album.isInTheAlbum(track1));
+            assertTrue(album.isInTheAlbum(new Track("In Bloom", 256, "Kurt Cobain")));
+            assertFalse(album.isInTheAlbum(new Track("Smells Like Teen Spirit", 256, "Kurt Cobain")));
+            assertTrue(album.isInTheAlbum(track2));
+
+            album.swapTracks(track1, track2);
+            assertEquals(track2, album.getTrack(0));
+            assertEquals(track1, album.getTrack(1));
+
+            album.removeTrack(track1);
+            track1.setName("Smells Like Teen Spirit");
+            assertFalse(album.isInTheAlbum(track1));
+        } catch (Exception e) {
+            fail("testChangeTrackInAlbum failed");
+            e.printStackTrace();
+        }
+    }
+
+    @Test
+    void testTracksWhichBecomeEqual() {
+        try {
+            album.addTrack(track2);
+            album.addTrack(track3);
+            track2.setName("Smells Like Teen Spirit");
+            track2.setComposer("Kurt Cobain");
+            track2.setDuration(256);
+            assertEquals(track1, track2);
+
+            album.removeTrack(track1);
+            assertNull(album.getTrack(0));
+            assertSame(track2, album.getTrack(1));
+            assertTrue(album.isInTheAlbum(track1));
+            Exception ex = assertThrows(Exception.class, () -> album.addTrack(track1));
+            assertEquals("[ERROR] The track already exists in this album", ex.getMessage());
+
+            track2.setName("Lithium");
+            assertFalse(album.isInTheAlbum(track1));
+            assertTrue(album.isInTheAlbum(track2));
+            album.swapTracks(track2, track3);
+            assertSame(track2, album.getTrack(2));
+            album.removeTrack(new Track("Lithium", 256, "Kurt Cobain"));
+            assertFalse(album.isInTheAlbum(track2));
+            assertNull(album.getTrack(2));
+        } catch (Exception e) {
+            fail("testTracksWhichBecomeEqual failed");
+            e.printStackTrace();
+        }
+    }
+
     @Test
     void testRemoveTrack() {
         try {
@@ -132,7 +213,7 @@ public class AlbumTrackTest {
 
             Track[] tempTrackList = new Track[30];
             for (int i = 0; i < album.getTracks().length; ++i) {
-                tempTrackList[i] = new Track("Empty song", 1, "Random Artist");
+                tempTrackList[i] = new Track("Empty song " + i, 1, "Random Artist");
                 album.addTrack(tempTrackList[i]);
             }
             album.removeTrack(tempTrackList[3]);
@@ -164,7 +245,7 @@ public class AlbumTrackTest {
             }
 
             for (int i = 0; i < album.getTracks().length; ++i) {
-                album.addTrack(new Track("Empty song", 1, "Random Artist"));
+                album.addTrack(new Track("Empty song " + i, 1, "Random Artist"));
             }
 
             for (int i = 0; i < album.getTracks().length; ++i) {
@@ -222,7 +303,7 @@ public class AlbumTrackTest {
             assertEquals("[ERROR] Some of the tracks does not exist in this album", ex.getMessage());
 
             for (int i = 2; i < album.getTracks().length; ++i) {
-                album.addTrack(new Track("Empty song", 1, "Random Artist"));
+                album.addTrack(new Track("Empty song " + i, 1, "Random Artist"));
             }
 
         } catch (Exception e) {
@@ -244,7 +325,7 @@ public class AlbumTrackTest {
 
             assertEquals("00:00:00", album.getTotalDuration());
             for (int i = 0; i < album.getTracks().length; ++i) {
-                album.addTrack(new Track("Empty song", 257, "Random Artist"));
+                album.addTrack(new Track("Empty song " + i, 257, "Random Artist"));
             }
             assertEquals("02:08:30", album.getTotalDuration());
 
@@ -260,4 +341,109 @@ public class AlbumTrackTest {
         }
     }
 
+    @Test
+    void testTotalDurationAfterChanges() {
+        try {
+            assertEquals(256, album.getTotalDurationSeconds());
+
+            album.addTrack(track2);
+            assertEquals(450, album.getTotalDurationSeconds());
+            assertEquals("00:07:30", album.getTotalDuration());
+
+            track2.setDuration(200);
+            assertEquals(456, album.getTotalDurationSeconds());
+            assertEquals("00:07:36", album.getTotalDuration());
+
+            Album other = new Album("Bleach", "Nirvana", "ROCK&ROLL");
+            other.addTrack(track2);
+            track2.setDuration(3600);
+            assertEquals(3856, album.getTotalDurationSeconds());
+            assertEquals("01:00:00", other.getTotalDuration());
+
+            album.removeTrack(track2);
+            track2.setDuration(60);
+            assertEquals("00:04:16", album.getTotalDuration());
+            assertEquals("00:01:00", other.getTotalDuration());
+
+            album.emptyAlbum();
+            assertEquals(0, album.getTotalDurationSeconds());
+            assertEquals("00:00:00", album.getTotalDuration());
+        } catch (Exception e) {
+            fail("testTotalDurationAfterChanges failed");
+            e.printStackTrace();
+        }
+    }
+
+    @Test
+    void testAppendTotalDuration() {
+        try {
+            StringBuilder sb = new StringBuilder("Total: ");
+            album.appendTotalDuration(sb);
+            assertEquals("Total: 00:04:16", sb.toString());
+
+            for (int i = 1; i < album.getTracks().length; ++i) {
+                album.addTrack(new Track("Long song " + i, 3599, "Random Artist"));
+            }
+            CharBuffer buffer = CharBuffer.allocate(16);
+            album.appendTotalDuration(buffer);
+            buffer.flip();
+            assertEquals("29:03:47", buffer.toString());
+            assertEquals(album.getTotalDuration(), buffer.toString());
+        } catch (Exception e) {
+            fail("testAppendTotalDuration failed");
+            e.printStackTrace();
+        }
+    }
+
+    @Test
+    void testLazyTrackStorage() {
+        try {
+            TrackList list = new TrackList(30);
+            assertEquals(0, list.allocated());
+            assertEquals(30, list.toArray().length);
+            assertNull(list.get(29));
+            list.set(0, track1);
+            assertTrue(list.allocated() > 0 && list.allocated() < 30);
+            list.set(20, track2);
+            assertTrue(list.allocated() > 20 && list.allocated() <= 30);
+            assertEquals(20, list.indexOf(track2));
+            assertEquals(1, list.firstFreeSlot());
+            list.clear();
+            assertEquals(0, list.allocated());
+        } catch (Exception e) {
+            fail("testLazyTrackStorage failed");
+            e.printStackTrace();
+        }
+    }
+
+    @Test
+    void testMaxTracks() {
+        try {
+            assertEquals(30, album.getMaxTracks());
+            album.setMaxTracks(40);
+            for (int i = 1; i < 40; ++i) {
+                album.addTrack(new Track("Box set song " + i, 200, "Random Artist"));
+            }
+            assertEquals(40, album.getTracks().length);
+            assertEquals("Box set song 39", album.getTrack(39).getName());
+            Exception ex = assertThrows(Exception.class, () -> album.addTrack(track2));
+            assertEquals("[ERROR] Wrong index", ex.getMessage());
+
+            ex = assertThrows(Exception.class, () -> album.setMaxTracks(30));
+            assertEquals(Album.ERR_WRONG_INDEX, ex.getMessage());
+            assertThrows(Exception.class, () -> album.setMaxTracks(0));
+
+            album.emptyAlbum();
+            album.setMaxTracks(2);
+            album.addTrack(track1);
+            album.addTrack(track2);
+            assertEquals(2, album.getTracks().length);
+            ex = assertThrows(Exception.class, () -> album.getTrack(2));
+            assertEquals(Album.ERR_WRONG_INDEX, ex.getMessage());
+        } catch (Exception e) {
+            fail("testMaxTracks failed");
+            e.printStackTrace();
+        }
+    }
+
 }
@@ -0,0 +1,95 @@
+package edu.uoc.pac3;
+
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class ArtistNamesTest {
+
+    private static final String[] NAMES = {
+            "Nirvana", "the beatles", "   the    beatles     ", "tHE bEATLES tribute", "\tpink\nfloyd\r",
+            "\u0001abba\u0001", "a", "u2", "ac dc", "ac/dc", "jay-z", "Jay Z", "guns n roses", "o'connor",
+            "björk", "BJÖRK", "motörhead", "ırvana", "straße", "ßa", "İstanbul", "Kelvin", "sigur rós",
+            "  x  yz ", "ab cd", "ab\u0001cd"
+    };
+
+    /**
+     * Formats an album artist the way Album.setArtist used to, with split and a regular expression.
+     */
+    private static String referenceAlbumArtist(String name) {
+        String[] nameParts = name.trim().split("\\s+");
+        StringBuilder formattedName = new StringBuilder();
+        for (int i = 0; i < nameParts.length; i++) {
+            String part = nameParts[i];
+            formattedName.append(Character.toUpperCase(part.charAt(0)));
+            if (part.length() > 1) {
+                formattedName.append(part.substring(1).toLowerCase());
+            }
+            if (i < nameParts.length - 1) {
+                formattedName.append("-");
+            }
+        }
+        String formatted = formattedName.toString();
+        return formatted.matches("[A-Z][a-z]+(-[A-Z][a-z]+)*") ? formatted : null;
+    }
+
+    /**
+     * Formats a cover artist the way AlbumCover.setArtist used to, with split.
+     */
+    private static String referenceCoverArtist(String name) {
+        String[] words = name.trim().split("\\s+");
+        StringBuilder sb = new StringBuilder();
+        for (int i = 0; i < words.length; i++) {
+            String word = words[i];
+            if (i > 0) {
+                sb.append(" ");
+            }
+            sb.append(word.substring(0, 1).toUpperCase()).append(word.substring(1).toLowerCase());
+        }
+        return sb.toString();
+    }
+
+    @Test
+    void testIsBlank() {
+        assertTrue(ArtistNames.isBlank(null));
+        assertTrue(ArtistNames.isBlank(""));
+        assertTrue(ArtistNames.isBlank(" \t\n\u0001 "));
+        assertFalse(ArtistNames.isBlank(" a "));
+    }
+
+    @Test
+    void testFormatAlbumArtist() {
+        assertEquals("The-Beatles-Tribute", ArtistNames.formatAlbumArtist("       the bEAtLES    TRIBUTE   "));
+        assertEquals("Pink-Floyd", ArtistNames.formatAlbumArtist("\tpink\nfloyd\r"));
+        assertNull(ArtistNames.formatAlbumArtist("u2"));
+        assertNull(ArtistNames.formatAlbumArtist("  x  yz "));
+        assertNull(ArtistNames.formatAlbumArtist("björk"));
+        for (String name : NAMES) {
+            assertEquals(referenceAlbumArtist(name), ArtistNames.formatAlbumArtist(name), name);
+            assertEquals(referenceAlbumArtist(name), ArtistNames.formatAlbumArtist(name), name);
+        }
+    }
+
+    @Test
+    void testFormatComposer() {
+        String name = "Kurt Cobain";
+        assertSame(name, ArtistNames.formatComposer(name));
+        assertEquals("Kurt Cobain", ArtistNames.formatComposer(" Kurt Cobain"));
+        assertEquals("Kurt Cobain", ArtistNames.formatComposer("Kurt  \t Cobain\n"));
+        assertEquals("Lennon-McCartney", ArtistNames.formatComposer("\tLennon-McCartney "));
+        assertEquals("", ArtistNames.formatComposer("   "));
+        assertEquals("", ArtistNames.formatComposer(""));
+        assertNull(ArtistNames.formatComposer(null));
+    }
+
+    @Test
+    void testFormatCoverArtist() {
+        assertEquals("Iain Macmillan", ArtistNames.formatCoverArtist("   iAIN    macMILLAN "));
+        assertEquals("Björk", ArtistNames.formatCoverArtist("BJÖRK"));
+        for (String name : NAMES) {
+            assertEquals(referenceCoverArtist(name), ArtistNames.formatCoverArtist(name), name);
+            assertEquals(referenceCoverArtist(name), ArtistNames.formatCoverArtist(name), name);
+        }
+    }
+
+}
@@ -0,0 +1,194 @@
+package edu.uoc.pac3;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.ByteArrayOutputStream;
+import java.nio.ByteBuffer;
+import java.nio.channels.Channels;
+import java.nio.channels.WritableByteChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.LocalDate;
+import java.time.Month;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Iterator;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class CatalogueExporterTest {
+
+    @TempDir
+    Path dir;
+
+    Album abbeyRoad;
+    Album unreleased;
+
+    @BeforeEach
+    void initializeAlbums() {
+        try {
+            abbeyRoad = new Album("Abbey Road \"Remastered\"", "the beatles", "ROCK&ROLL",
+                    LocalDate.of(1969, Month.SEPTEMBER, 26), false, 14.99);
+            abbeyRoad.setAlbumCover("Abbey Road", "iain macmillan", 1000, 1000);
+            abbeyRoad.addTrack(new Track("Come Together", 259, "Lennon-McCartney"));
+            abbeyRoad.addTrack(new Track("Something, Part 1", 182, "George Harrison"));
+            unreleased = new Album("Ünreleased\n♫ 𝄞", "bjork", "JAZZ");
+            unreleased.addTrack(new Track("Tab\tTrack", 60, null));
+        } catch (Exception e) {
+            fail("initializeAlbums failed");
+            e.printStackTrace();
+        }
+    }
+
+    private String export(CatalogueExporter.Format format, int bufferSize, List<Album> albums) throws Exception {
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+        long written = new CatalogueExporter(format, bufferSize).export(albums, Channels.newChannel(out));
+        assertEquals(out.size(), written);
+        return new String(out.toByteArray(), StandardCharsets.UTF_8);
+    }
+
+    @Test
+    void testExportJson() {
+        try {
+            String expected = "[\n"
+                    + "{\"id\":\"" + abbeyRoad.getId() + "\",\"title\":\"Abbey Road \\\"Remastered\\\"\","
+                    + "\"artist\":\"The-Beatles\",\"genre\":\"ROCK&ROLL\",\"releaseDate\":\"1969-09-26\","
+                    + "\"availableOnline\":false,\"price\":14.99,\"totalDurationSeconds\":441,"
+                    + "\"cover\":{\"name\":\"Abbey Road\",\"artist\":\"Iain Macmillan\",\"width\":1000,\"height\":1000},"
+                    + "\"tracks\":[{\"name\":\"Come Together\",\"duration\":259,\"composer\":\"Lennon-McCartney\"},"
+                    + "{\"name\":\"Something, Part 1\",\"duration\":182,\"composer\":\"George Harrison\"}]},\n"
+                    + "{\"id\":\"" + unreleased.getId() + "\",\"title\":\"Ünreleased\\n♫ 𝄞\","
+                    + "\"artist\":\"Bjork\",\"genre\":\"JAZZ\",\"releaseDate\":null,"
+                    + "\"availableOnline\":false,\"price\":14.99,\"totalDurationSeconds\":60,\"cover\":null,"
+                    + "\"tracks\":[{\"name\":\"Tab\\tTrack\",\"duration\":60,\"composer\":null}]}\n"
+                    + "]\n";
+            List<Album> albums = Arrays.asList(abbeyRoad, unreleased);
+            assertEquals(expected, export(CatalogueExporter.Format.JSON, 64, albums));
+            assertEquals(expected, export(CatalogueExporter.Format.JSON, 1024 * 1024, albums));
+            assertEquals("[\n]\n", export(CatalogueExporter.Format.JSON, 64, Arrays.asList()));
+        } catch (Exception e) {
+            fail("testExportJson failed");
+            e.printStackTrace();
+        }
+    }
+
+    @Test
+    void testExportCsv() {
+        try {
+            unreleased.setPrice(15.0);
+            String expected = "album," + abbeyRoad.getId() + ",\"Abbey Road \"\"Remastered\"\"\",\"The Beatles\","
+                    + "\"ROCK&ROLL\",1969-09-26,false,14.99\n"
+                    + "track," + abbeyRoad.getId() + ",\"Come Together\",259,\"Lennon-McCartney\"\n"
+                    + "track," + abbeyRoad.getId() + ",\"Something, Part 1\",182,\"George Harrison\"\n"
+                    + "album," + unreleased.getId() + ",\"Ünreleased ♫ 𝄞\",\"Bjork\",\"JAZZ\",,false,15.0\n"
+                    + "track," + unreleased.getId() + ",\"Tab\tTrack\",60,\n";
+            assertEquals(expected, export(CatalogueExporter.Format.CSV, 64, Arrays.asList(abbeyRoad, unreleased)));
+        } catch (Exception e) {
+            fail("testExportCsv failed");
+            e.printStackTrace();
+        }
+    }
+
+    @Test
+    void testCsvRoundTrip() {
+        try {
+            Path file = dir.resolve("catalogue.csv");
+            long written = new CatalogueExporter(CatalogueExporter.Format.CSV).export(Arrays.asList(abbeyRoad), file);
+            assertEquals(Files.size(file), written);
+
+            List<Album> albums = new CatalogueLoader().load(file).getAlbums();
+            assertEquals(1, albums.size());
+            Album loaded = albums.get(0);
+            assertEquals(abbeyRoad.getTitle(), loaded.getTitle());
+            assertEquals(abbeyRoad.getArtist(), loaded.getArtist());
+            assertEquals(abbeyRoad.getGenre(), loaded.getGenre());
+            assertEquals(abbeyRoad.getReleaseDate(), loaded.getReleaseDate());
+            assertEquals(abbeyRoad.getPriceMills(), loaded.getPriceMills());
+            assertEquals(abbeyRoad.getTrack(0), loaded.getTrack(0));
+            assertEquals(abbeyRoad.getTrack(1), loaded.getTrack(1));
+            assertEquals(abbeyRoad.getTotalDuration(), loaded.getTotalDuration());
+
+            // Years outside 1000 to 9999 keep four digits and get a sign where LocalDate.toString gives one
+            List<Album> dated = new ArrayList<>();
+            for (LocalDate date : Arrays.asList(LocalDate.of(999, 3, 1), LocalDate.of(5, 12, 31),
+                    LocalDate.of(0, 1, 1), LocalDate.of(-44, 3, 15), LocalDate.of(-12345, 6, 7),
+                    LocalDate.of(10000, 1, 1), LocalDate.of(9999, 12, 31))) {
+                dated.add(new Album("Dated " + date, "the beatles", "ROCK&ROLL", date, false, 9.99));
+            }
+            new CatalogueExporter(CatalogueExporter.Format.CSV).export(dated, file);
+            String csv = new String(Files.readAllBytes(file), StandardCharsets.UTF_8);
+            for (Album album : dated) {
+                assertTrue(csv.contains("," + album.getReleaseDate() + ","), album.getReleaseDate().toString());
+            }
+            List<Album> reloaded = new CatalogueLoader().load(file).getAlbums();
+            assertEquals(dated.size(), reloaded.size());
+            for (int i = 0; i < dated.size(); i++) {
+                assertEquals(dated.get(i).getReleaseDate(), reloaded.get(i).getReleaseDate());
+            }
+        } catch (Exception e) {
+            fail("testCsvRoundTrip failed");
+            e.printStackTrace();
+        }
+    }
+
+    @Test
+    void testLargeStreamingExport() {
+        try {
+            // A generated catalogue which is never held in memory, written to a channel which discards the bytes
+            Iterable<Album> catalogue = () -> new Iterator<Album>() {
+                int next = 0;
+
+                @Override
+                public boolean hasNext() {
+                    return next < 20000;
+                }
+
+                @Override
+                public Album next() {
+                    next++;
+                    return abbeyRoad;
+                }
+            };
+            long[] writes = new long[2];
+            WritableByteChannel sink = new WritableByteChannel() {
+                @Override
+                public int write(ByteBuffer src) {
+                    int length = src.remaining();
+                    src.position(src.limit());
+                    writes[0]++;
+                    writes[1] += length;
+                    return length;
+                }
+
+                @Override
+                public boolean isOpen() {
+                    return true;
+                }
+
+                @Override
+                public void close() {
+                }
+            };
+            String single = export(CatalogueExporter.Format.JSON, 1024, Arrays.asList(abbeyRoad));
+            long written = new CatalogueExporter(CatalogueExporter.Format.JSON, 64 * 1024).export(catalogue, sink);
+            // Every album but the first one is preceded by ",\n"
+            assertEquals((single.getBytes(StandardCharsets.UTF_8).length - 5) * 20000L + 5 + 2 * 19999, written);
+            assertEquals(written, writes[1]);
+            assertTrue(writes[0] <= written / (64 * 1024 - 64) + 1);
+        } catch (Exception e) {
+            fail("testLargeStreamingExport failed");
+            e.printStackTrace();
+        }
+    }
+
+    @Test
+    void testConstructor() {
+        assertThrows(IllegalArgumentException.class, () -> new CatalogueExporter(null));
+        assertThrows(IllegalArgumentException.class, () -> new CatalogueExporter(CatalogueExporter.Format.CSV, 63));
+    }
+
+}
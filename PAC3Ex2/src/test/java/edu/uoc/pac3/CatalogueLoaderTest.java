@@ -0,0 +1,124 @@
+package edu.uoc.pac3;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.LocalDate;
+import java.time.Month;
+import java.util.List;
+import java.util.concurrent.ForkJoinPool;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class CatalogueLoaderTest {
+
+    private static final String CATALOGUE = String.join("\n",
+            "# type,key,title,artist,genre,releaseDate,availableOnline,price",
+            "album,1,Nevermind,nirvana,rock&roll,1991-09-24,false,14.99",
+            "track,1,Smells Like Teen Spirit,301,Kurt Cobain",
+            "track,2,Come Together,259,Lennon-McCartney",
+            "album,2,\"Abbey Road, Remastered\",the beatles,POP,,true,10.5",
+            "track,1,In Bloom,254,Kurt Cobain",
+            "",
+            "album,3,Bad,U2,POP,1987-08-31,false,9.99",
+            "album,4,Kind of Blue,miles davis,JAZZ,1959-08-17,false,3.50",
+            "album,5,Thriller,michael jackson,DISCO,1982-13-30,false,12",
+            "track,1,Smells Like Teen Spirit,301,Kurt Cobain",
+            "track,1,Lithium,0,Kurt Cobain",
+            "track,9,Billie Jean,294,Michael Jackson",
+            "track,2,\"Here Comes the \"\"Sun\"\"\",185,George Harrison",
+            "album,1,Bleach,nirvana,ROCK&ROLL,1989-06-15,false,12.5",
+            "nonsense",
+            "album,6,Blue Train,john coltrane,jazz,1958-01-01,true,24.99\r",
+            "track,6,Blue Train,643,John Coltrane");
+
+    @TempDir
+    Path dir;
+
+    private CatalogueLoader.Result load(int chunkSize) throws Exception {
+        return new CatalogueLoader(ForkJoinPool.commonPool(), chunkSize).load(writeCatalogue());
+    }
+
+    private void checkResult(CatalogueLoader.Result result) throws Exception {
+        List<Album> albums = result.getAlbums();
+        assertEquals(2, albums.size());
+
+        Album nevermind = albums.get(0);
+        assertEquals("Nevermind", nevermind.getTitle());
+        assertEquals("Nirvana", nevermind.getArtist());
+        assertEquals("ROCK&ROLL", nevermind.getGenre());
+        assertEquals(LocalDate.of(1991, Month.SEPTEMBER, 24), nevermind.getReleaseDate());
+        assertFalse(nevermind.isAvailableOnline());
+        assertEquals(14.99, nevermind.getPrice());
+        assertEquals("Smells Like Teen Spirit", nevermind.getTrack(0).getName());
+        assertEquals("In Bloom", nevermind.getTrack(1).getName());
+        assertNull(nevermind.getTrack(2));
+
+        Album abbeyRoad = albums.get(1);
+        assertEquals("Abbey Road, Remastered", abbeyRoad.getTitle());
+        assertEquals("The-Beatles", abbeyRoad.getArtist());
+        assertNull(abbeyRoad.getReleaseDate());
+        assertTrue(abbeyRoad.isAvailableOnline());
+        assertEquals(10.5, abbeyRoad.getPrice());
+        assertEquals("Come Together", abbeyRoad.getTrack(0).getName());
+        assertEquals("Here Comes the \"Sun\"", abbeyRoad.getTrack(1).getName());
+
+        List<CatalogueLoader.Reject> rejects = result.getRejects();
+        long[] lines = {8, 9, 10, 11, 12, 13, 15, 16, 17, 18};
+        String[] messages = {"[ERROR] The artist contains invalid characters", Album.ERR_MIN_PRICE,
+                CatalogueLoader.ERR_MALFORMED_ROW, Album.ERR_TRACK_EXISTS, Track.ERR_MIN_DURATION,
+                CatalogueLoader.ERR_UNKNOWN_ALBUM, CatalogueLoader.ERR_DUPLICATED_ALBUM,
+                CatalogueLoader.ERR_MALFORMED_ROW, Album.ERR_MAX_PRICE, CatalogueLoader.ERR_UNKNOWN_ALBUM};
+        assertEquals(lines.length, rejects.size());
+        for (int i = 0; i < lines.length; i++) {
+            assertEquals(lines[i], rejects.get(i).getLine());
+            assertEquals(messages[i], rejects.get(i).getMessage());
+        }
+    }
+
+    @Test
+    void testLoad() {
+        try {
+            checkResult(new CatalogueLoader().load(writeCatalogue()));
+        } catch (Exception e) {
+            fail("testLoad failed");
+            e.printStackTrace();
+        }
+    }
+
+    @Test
+    void testLoadInSmallChunks() {
+        try {
+            for (int chunkSize = 1; chunkSize < 200; chunkSize += 7) {
+                checkResult(load(chunkSize));
+            }
+        } catch (Exception e) {
+            fail("testLoadInSmallChunks failed");
+            e.printStackTrace();
+        }
+    }
+
+    @Test
+    void testLoadEmptyFile() {
+        try {
+            Path file = dir.resolve("empty.csv");
+            Files.write(file, new byte[0]);
+            CatalogueLoader.Result result = new CatalogueLoader().load(file);
+            assertTrue(result.getAlbums().isEmpty());
+            assertTrue(result.getRejects().isEmpty());
+        } catch (Exception e) {
+            fail("testLoadEmptyFile failed");
+            e.printStackTrace();
+        }
+    }
+
+    private Path writeCatalogue() throws Exception {
+        Path file = dir.resolve("catalogue.csv");
+        Files.write(file, CATALOGUE.getBytes(StandardCharsets.UTF_8));
+        return file;
+    }
+
+}
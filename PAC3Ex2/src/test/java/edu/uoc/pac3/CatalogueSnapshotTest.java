@@ -0,0 +1,139 @@
+package edu.uoc.pac3;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.LocalDate;
+import java.time.Month;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class CatalogueSnapshotTest {
+
+    @TempDir
+    Path dir;
+
+    List<Album> albums;
+    Path file;
+
+    @BeforeEach
+    void initializeCatalogue() {
+        try {
+            albums = new ArrayList<>();
+            Album nevermind = new Album("Nevermind", "nirvana", "ROCK&ROLL", LocalDate.of(1991, Month.SEPTEMBER, 24),
+                    false, 14.99, "Nevermind cover", "kirk weddle", 560, 480);
+            nevermind.addTrack(new Track("Smells Like Teen Spirit", 301, "Kurt Cobain"));
+            Track inBloom = new Track("In Bloom", 254, "Kurt Cobain");
+            nevermind.addTrack(inBloom);
+            nevermind.addTrack(new Track("Come as You Are", 219, "Kurt Cobain"));
+            nevermind.removeTrack(inBloom);
+            albums.add(nevermind);
+
+            Album abbeyRoad = new Album("Abbey Road", "the beatles tribute", "POP");
+            abbeyRoad.setAvailableOnline(true);
+            abbeyRoad.setPrice(23.5);
+            albums.add(abbeyRoad);
+
+            file = dir.resolve("catalogue.snapshot");
+            CatalogueSnapshot.write(file, albums);
+        } catch (Exception e) {
+            fail("initializeCatalogue failed");
+            e.printStackTrace();
+        }
+    }
+
+    @Test
+    void testReadFromMappedFile() {
+        try {
+            CatalogueSnapshot snapshot = CatalogueSnapshot.open(file);
+            assertEquals(2, snapshot.size());
+            assertEquals(2, snapshot.getTrackCount());
+
+            assertEquals(albums.get(0).getId(), snapshot.getId(0));
+            assertEquals("Nevermind", snapshot.getTitle(0));
+            assertEquals("Nirvana", snapshot.getArtist(0));
+            assertEquals("ROCK&ROLL", snapshot.getGenre(0));
+            assertEquals(LocalDate.of(1991, Month.SEPTEMBER, 24), snapshot.getReleaseDate(0));
+            assertFalse(snapshot.isAvailableOnline(0));
+            assertEquals(14.99, snapshot.getPrice(0));
+            assertEquals(14990, snapshot.getPriceMills(0));
+            assertEquals(23500, snapshot.getPriceMills(1));
+            assertEquals(520, snapshot.getTotalDurationSeconds(0));
+            assertEquals(2, snapshot.getTrackCount(0));
+
+            assertEquals("The-Beatles-Tribute", snapshot.getArtist(1));
+            assertNull(snapshot.getReleaseDate(1));
+            assertTrue(snapshot.isAvailableOnline(1));
+            assertEquals(0, snapshot.getTrackCount(1));
+
+            assertThrows(IndexOutOfBoundsException.class, () -> snapshot.getTitle(2));
+        } catch (Exception e) {
+            fail("testReadFromMappedFile failed");
+            e.printStackTrace();
+        }
+    }
+
+    @Test
+    void testGetAlbum() {
+        try {
+            CatalogueSnapshot snapshot = CatalogueSnapshot.open(file);
+            for (int i = 0; i < albums.size(); i++) {
+                Album expected = albums.get(i);
+                Album album = snapshot.getAlbum(i);
+                assertSame(album, snapshot.getAlbum(i));
+                assertEquals(expected.getId(), album.getId());
+                assertEquals(expected.getTitle(), album.getTitle());
+                assertEquals(expected.getArtist(), album.getArtist());
+                assertEquals(expected.getGenre(), album.getGenre());
+                assertEquals(expected.getReleaseDate(), album.getReleaseDate());
+                assertEquals(expected.isAvailableOnline(), album.isAvailableOnline());
+                assertEquals(expected.getPrice(), album.getPrice());
+                assertEquals(expected.getPriceMills(), album.getPriceMills());
+                assertEquals(expected.getTotalDuration(), album.getTotalDuration());
+                assertArrayEquals(expected.getTracks(), album.getTracks());
+            }
+            AlbumCover cover = snapshot.getAlbum(0).getAlbumCover();
+            assertEquals("Nevermind cover", cover.getName());
+            assertEquals("Kirk Weddle", cover.getArtist());
+            assertEquals(560, cover.getWidth());
+            assertEquals(480, cover.getHeight());
+            assertNull(snapshot.getAlbum(0).getTrack(1));
+            assertNull(snapshot.getAlbum(1).getAlbumCover());
+        } catch (Exception e) {
+            fail("testGetAlbum failed");
+            e.printStackTrace();
+        }
+    }
+
+    @Test
+    void testOpenInvalidFile() {
+        try {
+            Path other = dir.resolve("other.bin");
+            Files.write(other, "album,1,Nevermind".getBytes());
+            IOException ex = assertThrows(IOException.class, () -> CatalogueSnapshot.open(other));
+            assertEquals(CatalogueSnapshot.ERR_NOT_A_SNAPSHOT, ex.getMessage());
+
+            byte[] bytes = Files.readAllBytes(file);
+            bytes[7] = 99;
+            Files.write(other, bytes);
+            ex = assertThrows(IOException.class, () -> CatalogueSnapshot.open(other));
+            assertEquals(CatalogueSnapshot.ERR_UNSUPPORTED_VERSION, ex.getMessage());
+
+            // Version 1 stored the price as a double and is no longer read
+            bytes[7] = 1;
+            Files.write(other, bytes);
+            ex = assertThrows(IOException.class, () -> CatalogueSnapshot.open(other));
+            assertEquals(CatalogueSnapshot.ERR_UNSUPPORTED_VERSION, ex.getMessage());
+        } catch (Exception e) {
+            fail("testOpenInvalidFile failed");
+            e.printStackTrace();
+        }
+    }
+
+}
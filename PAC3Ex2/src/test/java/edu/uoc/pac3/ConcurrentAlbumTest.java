@@ -0,0 +1,140 @@
+package edu.uoc.pac3;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class ConcurrentAlbumTest {
+
+    ConcurrentAlbum album;
+    Track track1;
+    Track track2;
+
+    @BeforeEach
+    void initializeConcurrentAlbum() {
+        try {
+            track1 = new Track("Smells Like Teen Spirit", 256, "Kurt Cobain");
+            track2 = new Track("Come as You Are", 194, "Chad Channing");
+            album = new ConcurrentAlbum(new Album("Nevermind", "Nirvana", "ROCK&ROLL"));
+            album.addTrack(track1);
+        } catch (Exception e) {
+            fail("initializeConcurrentAlbum failed");
+            e.printStackTrace();
+        }
+    }
+
+    @Test
+    void testDelegates() {
+        try {
+            album.addTrack(track2);
+            assertSame(track2, album.getTrack(1));
+            assertNull(album.getTrack(2));
+            assertEquals(30, album.getTracks().length);
+            assertTrue(album.isInTheAlbum(track2));
+            assertEquals(450, album.getTotalDurationSeconds());
+            assertEquals("00:07:30", album.getTotalDuration());
+
+            album.swapTracks(track1, track2);
+            assertSame(track2, album.getTrack(0));
+            album.removeTrack(track2);
+            assertNull(album.getTrack(0));
+            assertEquals(album.getAlbum().getTotalDuration(), album.getTotalDuration());
+
+            Exception ex = assertThrows(Exception.class, () -> album.getTrack(30));
+            assertEquals(Album.ERR_WRONG_INDEX, ex.getMessage());
+            ex = assertThrows(Exception.class, () -> album.addTrack(track1));
+            assertEquals(Album.ERR_TRACK_EXISTS, ex.getMessage());
+
+            album.emptyAlbum();
+            assertEquals("00:00:00", album.getTotalDuration());
+        } catch (Exception e) {
+            fail("testDelegates failed");
+            e.printStackTrace();
+        }
+    }
+
+    @Test
+    void testConcurrentAddsOfEqualTracks() throws InterruptedException {
+        album.emptyAlbum();
+        AtomicInteger added = new AtomicInteger();
+        AtomicInteger unexpected = new AtomicInteger();
+        List<Thread> threads = new ArrayList<>();
+        for (int t = 0; t < 8; t++) {
+            threads.add(new Thread(() -> {
+                for (int i = 0; i < 30; i++) {
+                    try {
+                        album.addTrack(new Track("Song " + i, 100, "Kurt Cobain"));
+                        added.incrementAndGet();
+                    } catch (Exception e) {
+                        if (!Album.ERR_TRACK_EXISTS.equals(e.getMessage())) {
+                            unexpected.incrementAndGet();
+                        }
+                    }
+                }
+            }));
+        }
+        for (Thread thread : threads) {
+            thread.start();
+        }
+        for (Thread thread : threads) {
+            thread.join();
+        }
+        assertEquals(0, unexpected.get());
+        assertEquals(30, added.get());
+        assertEquals(3000, album.getTotalDurationSeconds());
+        for (Track track : album.getTracks()) {
+            assertNotNull(track);
+        }
+    }
+
+    @Test
+    void testReadersSeeConsistentTotals() throws InterruptedException {
+        AtomicInteger inconsistent = new AtomicInteger();
+        Thread writer = new Thread(() -> {
+            for (int i = 0; i < 2000; i++) {
+                try {
+                    album.addTrack(track2);
+                    album.removeTrack(track2);
+                } catch (Exception e) {
+                    inconsistent.incrementAndGet();
+                }
+            }
+        });
+        Thread reader = new Thread(() -> {
+            for (int i = 0; i < 20000; i++) {
+                long total = album.getTotalDurationSeconds();
+                if (total != 256 && total != 450) {
+                    inconsistent.incrementAndGet();
+                }
+                int count = 0;
+                for (Track track : album.getTracks()) {
+                    if (track != null) {
+                        count++;
+                    }
+                }
+                if (count != 1 && count != 2) {
+                    inconsistent.incrementAndGet();
+                }
+                try {
+                    Track second = album.getTrack(1);
+                    if (second != null && second != track2) {
+                        inconsistent.incrementAndGet();
+                    }
+                } catch (Exception e) {
+                    inconsistent.incrementAndGet();
+                }
+            }
+        });
+        writer.start();
+        reader.start();
+        writer.join();
+        reader.join();
+        assertEquals(0, inconsistent.get());
+    }
+
+}
@@ -0,0 +1,164 @@
+package edu.uoc.pac3;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class CoverIndexTest {
+
+    CoverIndex index;
+    AlbumCover square;
+    AlbumCover smallSquare;
+    AlbumCover wide;
+    AlbumCover classic;
+
+    @BeforeEach
+    void initializeIndex() {
+        try {
+            square = new AlbumCover("Abbey Road", "Iain Macmillan", 1000, 1000);
+            smallSquare = new AlbumCover("Rumours", "Herbert Worthington", 300, 300);
+            wide = new AlbumCover("Wish You Were Here", "Hipgnosis", 1280, 720);
+            classic = new AlbumCover("Houses of the Holy", "Hipgnosis", 640, 480);
+
+            index = new CoverIndex();
+            for (AlbumCover cover : Arrays.asList(square, smallSquare, wide, classic)) {
+                assertTrue(index.add(cover));
+            }
+        } catch (Exception e) {
+            fail("initializeIndex failed");
+            e.printStackTrace();
+        }
+    }
+
+    @Test
+    void testAddAndRemove() {
+        assertEquals(4, index.size());
+        assertFalse(index.add(square));
+        assertTrue(index.contains(square));
+
+        assertTrue(index.remove(square));
+        assertFalse(index.remove(square));
+        assertFalse(index.contains(square));
+        assertEquals(3, index.size());
+        assertEquals(1, index.countCovers(AspectRatio.of(1, 1)));
+        assertFalse(index.contains(null));
+    }
+
+    @Test
+    void testGetCovers() {
+        AspectRatio oneToOne = AspectRatio.of(1, 1);
+        assertEquals(Arrays.asList(smallSquare, square), index.getCovers(oneToOne, 0));
+        assertEquals(Collections.singletonList(square), index.getCovers(oneToOne, 600));
+        assertEquals(Collections.singletonList(square), index.getCovers(oneToOne, 1000));
+        assertTrue(index.getCovers(oneToOne, 1001).isEmpty());
+        assertEquals(1, index.countCovers(AspectRatio.of(16, 9), 720));
+        assertEquals(0, index.countCovers(AspectRatio.of(16, 9), 721));
+        assertEquals(1, index.countCovers(AspectRatio.of(4, 3)));
+        assertEquals(0, index.countCovers(AspectRatio.of(3, 2)));
+        assertEquals(3, index.getRatios().size());
+    }
+
+    @Test
+    void testResizeMovesCover() {
+        try {
+            wide.setWidth(720);
+            assertEquals(0, index.countCovers(AspectRatio.of(16, 9)));
+            assertEquals(Arrays.asList(smallSquare, wide, square), index.getCovers(AspectRatio.of(1, 1), 0));
+
+            smallSquare.setHeight(600);
+            assertEquals(Arrays.asList(wide, square), index.getCovers(AspectRatio.of(1, 1), 0));
+            assertEquals(Collections.singletonList(smallSquare), index.getCovers(AspectRatio.of(1, 2), 300));
+            assertEquals(3, index.getRatios().size());
+
+            try {
+                classic.setWidth(0);
+                fail("testResizeMovesCover failed");
+            } catch (Exception e) {
+                assertEquals(1, index.countCovers(AspectRatio.of(4, 3), 480));
+            }
+        } catch (Exception e) {
+            fail("testResizeMovesCover failed");
+            e.printStackTrace();
+        }
+    }
+
+    @Test
+    void testSeveralIndexes() {
+        try {
+            CoverIndex other = new CoverIndex();
+            assertTrue(other.add(square));
+            square.setHeight(750);
+            assertEquals(1, index.countCovers(AspectRatio.of(4, 3), 750));
+            assertEquals(1, other.countCovers(AspectRatio.of(4, 3), 750));
+            assertTrue(index.remove(square));
+            assertTrue(other.contains(square));
+
+            square.setWidth(750);
+            assertEquals(0, index.countCovers(AspectRatio.of(1, 1), 750));
+            assertEquals(1, other.countCovers(AspectRatio.of(1, 1), 750));
+        } catch (Exception e) {
+            fail("testSeveralIndexes failed");
+            e.printStackTrace();
+        }
+    }
+
+    @Test
+    void testRemoveWhileResizing() throws InterruptedException {
+        AtomicInteger failures = new AtomicInteger();
+        for (int round = 0; round < 200; round++) {
+            CoverIndex covers = new CoverIndex();
+            AlbumCover cover;
+            try {
+                cover = new AlbumCover("Cover " + round, "Hipgnosis", 600, 600);
+            } catch (Exception e) {
+                fail("testRemoveWhileResizing failed");
+                return;
+            }
+            covers.add(cover);
+            Thread resizer = new Thread(() -> {
+                try {
+                    for (int i = 1; i <= 50; i++) {
+                        cover.setWidth(600 + i);
+                    }
+                } catch (Exception e) {
+                    failures.incrementAndGet();
+                }
+            });
+            resizer.start();
+            covers.remove(cover);
+            resizer.join();
+            if (covers.contains(cover) || !covers.getRatios().isEmpty()) {
+                failures.incrementAndGet();
+            }
+        }
+        assertEquals(0, failures.get());
+    }
+
+    @Test
+    void testCoverKeepsItsRatio() {
+        try {
+            assertSame(square.getRatio(), square.getRatio());
+            assertSame(AspectRatio.of(1, 1), square.getRatio());
+            square.setWidth(800);
+            assertSame(AspectRatio.of(4, 5), square.getRatio());
+            assertEquals("4:5", square.getAspectRatio());
+        } catch (Exception e) {
+            fail("testCoverKeepsItsRatio failed");
+            e.printStackTrace();
+        }
+    }
+
+    @Test
+    void testAspectRatio() {
+        assertSame(AspectRatio.of(16, 9), AspectRatio.of(1920, 1080));
+        assertEquals("16:9", AspectRatio.of(1920, 1080).toString());
+        assertThrows(IllegalArgumentException.class, () -> AspectRatio.of(0, 1));
+        assertThrows(IllegalArgumentException.class, () -> AspectRatio.of(1, -1));
+    }
+
+}
@@ -0,0 +1,47 @@
+package edu.uoc.pac3;
+
+import org.junit.jupiter.api.Test;
+
+import java.nio.ByteBuffer;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class CoverPixelsTest {
+
+    @Test
+    void testPixels() {
+        try {
+            AlbumCover cover = new AlbumCover("Abbey Road", "Iain Macmillan", 560, 480);
+            CoverPixels pixels = CoverPixels.forCover(cover);
+            assertTrue(pixels.matches(cover));
+            assertEquals(0, pixels.getPixel(559, 479));
+
+            pixels.setPixel(10, 20, 0xFF102030);
+            assertEquals(0xFF102030, pixels.getPixel(10, 20));
+            ByteBuffer buffer = pixels.asReadOnlyBuffer();
+            assertTrue(buffer.isDirect());
+            assertTrue(buffer.isReadOnly());
+            assertEquals(560 * 480 * 4, buffer.capacity());
+            assertEquals(0xFF102030, buffer.getInt((20 * 560 + 10) * 4));
+
+            pixels.fill(0x80FFFFFF);
+            assertEquals(0x80FFFFFF, pixels.getPixel(0, 0));
+            assertThrows(IndexOutOfBoundsException.class, () -> pixels.getPixel(560, 0));
+
+            cover.setWidth(480);
+            assertFalse(pixels.matches(cover));
+        } catch (Exception e) {
+            fail("testPixels failed");
+            e.printStackTrace();
+        }
+    }
+
+    @Test
+    void testResolution() {
+        Exception ex = assertThrows(Exception.class, () -> new CoverPixels(0, 480));
+        assertEquals(AlbumCover.ERR_MIN_RESOLUTION, ex.getMessage());
+        ex = assertThrows(Exception.class, () -> new CoverPixels(1081, 1080));
+        assertEquals(AlbumCover.ERR_MAX_RESOLUTION, ex.getMessage());
+    }
+
+}
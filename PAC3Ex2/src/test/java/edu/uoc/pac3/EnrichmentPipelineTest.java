@@ -0,0 +1,133 @@
+package edu.uoc.pac3;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class EnrichmentPipelineTest {
+
+    /**
+     * In-process stand-in of the metadata service, which waits a fixed latency before answering and records
+     * how many requests it serves at the same time.
+     */
+    static class LatencyService implements MetadataService {
+
+        private final long latencyMillis;
+        private final AtomicInteger active = new AtomicInteger();
+        private final AtomicInteger maxActive = new AtomicInteger();
+        private final AtomicInteger calls = new AtomicInteger();
+
+        LatencyService(long latencyMillis) {
+            this.latencyMillis = latencyMillis;
+        }
+
+        @Override
+        public AlbumMetadata fetch(Album album) throws Exception {
+            int now = active.incrementAndGet();
+            maxActive.accumulateAndGet(now, Math::max);
+            calls.incrementAndGet();
+            try {
+                Thread.sleep(latencyMillis);
+                if (album.getTitle().startsWith("Unknown")) {
+                    throw new Exception("Album not found");
+                }
+                List<Track> tracks = new ArrayList<>();
+                tracks.add(new Track("Intro", 60, "Composer"));
+                tracks.add(new Track("Outro", 90, "Composer"));
+                return new AlbumMetadata(album.getTitle(), "cover artist", 600, 600, tracks);
+            } finally {
+                active.decrementAndGet();
+            }
+        }
+
+    }
+
+    private static List<Album> albums(int count) throws Exception {
+        List<Album> albums = new ArrayList<>();
+        for (int i = 0; i < count; i++) {
+            albums.add(new Album("Album " + i, "artist", "POP"));
+        }
+        return albums;
+    }
+
+    @Test
+    void testEnrich() {
+        try {
+            List<Album> albums = albums(40);
+            LatencyService service = new LatencyService(1);
+            EnrichmentPipeline.Result result = new EnrichmentPipeline(service, 8, 4).enrich(albums);
+
+            assertEquals(40, result.getEnriched());
+            assertTrue(result.getFailures().isEmpty());
+            assertTrue(result.getBatches() >= 10);
+            assertTrue(service.maxActive.get() <= 8);
+            for (Album album : albums) {
+                assertEquals(album.getTitle(), album.getAlbumCover().getName());
+                assertEquals("Cover Artist", album.getAlbumCover().getArtist());
+                assertEquals("Intro", album.getTrack(0).getName());
+                assertEquals("Outro", album.getTrack(1).getName());
+            }
+        } catch (Exception e) {
+            fail("testEnrich failed");
+            e.printStackTrace();
+        }
+    }
+
+    @Test
+    void testFetchesOverlapUpToWindow() {
+        try {
+            LatencyService service = new LatencyService(50);
+            EnrichmentPipeline.Result result = new EnrichmentPipeline(service, 100, 16).enrich(albums(200));
+
+            assertEquals(200, result.getEnriched());
+            assertEquals(200, service.calls.get());
+            // Fetches overlap instead of running one after another, and never beyond the window
+            int maxActive = service.maxActive.get();
+            assertTrue(maxActive >= 50, "Only " + maxActive + " fetches at the same time");
+            assertTrue(maxActive <= 100, maxActive + " fetches at the same time");
+        } catch (Exception e) {
+            fail("testFetchesOverlapUpToWindow failed");
+            e.printStackTrace();
+        }
+    }
+
+    @Test
+    void testFailures() {
+        try {
+            List<Album> albums = albums(5);
+            Album unknown = new Album("Unknown", "artist", "POP");
+            Album full = new Album("Full", "artist", "POP");
+            full.setMaxTracks(1);
+            albums.add(unknown);
+            albums.add(full);
+
+            EnrichmentPipeline.Result result = new EnrichmentPipeline(new LatencyService(1), 2, 2).enrich(albums);
+
+            assertEquals(5, result.getEnriched());
+            assertEquals(2, result.getFailures().size());
+            assertEquals("Album not found", result.getFailures().get(unknown).getMessage());
+            assertEquals(ValidationError.WRONG_INDEX.getMessage(), result.getFailures().get(full).getMessage());
+            assertNull(unknown.getAlbumCover());
+
+            result = new EnrichmentPipeline(album -> null).enrich(Collections.singletonList(unknown));
+            assertEquals(1, result.getFailures().size());
+        } catch (Exception e) {
+            fail("testFailures failed");
+            e.printStackTrace();
+        }
+    }
+
+    @Test
+    void testConstructor() {
+        assertThrows(NullPointerException.class, () -> new EnrichmentPipeline(null));
+        assertThrows(IllegalArgumentException.class, () -> new EnrichmentPipeline(album -> null, 0, 1));
+        assertThrows(IllegalArgumentException.class, () -> new EnrichmentPipeline(album -> null, 1, 0));
+        assertFalse(EnrichmentPipeline.usesVirtualThreads() && Runtime.version().feature() < 21);
+    }
+
+}
@@ -0,0 +1,41 @@
+package edu.uoc.pac3;
+
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class MusicGenreTest {
+
+    @Test
+    public void testGetLabel() {
+        assertEquals("CLASSICAL", MusicGenre.CLASSICAL.getLabel());
+        assertEquals("DISCO", MusicGenre.DISCO.getLabel());
+        assertEquals("JAZZ", MusicGenre.JAZZ.getLabel());
+        assertEquals("POP", MusicGenre.POP.getLabel());
+        assertEquals("ROCK&ROLL", MusicGenre.ROCK_N_ROLL.getLabel());
+        assertEquals("Rock & Roll", MusicGenre.ROCK_N_ROLL.getDescription());
+        assertEquals('R', MusicGenre.ROCK_N_ROLL.getCode());
+        assertEquals(150, MusicGenre.ROCK_N_ROLL.getTempo());
+    }
+
+    @Test
+    public void testParse() {
+        for (MusicGenre genre : MusicGenre.values()) {
+            assertSame(genre, MusicGenre.parse(genre.getLabel()));
+            assertSame(genre, MusicGenre.parse(genre.getLabel().toLowerCase()));
+            assertSame(genre, MusicGenre.parse("\t " + genre.getLabel() + "  \n"));
+        }
+        assertSame(MusicGenre.ROCK_N_ROLL, MusicGenre.parse(" rock&Roll   "));
+        assertSame(MusicGenre.CLASSICAL, MusicGenre.parse("cLaSSiCAl"));
+        assertNull(MusicGenre.parse(null));
+        assertNull(MusicGenre.parse(""));
+        assertNull(MusicGenre.parse("   "));
+        assertNull(MusicGenre.parse("ROCK_N_ROLL"));
+        assertNull(MusicGenre.parse("ROCK ROLL"));
+        assertNull(MusicGenre.parse("CLASSICAL ROCK"));
+        assertNull(MusicGenre.parse("BLUES"));
+        assertNull(MusicGenre.parse("JAZ Z"));
+        assertNull(MusicGenre.parse("P0P"));
+    }
+
+}
@@ -0,0 +1,75 @@
+package edu.uoc.pac3;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.util.Arrays;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class PriceBatchTest {
+
+    List<Album> albums;
+
+    @BeforeEach
+    void initializeAlbums() {
+        try {
+            albums = Arrays.asList(new Album("Nevermind", "nirvana", "ROCK&ROLL"),
+                    new Album("Abbey Road", "the beatles", "POP"),
+                    new Album("Kind of Blue", "miles davis", "JAZZ"));
+            albums.get(0).setPrice(14.99);
+            albums.get(1).setPrice(5.5);
+            albums.get(2).setPrice(28.0);
+        } catch (Exception e) {
+            fail("initializeAlbums failed");
+            e.printStackTrace();
+        }
+    }
+
+    @Test
+    void testReprice() {
+        PriceBatch.Result result = PriceBatch.reprice(albums, 10);
+        assertEquals(16.489, albums.get(0).getPrice());
+        assertEquals(6.05, albums.get(1).getPrice());
+        assertEquals(29.99, albums.get(2).getPrice());
+        assertEquals(3, result.getChanged());
+        assertEquals(1, result.getClamped());
+
+        result = PriceBatch.reprice(albums, -20);
+        assertEquals(13.191, albums.get(0).getPrice());
+        assertEquals(4.99, albums.get(1).getPrice());
+        assertEquals(23.992, albums.get(2).getPrice());
+        assertEquals(1, result.getClamped());
+
+        result = PriceBatch.reprice(albums, 0);
+        assertEquals(0, result.getChanged());
+        assertEquals(0, result.getClamped());
+
+        PriceBatch.reprice(albums, -150);
+        for (Album album : albums) {
+            assertEquals(4.99, album.getPrice());
+        }
+    }
+
+    @Test
+    void testSetAvailableOnline() {
+        PriceBatch.Result result = PriceBatch.setAvailableOnline(albums, true);
+        for (Album album : albums) {
+            assertTrue(album.isAvailableOnline());
+        }
+        assertEquals(14.99, albums.get(0).getPrice());
+        assertEquals(23.992, albums.get(2).getPrice());
+        assertEquals(1, result.getChanged());
+        assertEquals(1, result.getClamped());
+
+        PriceBatch.reprice(albums, 70);
+        assertEquals(23.992, albums.get(0).getPrice());
+
+        result = PriceBatch.setAvailableOnline(albums, false);
+        assertFalse(albums.get(0).isAvailableOnline());
+        assertEquals(0, result.getChanged());
+        assertEquals(0, result.getClamped());
+    }
+
+}
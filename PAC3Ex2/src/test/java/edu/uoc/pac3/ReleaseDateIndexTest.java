@@ -0,0 +1,132 @@
+package edu.uoc.pac3;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.time.Clock;
+import java.time.Instant;
+import java.time.LocalDate;
+import java.time.Month;
+import java.time.YearMonth;
+import java.time.ZoneOffset;
+import java.util.Arrays;
+import java.util.Collections;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class ReleaseDateIndexTest {
+
+    ReleaseDateIndex index;
+    Album houses;
+    Album rumours;
+    Album wishYouWereHere;
+    Album upcoming;
+
+    @BeforeEach
+    void initializeIndex() {
+        try {
+            ReleaseClock.setClock(Clock.fixed(Instant.parse("2023-04-30T10:00:00Z"), ZoneOffset.UTC));
+            houses = new Album("Houses of the Holy", "led zeppelin", "ROCK&ROLL",
+                    LocalDate.of(1973, Month.MARCH, 28), false, 14.99);
+            rumours = new Album("Rumours", "fleetwood mac", "POP", LocalDate.of(1977, Month.FEBRUARY, 4), false, 14.99);
+            wishYouWereHere = new Album("Wish You Were Here", "pink floyd", "ROCK&ROLL",
+                    LocalDate.of(1975, Month.SEPTEMBER, 12), false, 14.99);
+            upcoming = new Album("Upcoming", "unknown", "JAZZ");
+
+            index = new ReleaseDateIndex();
+            for (Album album : Arrays.asList(houses, rumours, wishYouWereHere, upcoming)) {
+                assertTrue(index.add(album));
+            }
+        } catch (Exception e) {
+            fail("initializeIndex failed");
+            e.printStackTrace();
+        }
+    }
+
+    @AfterEach
+    void resetClock() {
+        ReleaseClock.resetClock();
+    }
+
+    @Test
+    void testAddAndRemove() {
+        assertEquals(4, index.size());
+        assertEquals(1, index.countUndated());
+        assertFalse(index.add(rumours));
+        assertTrue(index.contains(rumours));
+
+        assertTrue(index.remove(rumours));
+        assertFalse(index.remove(rumours));
+        assertFalse(index.contains(rumours));
+        assertEquals(3, index.size());
+        assertEquals(0, index.countByYear(1977));
+
+        rumours.setReleaseDate(LocalDate.of(1976, Month.JANUARY, 1));
+        assertEquals(0, index.countByYear(1976));
+    }
+
+    @Test
+    void testAlbumsWithoutDateHolder() {
+        try {
+            Album undated = new Album("Undated", "unknown", "JAZZ");
+            assertNull(undated.findReleaseDateHolder());
+            assertFalse(index.contains(undated));
+            assertFalse(index.remove(undated));
+            assertNull(undated.findReleaseDateHolder());
+
+            assertTrue(index.add(undated));
+            assertEquals(2, index.countUndated());
+            undated.setReleaseDate(LocalDate.of(1976, Month.JANUARY, 1));
+            assertEquals(1, index.countByYear(1976));
+            assertEquals(1, index.countUndated());
+        } catch (Exception e) {
+            fail("testAlbumsWithoutDateHolder failed");
+            e.printStackTrace();
+        }
+    }
+
+    @Test
+    void testRangeQueries() {
+        assertEquals(Arrays.asList(wishYouWereHere, rumours),
+                index.getReleasedBetween(LocalDate.of(1975, Month.JANUARY, 1), LocalDate.of(1979, Month.DECEMBER, 31)));
+        assertEquals(3, index.countReleasedBetween(LocalDate.of(1973, Month.MARCH, 28), LocalDate.of(1977, Month.FEBRUARY, 4)));
+        assertEquals(0, index.countReleasedBetween(LocalDate.of(1979, Month.JANUARY, 1), LocalDate.of(1975, Month.JANUARY, 1)));
+        assertEquals(1, index.countByYear(1975));
+        assertEquals(1, index.countByMonth(YearMonth.of(1973, Month.MARCH)));
+        assertEquals(0, index.countByMonth(YearMonth.of(1973, Month.APRIL)));
+    }
+
+    @Test
+    void testSetReleaseDateUpdatesIndex() {
+        assertEquals(Collections.emptyList(), index.getUpcomingReleases(7));
+
+        upcoming.setReleaseDate(LocalDate.of(2023, Month.MAY, 5));
+        assertEquals(0, index.countUndated());
+        assertEquals(Collections.singletonList(upcoming), index.getUpcomingReleases(7));
+        assertEquals(Collections.emptyList(), index.getUpcomingReleases(4));
+        assertEquals(1, index.countByRelativeYear(0));
+        assertEquals("Released on May 5, 2023 (this year)", upcoming.getFormattedReleaseDate());
+
+        upcoming.setReleaseDate(LocalDate.of(2024, Month.MARCH, 1));
+        assertEquals(0, index.countByRelativeYear(0));
+        assertEquals(1, index.countByRelativeYear(1));
+        assertEquals(0, index.countByRelativeYear(-1));
+
+        upcoming.setReleaseDate(null);
+        assertEquals(1, index.countUndated());
+        assertEquals(0, index.countByRelativeYear(1));
+
+        rumours.setReleaseDate(LocalDate.of(1975, Month.MAY, 1));
+        assertEquals(Arrays.asList(rumours, wishYouWereHere), index.getReleasedBetween(LocalDate.of(1975, Month.JANUARY, 1),
+                LocalDate.of(1979, Month.DECEMBER, 31)));
+        assertEquals(0, index.countByYear(1977));
+
+        ReleaseDateIndex other = new ReleaseDateIndex();
+        other.add(rumours);
+        rumours.setReleaseDate(LocalDate.of(1977, Month.FEBRUARY, 4));
+        assertEquals(1, index.countByYear(1977));
+        assertEquals(1, other.countByYear(1977));
+    }
+
+}
@@ -0,0 +1,94 @@
+package edu.uoc.pac3;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class SymbolsTest {
+
+    @Test
+    void testIntern() {
+        int id = Symbols.intern("Lennon-McCartney");
+        assertEquals(id, Symbols.intern(new String("Lennon-McCartney")));
+        assertNotEquals(id, Symbols.intern("Harrison"));
+        assertEquals("Lennon-McCartney", Symbols.resolve(id));
+        assertEquals(Symbols.NO_SYMBOL, Symbols.intern(null));
+        assertNull(Symbols.resolve(Symbols.NO_SYMBOL));
+        assertTrue(Symbols.size() >= 2);
+    }
+
+    @Test
+    void testNamesAreShared() {
+        try {
+            Album first = new Album("Abbey Road", "the beatles", "ROCK&ROLL");
+            Album second = new Album("Let It Be", "  THE   beatles ", "ROCK&ROLL");
+            assertSame(first.getArtist(), second.getArtist());
+            assertEquals("The-Beatles", second.getArtist());
+
+            Track track = new Track("Something", 182, new String("George Harrison"));
+            Track copy = new Track("Something", 182, "George " + "Harrison".trim());
+            assertSame(track.getComposer(), copy.getComposer());
+            assertEquals(track, copy);
+            assertEquals(track.hashCode(), copy.hashCode());
+
+            Track spaced = new Track("Something", 182, " George   Harrison ");
+            assertSame(track.getComposer(), spaced.getComposer());
+            assertEquals(track, spaced);
+
+            copy.setComposer(null);
+            assertNull(copy.getComposer());
+            assertNotEquals(track, copy);
+
+            AlbumCover cover = new AlbumCover("Abbey Road", "iain macmillan", 1000, 1000);
+            assertEquals("Iain Macmillan", cover.getArtist());
+        } catch (Exception e) {
+            fail("testNamesAreShared failed");
+            e.printStackTrace();
+        }
+    }
+
+    @Test
+    void testReportOnCatalogue() {
+        try {
+            Symbols.Report before = Symbols.getReport();
+            List<Album> catalogue = new ArrayList<>();
+            StringBuilder sb = new StringBuilder();
+            for (int i = 0; i < 2000; i++) {
+                Album album = new Album("Album " + i, "artist " + letters(i % 100), "POP");
+                for (int j = 0; j < 10; j++) {
+                    sb.setLength(0);
+                    sb.append("Composer ").append((i * 10 + j) % 300);
+                    album.addTrack(new Track("Track " + j, 180, sb.toString()));
+                }
+                catalogue.add(album);
+            }
+            Symbols.Report after = Symbols.getReport();
+
+            assertEquals(2000, catalogue.size());
+            assertTrue(after.getSymbols() - before.getSymbols() <= 400);
+            assertTrue(after.getReferences() - before.getReferences() >= 22000);
+            assertTrue(after.getDuplicates() - before.getDuplicates() >= 19000);
+            assertTrue(after.getDuplicateBytes() - before.getDuplicateBytes() > after.getTableBytes());
+            assertTrue(after.getSavedBytes() > before.getSavedBytes());
+            assertTrue(after.toString().contains("symbols"));
+        } catch (Exception e) {
+            fail("testReportOnCatalogue failed");
+            e.printStackTrace();
+        }
+    }
+
+    @Test
+    void testEstimateSize() {
+        assertEquals(24 + 16, Symbols.estimateSize(""));
+        assertEquals(24 + 24, Symbols.estimateSize("Harrison"));
+        assertEquals(24 + 40, Symbols.estimateSize("Šostakovič"));
+    }
+
+    private static String letters(int n) {
+        return "" + (char) ('a' + n / 10) + (char) ('a' + n % 10) + "x";
+    }
+
+}
@@ -0,0 +1,84 @@
+package edu.uoc.pac3;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ForkJoinPool;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class ThumbnailPipelineTest {
+
+    private static CoverPixels checkerboard(int width, int height) throws Exception {
+        CoverPixels pixels = new CoverPixels(width, height);
+        for (int y = 0; y < height; y++) {
+            for (int x = 0; x < width; x++) {
+                pixels.setPixel(x, y, ((x + y) % 2 == 0) ? 0xFFFFFFFF : 0xFF000000);
+            }
+        }
+        return pixels;
+    }
+
+    @Test
+    void testCreateThumbnail() {
+        try {
+            CoverPixels cover = checkerboard(560, 480);
+            CoverPixels thumbnail = ThumbnailPipeline.createThumbnail(cover, 140);
+            assertEquals(140, thumbnail.getWidth());
+            assertEquals(120, thumbnail.getHeight());
+            assertEquals(0xFF808080, thumbnail.getPixel(0, 0));
+            assertEquals(0xFF808080, thumbnail.getPixel(139, 119));
+
+            CoverPixels tall = ThumbnailPipeline.createThumbnail(checkerboard(300, 600), 100);
+            assertEquals(50, tall.getWidth());
+            assertEquals(100, tall.getHeight());
+
+            CoverPixels small = ThumbnailPipeline.createThumbnail(checkerboard(32, 16), 64);
+            assertEquals(32, small.getWidth());
+            assertEquals(16, small.getHeight());
+            assertEquals(0xFFFFFFFF, small.getPixel(0, 0));
+            assertEquals(0xFF000000, small.getPixel(1, 0));
+        } catch (Exception e) {
+            fail("testCreateThumbnail failed");
+            e.printStackTrace();
+        }
+    }
+
+    @Test
+    void testCreateThumbnailsInParallel() {
+        ForkJoinPool pool = new ForkJoinPool(4);
+        try {
+            List<CoverPixels> covers = new ArrayList<>();
+            for (int i = 0; i < 6; i++) {
+                CoverPixels cover = new CoverPixels(200 + 40 * i, 200);
+                cover.fill(0xFF000000 | i);
+                covers.add(cover);
+            }
+            covers.add(checkerboard(1080, 1080));
+            ThumbnailPipeline pipeline = new ThumbnailPipeline(pool, 2, 64, 128);
+            List<CoverPixels[]> thumbnails = pipeline.createThumbnails(covers);
+            assertEquals(covers.size(), thumbnails.size());
+            for (int i = 0; i < covers.size(); i++) {
+                CoverPixels[] coverThumbnails = thumbnails.get(i);
+                assertEquals(2, coverThumbnails.length);
+                assertEquals(64, Math.max(coverThumbnails[0].getWidth(), coverThumbnails[0].getHeight()));
+                assertEquals(128, Math.max(coverThumbnails[1].getWidth(), coverThumbnails[1].getHeight()));
+                CoverPixels expected = ThumbnailPipeline.createThumbnail(covers.get(i), 128);
+                for (int y = 0; y < expected.getHeight(); y++) {
+                    for (int x = 0; x < expected.getWidth(); x++) {
+                        assertEquals(expected.getPixel(x, y), coverThumbnails[1].getPixel(x, y));
+                    }
+                }
+            }
+            assertEquals(0xFF000003, thumbnails.get(3)[0].getPixel(10, 10));
+            assertThrows(IllegalArgumentException.class, () -> new ThumbnailPipeline(pool, 2, 64, 0));
+        } catch (Exception e) {
+            fail("testCreateThumbnailsInParallel failed");
+            e.printStackTrace();
+        } finally {
+            pool.shutdown();
+        }
+    }
+
+}
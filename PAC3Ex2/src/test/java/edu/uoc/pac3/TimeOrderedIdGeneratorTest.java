@@ -0,0 +1,94 @@
+package edu.uoc.pac3;
+
+import org.junit.jupiter.api.Test;
+
+import java.time.Clock;
+import java.time.Instant;
+import java.time.ZoneOffset;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.UUID;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class TimeOrderedIdGeneratorTest {
+
+    @Test
+    void testVersionAndTimestamp() {
+        Instant instant = Instant.parse("2023-04-30T10:00:00.123456Z");
+        TimeOrderedIdGenerator generator = new TimeOrderedIdGenerator(Clock.fixed(instant, ZoneOffset.UTC));
+        UUID id = generator.nextId();
+        assertEquals(7, id.version());
+        assertEquals(2, id.variant());
+        assertEquals(instant.toEpochMilli(), TimeOrderedIdGenerator.getTimestamp(id));
+        assertEquals(456L * 4096 / 1000, id.getMostSignificantBits() & 0xFFF);
+        assertThrows(IllegalArgumentException.class, () -> TimeOrderedIdGenerator.getTimestamp(UUID.randomUUID()));
+    }
+
+    @Test
+    void testMonotonicWithinThread() {
+        TimeOrderedIdGenerator generator = new TimeOrderedIdGenerator(
+                Clock.fixed(Instant.parse("2023-04-30T10:00:00Z"), ZoneOffset.UTC));
+        UUID previous = generator.nextId();
+        for (int i = 0; i < 10000; i++) {
+            UUID id = generator.nextId();
+            assertTrue(id.compareTo(previous) > 0);
+            previous = id;
+        }
+    }
+
+    @Test
+    void testSortsByCreationTime() {
+        List<UUID> ids = new ArrayList<>();
+        for (int i = 0; i < 5; i++) {
+            Clock clock = Clock.fixed(Instant.parse("2023-04-30T10:00:00Z").plusMillis(i), ZoneOffset.UTC);
+            ids.add(new TimeOrderedIdGenerator(clock).nextId());
+        }
+        List<UUID> sorted = new ArrayList<>(ids);
+        Collections.shuffle(sorted);
+        Collections.sort(sorted);
+        assertEquals(ids, sorted);
+    }
+
+    @Test
+    void testConcurrentIdsAreUnique() throws InterruptedException {
+        TimeOrderedIdGenerator generator = new TimeOrderedIdGenerator();
+        Set<UUID> ids = Collections.synchronizedSet(new HashSet<>());
+        List<Thread> threads = new ArrayList<>();
+        for (int t = 0; t < 4; t++) {
+            threads.add(new Thread(() -> {
+                for (int i = 0; i < 5000; i++) {
+                    ids.add(generator.nextId());
+                }
+            }));
+        }
+        for (Thread thread : threads) {
+            thread.start();
+        }
+        for (Thread thread : threads) {
+            thread.join();
+        }
+        assertEquals(20000, ids.size());
+    }
+
+    @Test
+    void testAlbumUsesGenerator() {
+        try {
+            assertEquals(7, new Album("Nevermind", "nirvana", "ROCK&ROLL").getId().version());
+            UUID fixed = UUID.fromString("00000000-0000-4000-8000-000000000001");
+            AlbumIds.setGenerator(() -> fixed);
+            assertEquals(fixed, new Album("Nevermind", "nirvana", "ROCK&ROLL").getId());
+            AlbumIds.setGenerator(AlbumIdGenerator.RANDOM);
+            assertEquals(4, new Album("Nevermind", "nirvana", "ROCK&ROLL").getId().version());
+        } catch (Exception e) {
+            fail("testAlbumUsesGenerator failed");
+            e.printStackTrace();
+        } finally {
+            AlbumIds.resetGenerator();
+        }
+    }
+
+}
@@ -0,0 +1,92 @@
+package edu.uoc.pac3;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class TrackTableTest {
+
+    TrackTable table;
+    Album nevermind;
+    Album abbeyRoad;
+
+    @BeforeEach
+    void initializeTable() {
+        try {
+            nevermind = new Album("Nevermind", "nirvana", "ROCK&ROLL");
+            nevermind.addTrack(new Track("Smells Like Teen Spirit", 301, "Kurt Cobain"));
+            Track inBloom = new Track("In Bloom", 254, "Kurt Cobain");
+            nevermind.addTrack(inBloom);
+            nevermind.addTrack(new Track("Come as You Are", 219, "Kurt Cobain"));
+            nevermind.removeTrack(inBloom);
+
+            abbeyRoad = new Album("Abbey Road", "the beatles", "POP");
+            abbeyRoad.addTrack(new Track("Come Together", 259, "John Lennon"));
+            abbeyRoad.addTrack(new Track("Something", 182, "George Harrison"));
+            abbeyRoad.addTrack(new Track("Octopus's Garden", 171, "Ringo Starr"));
+
+            table = new TrackTable();
+            assertEquals(0, table.addAlbum(nevermind));
+            assertEquals(1, table.addAlbum(abbeyRoad));
+        } catch (Exception e) {
+            fail("initializeTable failed");
+            e.printStackTrace();
+        }
+    }
+
+    @Test
+    void testColumns() {
+        assertEquals(5, table.size());
+        assertEquals(2, table.getAlbumCount());
+        assertEquals("Come as You Are", table.getName(1));
+        assertEquals(219, table.getDuration(1));
+        assertEquals("Kurt Cobain", table.getComposer(1));
+        assertEquals(1, table.getAlbumId(2));
+        assertThrows(IndexOutOfBoundsException.class, () -> table.getDuration(5));
+    }
+
+    @Test
+    void testCopyTracksTo() {
+        try {
+            Album copy = new Album("Nevermind", "nirvana", "ROCK&ROLL");
+            table.copyTracksTo(0, copy);
+            assertArrayEquals(nevermind.getTracks(), copy.getTracks());
+            assertNull(copy.getTrack(1));
+            assertEquals(nevermind.getTotalDuration(), copy.getTotalDuration());
+        } catch (Exception e) {
+            fail("testCopyTracksTo failed");
+            e.printStackTrace();
+        }
+    }
+
+    @Test
+    void testTotals() {
+        assertEquals(1132, table.getTotalDuration());
+        assertEquals(520, table.getTotalDuration(0));
+        assertEquals(612, table.getTotalDuration(1));
+
+        long[] byGenre = table.getTotalDurationByGenre();
+        assertEquals(MusicGenre.values().length, byGenre.length);
+        assertEquals(520, byGenre[MusicGenre.ROCK_N_ROLL.ordinal()]);
+        assertEquals(612, byGenre[MusicGenre.POP.ordinal()]);
+        assertEquals(0, byGenre[MusicGenre.JAZZ.ordinal()]);
+        assertEquals(612, table.getTotalDurationByGenre(MusicGenre.POP));
+        assertEquals(612, table.getTotalDurationByGenre(" pop "));
+        assertEquals(0, table.getTotalDurationByGenre("JAZZ"));
+        assertEquals(0, table.getTotalDurationByGenre("BLUES"));
+    }
+
+    @Test
+    void testScans() {
+        assertArrayEquals(new int[]{0, 0, 1, 4}, table.getDurationHistogram(60, 4));
+        assertArrayEquals(new int[]{0, 2, 3}, table.getDurationHistogram(100, 3));
+        assertThrows(IllegalArgumentException.class, () -> table.getDurationHistogram(0, 3));
+
+        assertEquals(2, table.countTracksByComposer("Kurt Cobain"));
+        assertEquals(2, table.countTracksByComposer(" Kurt  Cobain\t"));
+        assertEquals(1, table.countTracksByComposer("Ringo Starr"));
+        assertEquals(0, table.countTracksByComposer("Dave Grohl"));
+    }
+
+}
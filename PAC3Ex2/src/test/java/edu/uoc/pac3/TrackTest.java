@@ -76,16 +76,52 @@ public class TrackTest {
         }
     }
 
+    @Test
+    void testEquals() {
+        try {
+            Track copy = new Track("Smells Like Teen Spirit",258,"Kurt Cobain");
+            assertEquals(track, copy);
+            assertEquals(track.hashCode(), copy.hashCode());
+
+            assertNotEquals(track, new Track("Smells Like Teen Spirit",259,"Kurt Cobain"));
+            assertNotEquals(track, new Track("In Bloom",258,"Kurt Cobain"));
+            assertNotEquals(track, new Track("Smells Like Teen Spirit",258,"Dave Grohl"));
+            assertNotEquals(track, null);
+
+            copy.setComposer("Dave Grohl");
+            assertNotEquals(track, copy);
+            copy.setComposer("Kurt Cobain");
+            copy.setDuration(300);
+            copy.setDuration(258);
+            assertEquals(track.hashCode(), copy.hashCode());
+        } catch (Exception e) {
+            fail("testEquals failed");
+            e.printStackTrace();
+        }
+    }
+
+    @Test
+    void testValidateDuration() {
+        assertNull(Track.validateDuration(1));
+        assertEquals(ValidationError.MIN_DURATION, Track.validateDuration(0));
+        assertEquals(Track.ERR_MIN_DURATION, Track.validateDuration(-235).getMessage());
+
+        ValidationException ex = assertThrows(ValidationException.class, () -> track.setDuration(0));
+        assertSame(ValidationError.MIN_DURATION.getException(), ex);
+    }
+
     @Test
     @Tag("sanity")
     @DisplayName("Sanity - Fields definition")
     void checkFieldsSanity() {
         //check attribute fields
-        assertEquals(4, Track.class.getDeclaredFields().length);
+        assertEquals(6, Track.class.getDeclaredFields().length);
         try {
             assertTrue(Modifier.isPrivate(Track.class.getDeclaredField("name").getModifiers()));
             assertTrue(Modifier.isPrivate(Track.class.getDeclaredField("duration").getModifiers()));
             assertTrue(Modifier.isPrivate(Track.class.getDeclaredField("composer").getModifiers()));
+            assertTrue(Modifier.isPrivate(Track.class.getDeclaredField("owners").getModifiers()));
+            assertTrue(Modifier.isPrivate(Track.class.getDeclaredField("hash").getModifiers()));
 
             assertTrue(Modifier.isPublic(Track.class.getDeclaredField("ERR_MIN_DURATION").getModifiers()));
             assertTrue(Modifier.isStatic(Track.class.getDeclaredField("ERR_MIN_DURATION").getModifiers()));
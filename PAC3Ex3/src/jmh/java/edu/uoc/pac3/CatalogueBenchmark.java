@@ -0,0 +1,84 @@
+/**
+ * Title: Music Management - benchmarks of the Catalogue class
+ * author: Ricard Santiago Raigada García
+ * Version: 1.0
+ * Date: 30/04/2023
+ */
+
+package edu.uoc.pac3;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Threads;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Benchmark)
+public class CatalogueBenchmark {
+
+    /**
+     * Number of albums of the catalogue, spread evenly over the genres.
+     */
+    @Param({"1000", "100000"})
+    private int albumCount;
+
+    private List<Album> albums;
+    private Catalogue catalogue;
+
+    /**
+     * Creates the same albums as a plain list and as a partitioned catalogue.
+     */
+    @Setup
+    public void setUp() {
+        MusicGenre[] genres = MusicGenre.values();
+        albums = new ArrayList<>(albumCount);
+        catalogue = new Catalogue();
+        for (int i = 0; i < albumCount; i++) {
+            Album album = new Album("Album " + i, genres[i % genres.length], 1800 + i % 1200);
+            albums.add(album);
+            catalogue.add(album);
+        }
+    }
+
+    @Benchmark
+    public long jazzStatisticsByScan() {
+        long duration = 0;
+        for (Album album : albums) {
+            if (album.getMusicGenre() == MusicGenre.JAZZ) {
+                duration += album.getDuration();
+            }
+        }
+        return duration;
+    }
+
+    @Benchmark
+    public long jazzStatisticsByShard() {
+        return catalogue.getTotalDuration(MusicGenre.JAZZ);
+    }
+
+    @Benchmark
+    @Threads(4)
+    public MusicGenre moveAlbum() {
+        Album album = albums.get((int) (Thread.currentThread().getId() % albums.size()));
+        MusicGenre genre = album.getMusicGenre().getGenreWithNextHigherTempo();
+        album.setMusicGenre(genre == album.getMusicGenre() ? MusicGenre.CLASSICAL : genre);
+        return album.getMusicGenre();
+    }
+
+}
@@ -0,0 +1,79 @@
+/**
+ * Title: Music Management - benchmarks of the MusicGenre enum
+ * author: Ricard Santiago Raigada García
+ * Version: 1.0
+ * Date: 30/04/2023
+ */
+
+package edu.uoc.pac3;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class MusicGenreBenchmark {
+
+    @State(Scope.Thread)
+    public static class CodeState {
+        /**
+         * Code looked up by getMusicGenre: the first declared genre, the last one and a code which does not exist.
+         */
+        @Param({"A", "O", "X"})
+        private char code;
+    }
+
+    @State(Scope.Thread)
+    public static class GenreState {
+        /**
+         * Genre whose successor is looked up: the slowest genre, one in the middle and the fastest one.
+         */
+        @Param({"CLASSICAL", "OTHER", "ROCK_N_ROLL"})
+        private MusicGenre genre;
+    }
+
+    @Benchmark
+    public MusicGenre getMusicGenre(CodeState state) {
+        return MusicGenre.getMusicGenre(state.code);
+    }
+
+    @Benchmark
+    public MusicGenre[] getGenresSortedByCode() {
+        return MusicGenre.getGenresSortedByCode();
+    }
+
+    @Benchmark
+    public List<MusicGenre> getGenresSortedByCodeList() {
+        return MusicGenre.getGenresSortedByCodeList();
+    }
+
+    @Benchmark
+    public List<MusicGenre> getGenresInTempoRange() {
+        return MusicGenre.getGenresInTempoRange(100, 130);
+    }
+
+    @Benchmark
+    public MusicGenre getGenreWithNearestTempo() {
+        return MusicGenre.getGenreWithNearestTempo(118);
+    }
+
+    @Benchmark
+    public MusicGenre getGenreWithNextHigherTempo(GenreState state) {
+        return state.genre.getGenreWithNextHigherTempo();
+    }
+
+}
@@ -2,14 +2,23 @@ package edu.uoc.pac3;
 
 public class Album {
 
+    public static final String ERR_NEGATIVE_DURATION = "[ERROR] The duration of an album cannot be negative";
+
     private String title;
     private MusicGenre musicGenre;
+    private long duration;
+    private Catalogue catalogue;
 
     public Album(String title, MusicGenre musicGenre) {
         setTitle(title);
         setMusicGenre(musicGenre);
     }
 
+    public Album(String title, MusicGenre musicGenre, long duration) {
+        this(title, musicGenre);
+        setDuration(duration);
+    }
+
     public String getTitle() {
         return title;
     }
@@ -22,7 +31,35 @@ public class Album {
         return musicGenre;
     }
 
-    public void setMusicGenre(MusicGenre musicGenre) {
+    public synchronized void setMusicGenre(MusicGenre musicGenre) {
+        if (catalogue != null) {
+            if (musicGenre == null) {
+                throw new NullPointerException(Catalogue.ERR_NULL_GENRE);
+            }
+            catalogue.move(this, this.musicGenre, musicGenre);
+        }
         this.musicGenre = musicGenre;
     }
+
+    public long getDuration() {
+        return duration;
+    }
+
+    public synchronized void setDuration(long duration) {
+        if (duration < 0) {
+            throw new IllegalArgumentException(ERR_NEGATIVE_DURATION);
+        }
+        if (catalogue != null) {
+            catalogue.updateDuration(musicGenre, this.duration, duration);
+        }
+        this.duration = duration;
+    }
+
+    Catalogue getCatalogue() {
+        return catalogue;
+    }
+
+    void setCatalogue(Catalogue catalogue) {
+        this.catalogue = catalogue;
+    }
 }
@@ -0,0 +1,210 @@
+/**
+ * Title: Music Management
+ * author: Ricard Santiago Raigada García
+ * Version: 1.0
+ * Date: 30/04/2023
+ */
+
+package edu.uoc.pac3;
+
+import java.util.Collections;
+import java.util.EnumMap;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.concurrent.locks.StampedLock;
+
+public class Catalogue {
+
+    public static final String ERR_NULL_GENRE = "[ERROR] The genre of an album in a catalogue cannot be null";
+
+    private final Map<MusicGenre, Set<Album>> shards = new EnumMap<>(MusicGenre.class);
+    private final Map<MusicGenre, Set<Album>> views = new EnumMap<>(MusicGenre.class);
+    private final LongAdder[] albumCounts = new LongAdder[MusicGenre.values().length];
+    private final LongAdder[] totalDurations = new LongAdder[MusicGenre.values().length];
+    private final StampedLock moveLock = new StampedLock();
+
+    /**
+     Constructor of Catalogue. It creates one empty shard and one pair of counters for each genre.
+     The shards are concurrent sets and the counters are striped, so albums can be added, removed and
+     counted from several threads without a global lock. Only moves between genres, which change two
+     shards, take the write lock of the catalogue; the counters are read optimistically against it, so
+     a count never includes half of a move.
+     */
+
+    public Catalogue() {
+        for (MusicGenre genre : MusicGenre.values()) {
+            Set<Album> shard = ConcurrentHashMap.newKeySet();
+            shards.put(genre, shard);
+            views.put(genre, Collections.unmodifiableSet(shard));
+            albumCounts[genre.ordinal()] = new LongAdder();
+            totalDurations[genre.ordinal()] = new LongAdder();
+        }
+    }
+
+    /**
+     Add an album to the shard of its genre. An album can only belong to one catalogue.
+     @param album album to add
+     @return true if the album has been added, false if it has no genre or already belongs to a catalogue
+     */
+
+    public boolean add(Album album) {
+        synchronized (album) {
+            MusicGenre genre = album.getMusicGenre();
+            if (genre == null || album.getCatalogue() != null) {
+                return false;
+            }
+            album.setCatalogue(this);
+            shards.get(genre).add(album);
+            updateCounters(genre, 1, album.getDuration());
+            return true;
+        }
+    }
+
+    /**
+     Remove an album from the catalogue.
+     @param album album to remove
+     @return true if the album has been removed, false if it did not belong to this catalogue
+     */
+
+    public boolean remove(Album album) {
+        synchronized (album) {
+            if (album.getCatalogue() != this) {
+                return false;
+            }
+            MusicGenre genre = album.getMusicGenre();
+            shards.get(genre).remove(album);
+            updateCounters(genre, -1, -album.getDuration());
+            album.setCatalogue(null);
+            return true;
+        }
+    }
+
+    /**
+     Check if an album belongs to the catalogue.
+     @param album album to check
+     @return true if the album belongs to this catalogue, false otherwise
+     */
+
+    public boolean contains(Album album) {
+        return album != null && album.getCatalogue() == this;
+    }
+
+    /**
+     Get the albums of a genre. The set is a live unmodifiable view of the shard: it reflects later changes
+     and can be iterated while other threads change the catalogue. A move removes the album from its old
+     shard before adding it to the new one, so an album being moved may briefly be in no view, but it is
+     never in two views at the same time.
+     @param genre genre of the albums
+     @return unmodifiable set of the albums of the genre
+     */
+
+    public Set<Album> getAlbums(MusicGenre genre) {
+        return views.get(genre);
+    }
+
+    /**
+     Get the number of albums of a genre.
+     @param genre genre of the albums
+     @return number of albums of the genre
+     */
+
+    public long getAlbumCount(MusicGenre genre) {
+        return readCounters(albumCounts, genre);
+    }
+
+    /**
+     Get the total duration of the albums of a genre.
+     @param genre genre of the albums
+     @return sum of the durations of the albums of the genre
+     */
+
+    public long getTotalDuration(MusicGenre genre) {
+        return readCounters(totalDurations, genre);
+    }
+
+    /**
+     Get the number of albums of the catalogue.
+     @return number of albums of all the genres
+     */
+
+    public long size() {
+        return readCounters(albumCounts, null);
+    }
+
+    /**
+     Move an album from the shard of its old genre to the shard of the new one. It is called by the album
+     while it holds its own lock, so it cannot be added, removed or moved at the same time by another thread.
+     The shards and the counters of both genres change under the write lock of the catalogue, so readers of
+     the counters see the album either in its old genre or in the new one.
+     @param album album whose genre changes
+     @param from previous genre of the album
+     @param to new genre of the album
+     */
+
+    void move(Album album, MusicGenre from, MusicGenre to) {
+        if (from == to) {
+            return;
+        }
+        long stamp = moveLock.writeLock();
+        try {
+            shards.get(from).remove(album);
+            shards.get(to).add(album);
+            long duration = album.getDuration();
+            updateCounters(from, -1, -duration);
+            updateCounters(to, 1, duration);
+        } finally {
+            moveLock.unlockWrite(stamp);
+        }
+    }
+
+    /**
+     Update the total duration of a genre when the duration of one of its albums changes.
+     @param genre genre of the album
+     @param oldDuration previous duration of the album
+     @param newDuration new duration of the album
+     */
+
+    void updateDuration(MusicGenre genre, long oldDuration, long newDuration) {
+        totalDurations[genre.ordinal()].add(newDuration - oldDuration);
+    }
+
+    /**
+     Read the counters of a genre, or the sum of the counters of all the genres, without a move in between.
+     The counters are read optimistically and read again under the read lock if a move happened meanwhile.
+     @param counters album counts or total durations, indexed by ordinal
+     @param genre genre to read, or null for all the genres
+     @return value of the counters
+     */
+
+    private long readCounters(LongAdder[] counters, MusicGenre genre) {
+        long stamp = moveLock.tryOptimisticRead();
+        long value = sum(counters, genre);
+        if (!moveLock.validate(stamp)) {
+            stamp = moveLock.readLock();
+            try {
+                value = sum(counters, genre);
+            } finally {
+                moveLock.unlockRead(stamp);
+            }
+        }
+        return value;
+    }
+
+    private static long sum(LongAdder[] counters, MusicGenre genre) {
+        if (genre != null) {
+            return counters[genre.ordinal()].sum();
+        }
+        long sum = 0;
+        for (LongAdder counter : counters) {
+            sum += counter.sum();
+        }
+        return sum;
+    }
+
+    private void updateCounters(MusicGenre genre, long albums, long duration) {
+        albumCounts[genre.ordinal()].add(albums);
+        totalDurations[genre.ordinal()].add(duration);
+    }
+}
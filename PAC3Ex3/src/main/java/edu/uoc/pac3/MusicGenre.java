@@ -7,6 +7,12 @@
 
 package edu.uoc.pac3;
 
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.List;
+
 public enum MusicGenre {
     ALTERNATIVE("Alternative Rock", 'A', 125),
     BLUES("Blues", 'B', 80),
@@ -25,6 +31,86 @@ public enum MusicGenre {
     private final char code;
     private final int tempo;
 
+    private static final MusicGenre[] VALUES = values();
+    private static final MusicGenre[] BY_CODE = new MusicGenre[128];
+    private static final MusicGenre[] SORTED_BY_CODE = sortedBy(Comparator.comparingInt(MusicGenre::getCode));
+    private static final List<MusicGenre> SORTED_BY_CODE_VIEW =
+            Collections.unmodifiableList(Arrays.asList(SORTED_BY_CODE.clone()));
+    private static final MusicGenre[] SORTED_BY_TEMPO = sortedBy(Comparator.comparingInt(MusicGenre::getTempo));
+    private static final int[] TEMPOS = new int[VALUES.length];
+    private static final List<List<MusicGenre>> TEMPO_RANGES =
+            new ArrayList<>((VALUES.length + 1) * (VALUES.length + 1));
+    private static final MusicGenre[] NEXT_HIGHER_TEMPO = new MusicGenre[VALUES.length];
+    private static final MusicGenre[] PREVIOUS_LOWER_TEMPO = new MusicGenre[VALUES.length];
+
+    /*
+     Lookup tables built once when the enum is initialized: genres indexed by code, genres sorted by code, genres
+     sorted by tempo with every contiguous range of them as an unmodifiable list, and the genres with the next
+     higher and previous lower tempo indexed by ordinal.
+     */
+    static {
+        for (MusicGenre genre : VALUES) {
+            BY_CODE[genre.code] = genre;
+        }
+        for (int i = 0; i < SORTED_BY_TEMPO.length; i++) {
+            TEMPOS[i] = SORTED_BY_TEMPO[i].tempo;
+        }
+        List<MusicGenre> sortedByTempo = Collections.unmodifiableList(Arrays.asList(SORTED_BY_TEMPO.clone()));
+        for (int from = 0; from <= SORTED_BY_TEMPO.length; from++) {
+            for (int to = 0; to <= SORTED_BY_TEMPO.length; to++) {
+                TEMPO_RANGES.add((to >= from) ? sortedByTempo.subList(from, to) : Collections.<MusicGenre>emptyList());
+            }
+        }
+        for (MusicGenre genre : VALUES) {
+            int higher = firstWithTempoAbove(genre.tempo);
+            int lower = firstWithTempoAtLeast(genre.tempo) - 1;
+            NEXT_HIGHER_TEMPO[genre.ordinal()] = (higher < SORTED_BY_TEMPO.length) ? SORTED_BY_TEMPO[higher] : genre;
+            PREVIOUS_LOWER_TEMPO[genre.ordinal()] = (lower >= 0) ? SORTED_BY_TEMPO[lower] : genre;
+        }
+    }
+
+    /**
+     Copy the genres and sort them, keeping the declaration order of the genres which compare equal.
+     @param comparator order of the genres
+     @return new array with all the genres sorted
+     */
+
+    private static MusicGenre[] sortedBy(Comparator<MusicGenre> comparator) {
+        MusicGenre[] genres = VALUES.clone();
+        Arrays.sort(genres, comparator);
+        return genres;
+    }
+
+    /**
+     Find the first position in the tempo order whose tempo is at least the given one.
+     @param tempo tempo in bits per minute
+     @return first position with a tempo greater than or equal to tempo, or the number of genres if there is none
+     */
+
+    private static int firstWithTempoAtLeast(int tempo) {
+        int low = 0;
+        int high = TEMPOS.length;
+        while (low < high) {
+            int middle = (low + high) >>> 1;
+            if (TEMPOS[middle] < tempo) {
+                low = middle + 1;
+            } else {
+                high = middle;
+            }
+        }
+        return low;
+    }
+
+    /**
+     Find the first position in the tempo order whose tempo is higher than the given one.
+     @param tempo tempo in bits per minute
+     @return first position with a tempo greater than tempo, or the number of genres if there is none
+     */
+
+    private static int firstWithTempoAbove(int tempo) {
+        return (tempo == Integer.MAX_VALUE) ? TEMPOS.length : firstWithTempoAtLeast(tempo + 1);
+    }
+
     /**
      Constructor of MusicGenre enum.
      @param description brief description of the genre
@@ -72,31 +158,27 @@ public enum MusicGenre {
      */
 
     public static MusicGenre getMusicGenre(char code) {
-        for (MusicGenre genre : MusicGenre.values()) {
-            if (genre.getCode() == code) {
-                return genre;
-            }
-        }
-        return null;
+        return (code < BY_CODE.length) ? BY_CODE[code] : null;
     }
 
     /**
      Get an array of all MusicGenre values sorted alphabetically by code in ascending order.
+     The array is a copy of a table sorted once, so changing it does not affect other callers.
      @return array of MusicGenre values sorted by code in ascending order
      */
 
     public static MusicGenre[] getGenresSortedByCode() {
-        MusicGenre[] genres = MusicGenre.values();
-        for (int i = 0; i < genres.length - 1; i++) {
-            for (int j = i + 1; j < genres.length; j++) {
-                if (genres[j].getCode() < genres[i].getCode()) {
-                    MusicGenre temp = genres[i];
-                    genres[i] = genres[j];
-                    genres[j] = temp;
-                }
-            }
-        }
-        return genres;
+        return SORTED_BY_CODE.clone();
+    }
+
+    /**
+     Get an unmodifiable list of all MusicGenre values sorted alphabetically by code in ascending order.
+     The list is built once, so calling this method does not allocate.
+     @return unmodifiable list of MusicGenre values sorted by code in ascending order
+     */
+
+    public static List<MusicGenre> getGenresSortedByCodeList() {
+        return SORTED_BY_CODE_VIEW;
     }
 
     /**
@@ -105,16 +187,80 @@ public enum MusicGenre {
      */
 
     public MusicGenre getGenreWithNextHigherTempo() {
-        int currentTempo = getTempo();
-        MusicGenre nextGenre = null;
-        int nextTempo = Integer.MAX_VALUE;
-        for (MusicGenre genre : MusicGenre.values()) {
-            if (genre != this && genre.getTempo() > currentTempo && genre.getTempo() < nextTempo) {
-                nextGenre = genre;
-                nextTempo = genre.getTempo();
-            }
+        return NEXT_HIGHER_TEMPO[ordinal()];
+    }
+
+    /**
+     Get the MusicGenre with the previous lower tempo in ascending order, or itself if it has the lowest tempo.
+     @return MusicGenre with the previous lower tempo, or itself if it has the lowest tempo
+     */
+
+    public MusicGenre getGenreWithPreviousLowerTempo() {
+        return PREVIOUS_LOWER_TEMPO[ordinal()];
+    }
+
+    /**
+     Get an unmodifiable list of all MusicGenre values sorted by tempo in ascending order. The list is built once.
+     @return unmodifiable list of MusicGenre values sorted by tempo in ascending order
+     */
+
+    public static List<MusicGenre> getGenresSortedByTempo() {
+        return getGenresInTempoRange(Integer.MIN_VALUE, Integer.MAX_VALUE);
+    }
+
+    /**
+     Get the genres whose tempo is between two values, both included, sorted by tempo in ascending order.
+     The list is one of the precomputed ranges, so calling this method does not allocate.
+     @param minTempo lowest tempo in bits per minute
+     @param maxTempo highest tempo in bits per minute
+     @return unmodifiable list of the MusicGenre values in the range, empty if there is none
+     */
+
+    public static List<MusicGenre> getGenresInTempoRange(int minTempo, int maxTempo) {
+        int from = firstWithTempoAtLeast(minTempo);
+        int to = Math.max(from, firstWithTempoAbove(maxTempo));
+        return TEMPO_RANGES.get(from * (TEMPOS.length + 1) + to);
+    }
+
+    /**
+     Get the MusicGenre with the highest tempo which is lower than or equal to the given one.
+     @param tempo tempo in bits per minute
+     @return MusicGenre with the greatest tempo not above tempo, or null if all the genres are faster
+     */
+
+    public static MusicGenre getGenreWithTempoFloor(int tempo) {
+        int position = firstWithTempoAbove(tempo) - 1;
+        return (position >= 0) ? SORTED_BY_TEMPO[position] : null;
+    }
+
+    /**
+     Get the MusicGenre with the lowest tempo which is higher than or equal to the given one.
+     @param tempo tempo in bits per minute
+     @return MusicGenre with the least tempo not below tempo, or null if all the genres are slower
+     */
+
+    public static MusicGenre getGenreWithTempoCeiling(int tempo) {
+        int position = firstWithTempoAtLeast(tempo);
+        return (position < SORTED_BY_TEMPO.length) ? SORTED_BY_TEMPO[position] : null;
+    }
+
+    /**
+     Get the MusicGenre whose tempo is the closest to the given one. If two genres are equally close,
+     the slower one is returned.
+     @param tempo tempo in bits per minute
+     @return MusicGenre with the nearest tempo
+     */
+
+    public static MusicGenre getGenreWithNearestTempo(int tempo) {
+        MusicGenre floor = getGenreWithTempoFloor(tempo);
+        MusicGenre ceiling = getGenreWithTempoCeiling(tempo);
+        if (floor == null) {
+            return ceiling;
+        }
+        if (ceiling == null) {
+            return floor;
         }
-        return (nextGenre != null) ? nextGenre : this;
+        return ((long) tempo - floor.tempo <= (long) ceiling.tempo - tempo) ? floor : ceiling;
     }
 }
 
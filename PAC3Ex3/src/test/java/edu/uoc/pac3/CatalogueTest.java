@@ -0,0 +1,151 @@
+package edu.uoc.pac3;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class CatalogueTest {
+
+    private Catalogue catalogue;
+    private Album nevermind;
+    private Album kindOfBlue;
+
+    @BeforeEach
+    public void initializeCatalogue() {
+        catalogue = new Catalogue();
+        nevermind = new Album("Nevermind", MusicGenre.ALTERNATIVE, 2936);
+        kindOfBlue = new Album("Kind of Blue", MusicGenre.JAZZ, 2757);
+        assertTrue(catalogue.add(nevermind));
+        assertTrue(catalogue.add(kindOfBlue));
+    }
+
+    @Test
+    public void testAddAndRemove() {
+        assertEquals(2, catalogue.size());
+        assertTrue(catalogue.contains(nevermind));
+        assertFalse(catalogue.add(nevermind));
+        assertFalse(new Catalogue().add(nevermind));
+        assertFalse(catalogue.add(new Album("Untitled", null)));
+
+        assertEquals(1, catalogue.getAlbumCount(MusicGenre.JAZZ));
+        assertEquals(2757, catalogue.getTotalDuration(MusicGenre.JAZZ));
+        assertTrue(catalogue.getAlbums(MusicGenre.JAZZ).contains(kindOfBlue));
+        assertTrue(catalogue.getAlbums(MusicGenre.POP).isEmpty());
+        assertThrows(UnsupportedOperationException.class, () -> catalogue.getAlbums(MusicGenre.POP).add(nevermind));
+
+        assertTrue(catalogue.remove(kindOfBlue));
+        assertFalse(catalogue.remove(kindOfBlue));
+        assertFalse(catalogue.contains(kindOfBlue));
+        assertEquals(0, catalogue.getAlbumCount(MusicGenre.JAZZ));
+        assertEquals(0, catalogue.getTotalDuration(MusicGenre.JAZZ));
+        assertEquals(1, catalogue.size());
+    }
+
+    @Test
+    public void testSetMusicGenreMovesAlbum() {
+        nevermind.setMusicGenre(MusicGenre.ROCK_N_ROLL);
+        assertFalse(catalogue.getAlbums(MusicGenre.ALTERNATIVE).contains(nevermind));
+        assertTrue(catalogue.getAlbums(MusicGenre.ROCK_N_ROLL).contains(nevermind));
+        assertEquals(0, catalogue.getAlbumCount(MusicGenre.ALTERNATIVE));
+        assertEquals(0, catalogue.getTotalDuration(MusicGenre.ALTERNATIVE));
+        assertEquals(1, catalogue.getAlbumCount(MusicGenre.ROCK_N_ROLL));
+        assertEquals(2936, catalogue.getTotalDuration(MusicGenre.ROCK_N_ROLL));
+
+        nevermind.setDuration(3000);
+        assertEquals(3000, catalogue.getTotalDuration(MusicGenre.ROCK_N_ROLL));
+
+        Exception ex = assertThrows(NullPointerException.class, () -> nevermind.setMusicGenre(null));
+        assertEquals(Catalogue.ERR_NULL_GENRE, ex.getMessage());
+        assertEquals(MusicGenre.ROCK_N_ROLL, nevermind.getMusicGenre());
+
+        catalogue.remove(nevermind);
+        nevermind.setMusicGenre(MusicGenre.POP);
+        assertEquals(0, catalogue.getAlbumCount(MusicGenre.POP));
+    }
+
+    @Test
+    public void testNegativeDurationIsRejected() {
+        Exception ex = assertThrows(IllegalArgumentException.class, () -> nevermind.setDuration(-1));
+        assertEquals(Album.ERR_NEGATIVE_DURATION, ex.getMessage());
+        assertEquals(2936, nevermind.getDuration());
+        assertEquals(2936, catalogue.getTotalDuration(MusicGenre.ALTERNATIVE));
+
+        ex = assertThrows(IllegalArgumentException.class, () -> new Album("Untitled", MusicGenre.POP, -60));
+        assertEquals(Album.ERR_NEGATIVE_DURATION, ex.getMessage());
+
+        nevermind.setDuration(0);
+        assertEquals(0, catalogue.getTotalDuration(MusicGenre.ALTERNATIVE));
+    }
+
+    @Test
+    public void testConcurrentMoves() throws InterruptedException {
+        MusicGenre[] genres = MusicGenre.values();
+        List<Thread> threads = new ArrayList<>();
+        for (int t = 0; t < 4; t++) {
+            int offset = t;
+            threads.add(new Thread(() -> {
+                for (int i = 0; i < 2000; i++) {
+                    Album album = (i % 2 == 0) ? nevermind : kindOfBlue;
+                    album.setMusicGenre(genres[(i + offset) % genres.length]);
+                }
+            }));
+        }
+        for (Thread thread : threads) {
+            thread.start();
+        }
+        for (Thread thread : threads) {
+            thread.join();
+        }
+        long albums = 0;
+        long duration = 0;
+        for (MusicGenre genre : genres) {
+            assertEquals(catalogue.getAlbums(genre).size(), catalogue.getAlbumCount(genre));
+            albums += catalogue.getAlbumCount(genre);
+            duration += catalogue.getTotalDuration(genre);
+        }
+        assertEquals(2, albums);
+        assertEquals(2936 + 2757, duration);
+        assertTrue(catalogue.getAlbums(nevermind.getMusicGenre()).contains(nevermind));
+        assertTrue(catalogue.getAlbums(kindOfBlue.getMusicGenre()).contains(kindOfBlue));
+    }
+
+    @Test
+    public void testReadersNeverSeeHalfAMove() throws InterruptedException {
+        MusicGenre[] genres = MusicGenre.values();
+        AtomicBoolean moving = new AtomicBoolean(true);
+        AtomicInteger inconsistentReads = new AtomicInteger();
+        Thread mover = new Thread(() -> {
+            for (int i = 0; i < 20000; i++) {
+                nevermind.setMusicGenre(genres[i % genres.length]);
+            }
+            moving.set(false);
+        });
+        List<Thread> readers = new ArrayList<>();
+        for (int t = 0; t < 2; t++) {
+            readers.add(new Thread(() -> {
+                while (moving.get()) {
+                    if (catalogue.size() != 2) {
+                        inconsistentReads.incrementAndGet();
+                    }
+                }
+            }));
+        }
+        mover.start();
+        for (Thread reader : readers) {
+            reader.start();
+        }
+        mover.join();
+        for (Thread reader : readers) {
+            reader.join();
+        }
+        assertEquals(0, inconsistentReads.get());
+        assertTrue(catalogue.getAlbums(nevermind.getMusicGenre()).contains(nevermind));
+    }
+
+}
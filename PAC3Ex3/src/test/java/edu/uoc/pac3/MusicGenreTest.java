@@ -2,8 +2,10 @@ package edu.uoc.pac3;
 
 import org.junit.jupiter.api.Test;
 
-import static org.junit.jupiter.api.Assertions.assertEquals;
-import static org.junit.jupiter.api.Assertions.assertNull;
+import java.util.Arrays;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
 
 public class MusicGenreTest {
 
@@ -98,4 +100,75 @@ public class MusicGenreTest {
         assertEquals(MusicGenre.COUNTRY, musicGenres[10]);
     }
 
+    @Test
+    public void testGetGenresSortedByCodeIsPrecomputed() {
+        MusicGenre[] musicGenres = MusicGenre.getGenresSortedByCode();
+        musicGenres[0] = null;
+        assertEquals(MusicGenre.ALTERNATIVE, MusicGenre.getGenresSortedByCode()[0]);
+
+        List<MusicGenre> list = MusicGenre.getGenresSortedByCodeList();
+        assertSame(list, MusicGenre.getGenresSortedByCodeList());
+        assertEquals(Arrays.asList(MusicGenre.getGenresSortedByCode()), list);
+        assertThrows(UnsupportedOperationException.class, () -> list.set(0, MusicGenre.OTHER));
+    }
+
+    @Test
+    public void getMusicGenreOutOfRange() {
+        assertNull(MusicGenre.getMusicGenre('a'));
+        assertNull(MusicGenre.getMusicGenre('\u0000'));
+        assertNull(MusicGenre.getMusicGenre('\u00c1'));
+        assertNull(MusicGenre.getMusicGenre('\uffff'));
+    }
+
+    @Test
+    public void testGetGenreWithPreviousLowerTempo() {
+        assertEquals(MusicGenre.CLASSICAL, MusicGenre.CLASSICAL.getGenreWithPreviousLowerTempo());
+        assertEquals(MusicGenre.CLASSICAL, MusicGenre.BLUES.getGenreWithPreviousLowerTempo());
+        assertEquals(MusicGenre.JAZZ, MusicGenre.OTHER.getGenreWithPreviousLowerTempo());
+        assertEquals(MusicGenre.METAL, MusicGenre.ROCK_N_ROLL.getGenreWithPreviousLowerTempo());
+        for (MusicGenre genre : MusicGenre.values()) {
+            if (genre != MusicGenre.ROCK_N_ROLL) {
+                assertEquals(genre, genre.getGenreWithNextHigherTempo().getGenreWithPreviousLowerTempo());
+            }
+        }
+    }
+
+    @Test
+    public void testGetGenresInTempoRange() {
+        assertEquals(Arrays.asList(MusicGenre.JAZZ, MusicGenre.OTHER, MusicGenre.POP, MusicGenre.COUNTRY,
+                MusicGenre.ALTERNATIVE, MusicGenre.DISCO), MusicGenre.getGenresInTempoRange(100, 130));
+        assertEquals(Arrays.asList(MusicGenre.OTHER, MusicGenre.POP), MusicGenre.getGenresInTempoRange(101, 119));
+        assertEquals(Arrays.asList(MusicGenre.METAL), MusicGenre.getGenresInTempoRange(140, 140));
+        assertTrue(MusicGenre.getGenresInTempoRange(111, 119).isEmpty());
+        assertTrue(MusicGenre.getGenresInTempoRange(130, 100).isEmpty());
+        assertTrue(MusicGenre.getGenresInTempoRange(151, Integer.MAX_VALUE).isEmpty());
+        assertSame(MusicGenre.getGenresInTempoRange(100, 130), MusicGenre.getGenresInTempoRange(96, 134));
+        assertThrows(UnsupportedOperationException.class,
+                () -> MusicGenre.getGenresInTempoRange(100, 130).remove(0));
+
+        List<MusicGenre> sorted = MusicGenre.getGenresSortedByTempo();
+        assertEquals(11, sorted.size());
+        assertEquals(MusicGenre.CLASSICAL, sorted.get(0));
+        assertEquals(MusicGenre.ROCK_N_ROLL, sorted.get(10));
+    }
+
+    @Test
+    public void testTempoFloorCeilingAndNearest() {
+        assertEquals(MusicGenre.POP, MusicGenre.getGenreWithTempoFloor(118));
+        assertEquals(MusicGenre.POP, MusicGenre.getGenreWithTempoFloor(110));
+        assertNull(MusicGenre.getGenreWithTempoFloor(59));
+        assertEquals(MusicGenre.ROCK_N_ROLL, MusicGenre.getGenreWithTempoFloor(Integer.MAX_VALUE));
+
+        assertEquals(MusicGenre.COUNTRY, MusicGenre.getGenreWithTempoCeiling(118));
+        assertEquals(MusicGenre.POP, MusicGenre.getGenreWithTempoCeiling(110));
+        assertNull(MusicGenre.getGenreWithTempoCeiling(151));
+        assertEquals(MusicGenre.CLASSICAL, MusicGenre.getGenreWithTempoCeiling(Integer.MIN_VALUE));
+
+        assertEquals(MusicGenre.COUNTRY, MusicGenre.getGenreWithNearestTempo(118));
+        assertEquals(MusicGenre.POP, MusicGenre.getGenreWithNearestTempo(115));
+        assertEquals(MusicGenre.POP, MusicGenre.getGenreWithNearestTempo(112));
+        assertEquals(MusicGenre.CLASSICAL, MusicGenre.getGenreWithNearestTempo(Integer.MIN_VALUE));
+        assertEquals(MusicGenre.ROCK_N_ROLL, MusicGenre.getGenreWithNearestTempo(Integer.MAX_VALUE));
+    }
+
 }